@@ -0,0 +1,19 @@
+#!/usr/bin/env sh
+# Writes the exercise catalog snapshot bundled into the jar (see ExerciseLoaderConfig) from a pinned commit of
+# yuhonas/free-exercise-db, with the SHA-256 the build checks it against. Commit all three files it writes.
+#
+#   scripts/update-exercise-snapshot.sh <upstream commit sha>
+set -eu
+
+commit="${1:?usage: $0 <free-exercise-db commit sha>}"
+dir="$(cd "$(dirname "$0")/.." && pwd)/src/main/resources/exercises"
+snapshot="$dir/free-exercise-db.json.gz"
+
+mkdir -p "$dir"
+curl -fsSL "https://raw.githubusercontent.com/yuhonas/free-exercise-db/$commit/dist/exercises.json" \
+  | gzip -9n > "$snapshot.tmp"
+mv "$snapshot.tmp" "$snapshot"
+sha256sum "$snapshot" | cut -d' ' -f1 > "$snapshot.sha256"
+echo "$commit" > "$dir/free-exercise-db.commit"
+
+echo "free-exercise-db@$commit -> $snapshot ($(cat "$snapshot.sha256"))"
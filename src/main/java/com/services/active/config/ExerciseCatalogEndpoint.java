@@ -0,0 +1,44 @@
+package com.services.active.config;
+
+import com.services.active.services.ExerciseCatalog;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code GET /actuator/exercisecatalog} reports the loaded snapshot, {@code POST} rebuilds it from the database.
+ * Requires the actuator role (see SecurityConfig).
+ */
+@Component
+@Endpoint(id = "exercisecatalog")
+public class ExerciseCatalogEndpoint {
+
+    private final ExerciseCatalog exerciseCatalog;
+
+    public ExerciseCatalogEndpoint(ExerciseCatalog exerciseCatalog) {
+        this.exerciseCatalog = exerciseCatalog;
+    }
+
+    @ReadOperation
+    public Map<String, Object> catalog() {
+        return describe(exerciseCatalog.snapshot());
+    }
+
+    @WriteOperation
+    public Map<String, Object> reload() {
+        return describe(exerciseCatalog.reload());
+    }
+
+    private static Map<String, Object> describe(ExerciseCatalog.Snapshot snapshot) {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("exercises", snapshot.byId().size());
+        details.put("version", snapshot.version());
+        details.put("previousVersions", snapshot.history().size());
+        details.put("loadedAt", snapshot.loadedAt().toString());
+        return details;
+    }
+}
@@ -0,0 +1,64 @@
+package com.services.active.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ensures the registry's indexes before the data runners (@Order 100+) query the collections.
+ * Started with {@code --ensure-indexes} the service only ensures indexes, logs the report and exits, which lets a
+ * deployment build indexes ahead of rolling out new instances; {@code active.indexes.ensure-on-startup=false}
+ * leaves index creation entirely to that step.
+ */
+@Slf4j
+@Component
+@Order(10)
+@RequiredArgsConstructor
+public class IndexBootstrapRunner implements ApplicationRunner {
+
+    static final String ENSURE_INDEXES_OPTION = "ensure-indexes";
+
+    private final IndexRegistry indexRegistry;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${active.indexes.ensure-on-startup:true}")
+    private boolean ensureOnStartup;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        boolean cliMode = args.containsOption(ENSURE_INDEXES_OPTION);
+        if (!cliMode && !ensureOnStartup) {
+            return;
+        }
+        try {
+            var created = indexRegistry.ensureAll();
+            log.info("Index check finished: {} declared, {} created", indexRegistry.declared().size(), created.size());
+            for (IndexRegistry.CollectionReport report : indexRegistry.report()) {
+                if (!report.missing().isEmpty()) {
+                    log.warn("{}: declared indexes missing: {}", report.collection(), report.missing());
+                }
+                if (!report.undeclared().isEmpty()) {
+                    log.warn("{}: indexes not declared in the registry: {}", report.collection(), report.undeclared());
+                }
+                if (cliMode && !report.unused().isEmpty()) {
+                    log.info("{}: indexes unused since server start: {}", report.collection(), report.unused());
+                }
+            }
+        } catch (Exception e) {
+            log.error("Index check failed", e);
+            if (cliMode) {
+                System.exit(SpringApplication.exit(context, () -> 1));
+            }
+            return;
+        }
+        if (cliMode) {
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.services.active.config;
+
+import com.services.active.models.Exercise;
+import com.services.active.models.ExercisePersonalBest;
+import com.services.active.models.ExerciseRecord;
+import com.services.active.models.IdempotencyRecord;
+import com.services.active.models.Routine;
+import com.services.active.models.UserDataVersion;
+import com.services.active.models.Workout;
+import com.services.active.models.WorkoutRecord;
+import com.services.active.models.WorkoutTemplate;
+import com.services.active.models.user.User;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * The one place that decides which indexes exist. The declarations are the {@code @Indexed} / {@code @CompoundIndex}
+ * annotations on the entities listed in {@link #ENTITIES}; Spring Data's automatic index creation is off, so nothing
+ * else creates indexes.
+ * <p>
+ * {@link #ensureAll()} creates whatever is declared and missing (idempotent; an index that already exists with the
+ * same keys is left alone) and runs at startup or on its own with {@code --ensure-indexes}, see
+ * {@link IndexBootstrapRunner}. {@link #report()} compares the declarations with the live collections and, from
+ * {@code $indexStats}, lists indexes that have not served a single operation since the server last started.
+ */
+@Slf4j
+@Component
+public class IndexRegistry {
+
+    static final List<Class<?>> ENTITIES = List.of(
+            User.class,
+            UserDataVersion.class,
+            Workout.class,
+            WorkoutTemplate.class,
+            WorkoutRecord.class,
+            ExerciseRecord.class,
+            ExercisePersonalBest.class,
+            Routine.class,
+            Exercise.class,
+            IdempotencyRecord.class);
+
+    private static final String ID_INDEX = "_id_";
+
+    public record DeclaredIndex(String collection, String name, Document keys, IndexDefinition definition) {}
+
+    public record CollectionReport(String collection, List<String> missing, List<String> undeclared, List<String> unused) {}
+
+    private final MongoTemplate mongoTemplate;
+    private final List<DeclaredIndex> declared;
+
+    public IndexRegistry(MongoTemplate mongoTemplate, MongoMappingContext mappingContext) {
+        this.mongoTemplate = mongoTemplate;
+        IndexResolver resolver = IndexResolver.create(mappingContext);
+        List<DeclaredIndex> indexes = new ArrayList<>();
+        for (Class<?> entity : ENTITIES) {
+            String collection = mongoTemplate.getCollectionName(entity);
+            for (IndexDefinition definition : resolver.resolveIndexFor(entity)) {
+                Document keys = definition.getIndexKeys();
+                String name = definition.getIndexOptions().getString("name");
+                indexes.add(new DeclaredIndex(collection, name != null ? name : defaultName(keys), keys, definition));
+            }
+        }
+        this.declared = List.copyOf(indexes);
+    }
+
+    public List<DeclaredIndex> declared() {
+        return declared;
+    }
+
+    /**
+     * Creates every declared index that does not exist yet and returns the names of those it created. A failure on
+     * one index (e.g. duplicates blocking a unique index) is logged and does not stop the others.
+     */
+    public List<String> ensureAll() {
+        List<String> created = new ArrayList<>();
+        Map<String, List<Document>> existing = new HashMap<>();
+        for (DeclaredIndex index : declared) {
+            List<Document> live = existing.computeIfAbsent(index.collection(), this::listIndexes);
+            if (live.stream().anyMatch(doc -> sameKeys(doc.get("key", Document.class), index.keys()))) {
+                continue;
+            }
+            try {
+                mongoTemplate.indexOps(index.collection()).createIndex(index.definition());
+                created.add(index.collection() + "." + index.name());
+                log.info("Created index {} on {} {}", index.name(), index.collection(), index.keys().toJson());
+            } catch (Exception e) {
+                log.error("Could not create index {} on {}: {}", index.name(), index.collection(), e.getMessage());
+            }
+        }
+        return created;
+    }
+
+    /**
+     * Per collection: declared indexes that do not exist, existing indexes nobody declared, and existing indexes with
+     * no recorded use ({@code $indexStats} counters reset when the server restarts, so judge these on a long-running
+     * deployment).
+     */
+    public List<CollectionReport> report() {
+        Map<String, List<DeclaredIndex>> byCollection = new LinkedHashMap<>();
+        declared.forEach(index -> byCollection.computeIfAbsent(index.collection(), c -> new ArrayList<>()).add(index));
+        for (Class<?> entity : ENTITIES) {
+            byCollection.computeIfAbsent(mongoTemplate.getCollectionName(entity), c -> new ArrayList<>());
+        }
+
+        List<CollectionReport> reports = new ArrayList<>();
+        byCollection.forEach((collection, indexes) -> {
+            List<Document> live = listIndexes(collection);
+            List<String> missing = indexes.stream()
+                    .filter(index -> live.stream().noneMatch(doc -> sameKeys(doc.get("key", Document.class), index.keys())))
+                    .map(DeclaredIndex::name)
+                    .toList();
+            List<String> undeclared = live.stream()
+                    .filter(doc -> !ID_INDEX.equals(doc.getString("name")))
+                    .filter(doc -> indexes.stream().noneMatch(index -> sameKeys(doc.get("key", Document.class), index.keys())))
+                    .map(doc -> doc.getString("name"))
+                    .toList();
+            reports.add(new CollectionReport(collection, missing, undeclared, unusedIndexes(collection)));
+        });
+        return reports;
+    }
+
+    private List<Document> listIndexes(String collection) {
+        if (!mongoTemplate.collectionExists(collection)) {
+            return List.of();
+        }
+        return mongoTemplate.getCollection(collection).listIndexes().into(new ArrayList<>());
+    }
+
+    private List<String> unusedIndexes(String collection) {
+        if (!mongoTemplate.collectionExists(collection)) {
+            return List.of();
+        }
+        List<String> unused = new ArrayList<>();
+        for (Document stats : mongoTemplate.getCollection(collection)
+                .aggregate(List.of(new Document("$indexStats", new Document())))) {
+            Document accesses = stats.get("accesses", Document.class);
+            Number ops = accesses != null ? accesses.get("ops", Number.class) : null;
+            if (!ID_INDEX.equals(stats.getString("name")) && (ops == null || ops.longValue() == 0)) {
+                unused.add(stats.getString("name"));
+            }
+        }
+        return unused;
+    }
+
+    // Key order matters (compound indexes), numeric type does not (1 vs 1.0)
+    static boolean sameKeys(Document a, Document b) {
+        if (a == null || b == null || a.size() != b.size()) {
+            return false;
+        }
+        Iterator<Map.Entry<String, Object>> left = a.entrySet().iterator();
+        Iterator<Map.Entry<String, Object>> right = b.entrySet().iterator();
+        while (left.hasNext()) {
+            Map.Entry<String, Object> l = left.next();
+            Map.Entry<String, Object> r = right.next();
+            if (!l.getKey().equals(r.getKey())) {
+                return false;
+            }
+            Object lv = l.getValue();
+            Object rv = r.getValue();
+            boolean equal = lv instanceof Number ln && rv instanceof Number rn
+                    ? ln.doubleValue() == rn.doubleValue()
+                    : Objects.equals(lv, rv);
+            if (!equal) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String defaultName(Document keys) {
+        StringJoiner name = new StringJoiner("_");
+        keys.forEach((field, direction) -> name.add(field).add(String.valueOf(direction)));
+        return name.toString();
+    }
+}
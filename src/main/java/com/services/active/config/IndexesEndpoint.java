@@ -0,0 +1,40 @@
+package com.services.active.config;
+
+import org.springframework.boot.actuate.endpoint.Access;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code GET /actuator/indexes} reports missing, undeclared and unused indexes per collection,
+ * {@code POST} creates the declared indexes that are missing. Requires the actuator role (see SecurityConfig), and
+ * read-only unless {@code management.endpoint.indexes.access} is {@code unrestricted}.
+ */
+@Component
+@Endpoint(id = "indexes", defaultAccess = Access.READ_ONLY)
+public class IndexesEndpoint {
+
+    private final IndexRegistry indexRegistry;
+
+    public IndexesEndpoint(IndexRegistry indexRegistry) {
+        this.indexRegistry = indexRegistry;
+    }
+
+    @ReadOperation
+    public List<IndexRegistry.CollectionReport> report() {
+        return indexRegistry.report();
+    }
+
+    @WriteOperation
+    public Map<String, Object> ensure() {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("created", indexRegistry.ensureAll());
+        details.put("report", indexRegistry.report());
+        return details;
+    }
+}
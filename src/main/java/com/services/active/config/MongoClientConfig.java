@@ -0,0 +1,14 @@
+package com.services.active.config;
+
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MongoClientConfig {
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer roundTripCounterCustomizer(MongoRoundTripCounter roundTripCounter) {
+        return builder -> builder.addCommandListener(roundTripCounter);
+    }
+}
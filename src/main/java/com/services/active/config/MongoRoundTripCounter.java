@@ -0,0 +1,63 @@
+package com.services.active.config;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Counts MongoDB commands issued by the current thread so a unit of work (e.g. a workout submission)
+ * can report how many round trips it took. Registered with the driver by {@link MongoClientConfig}.
+ */
+@Component
+public class MongoRoundTripCounter implements CommandListener {
+
+    private static final ThreadLocal<long[]> COMMANDS = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final MeterRegistry meterRegistry;
+
+    public MongoRoundTripCounter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        COMMANDS.get()[0]++;
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+    }
+
+    /**
+     * Number of commands the current thread has sent so far; only meaningful as a difference.
+     */
+    public long current() {
+        return COMMANDS.get()[0];
+    }
+
+    /**
+     * Runs {@code work} and records the round trips it made under {@code mongo.round_trips{operation=...}}.
+     */
+    public <T> T measure(String operation, Supplier<T> work) {
+        long before = current();
+        try {
+            return work.get();
+        } finally {
+            DistributionSummary.builder("mongo.round_trips")
+                    .description("MongoDB commands sent per unit of work")
+                    .tag("operation", operation)
+                    .register(meterRegistry)
+                    .record(current() - before);
+        }
+    }
+}
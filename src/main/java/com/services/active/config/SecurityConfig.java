@@ -2,6 +2,9 @@ package com.services.active.config;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.info.InfoEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
@@ -15,6 +18,8 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
 import org.springframework.security.oauth2.core.OAuth2TokenValidator;
 import org.springframework.security.oauth2.jwt.*;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
@@ -31,6 +36,9 @@ public class SecurityConfig {
     @Value("${workos.client-id}")
     private String workOsClientId;
 
+    @Value("${active.actuator.role:admin}")
+    private String actuatorRole;
+
 
     @Bean
     public JwtDecoder jwtDecoder(OAuth2TokenValidator<Jwt> tokenValidator) {
@@ -58,11 +66,45 @@ public class SecurityConfig {
                 timestamp
         );
     }
+    // Every actuator endpoint goes through this chain. health and info are public; the operational ones (metrics,
+    // exercisecatalog, indexes) need a bearer token whose "role" claim is active.actuator.role. The session cookie
+    // is not accepted, so a cross-site request from a signed-in browser cannot reach them either.
+    @Bean
+    @Order(0)
+    public SecurityFilterChain managementFilterChain(HttpSecurity http, JwtDecoder workOsDecoder) throws Exception {
+        JwtGrantedAuthoritiesConverter roleClaim = new JwtGrantedAuthoritiesConverter();
+        roleClaim.setAuthoritiesClaimName("role");
+        roleClaim.setAuthorityPrefix("ROLE_");
+        JwtAuthenticationConverter roles = new JwtAuthenticationConverter();
+        roles.setJwtGrantedAuthoritiesConverter(roleClaim);
+
+        http
+                .securityMatcher(EndpointRequest.toAnyEndpoint())
+                .cors(AbstractHttpConfigurer::disable)
+                .csrf(AbstractHttpConfigurer::disable)
+                .sessionManagement(session -> session
+                        .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+                )
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers(EndpointRequest.to(HealthEndpoint.class, InfoEndpoint.class)).permitAll()
+                        .anyRequest().hasRole(actuatorRole)
+                )
+                .oauth2ResourceServer(oauth2 ->
+                        oauth2.jwt(jwt -> jwt.decoder(workOsDecoder).jwtAuthenticationConverter(roles)))
+                .exceptionHandling(ex -> ex
+                        .authenticationEntryPoint((request, response, authException) ->
+                                response.setStatus(HttpStatus.UNAUTHORIZED.value()))
+                        .accessDeniedHandler((request, response, accessDeniedException) ->
+                                response.setStatus(HttpStatus.FORBIDDEN.value()))
+                );
+        return http.build();
+    }
+
     @Bean
     @Order(1)
     public SecurityFilterChain publicEndpointsFilterChain(HttpSecurity http) throws Exception {
         http
-                .securityMatcher("/api/auth/**", "/api/legal/**", "/actuator/health", "/actuator/info",
+                .securityMatcher("/api/auth/**", "/api/legal/**",
                         "/swagger-ui.html", "/swagger-ui/**", "/v3/api-docs/**", "/webjars/**")
                 .cors(AbstractHttpConfigurer::disable)
                 .csrf(AbstractHttpConfigurer::disable)
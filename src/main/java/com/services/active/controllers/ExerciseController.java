@@ -1,11 +1,15 @@
 package com.services.active.controllers;
 
+import com.services.active.dto.ExerciseCatalogDelta;
 import com.services.active.dto.ExerciseLogResponse;
+import com.services.active.dto.ExerciseSearchPage;
+import com.services.active.dto.ExerciseSeriesResponse;
 import com.services.active.models.Exercise;
 import com.services.active.models.types.Category;
 import com.services.active.models.types.Equipment;
 import com.services.active.models.types.Level;
 import com.services.active.models.types.MuscleGroup;
+import com.services.active.services.ExerciseSearchCache;
 import com.services.active.services.ExerciseService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -16,11 +20,18 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.security.Principal;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -29,20 +40,25 @@ import java.util.List;
 @Tag(name = "Exercises", description = "Exercise library and search endpoints")
 @SecurityRequirement(name = "bearerAuth")
 public class ExerciseController {
+    private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+
     private final ExerciseService exerciseService;
 
     @GetMapping("/search")
     @Operation(
         summary = "Search exercises",
         description = "Search for exercises using various filters. All parameters are optional and can be combined. " +
-                "For muscle groups, exercises must contain ALL specified muscles (AND logic)."
+                "For muscle groups, exercises must contain ALL specified muscles (AND logic). " +
+                "Results can be paged with offset/limit (the X-Total-Count header holds the number of matches), " +
+                "sorted, and narrowed to a subset of fields, e.g. fields=name,equipment,primaryMuscles for a list view."
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Exercises retrieved successfully",
                 content = @Content(schema = @Schema(implementation = Exercise.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid paging, sort or fields parameter"),
         @ApiResponse(responseCode = "401", description = "Unauthorized - invalid or missing JWT token")
     })
-    public List<Exercise> searchExercises(
+    public ResponseEntity<?> searchExercises(
             @Parameter(description = "Exercise name (case-insensitive partial match)")
             @RequestParam(required = false) String name,
 
@@ -64,9 +80,104 @@ public class ExerciseController {
 
             @Parameter(description = "Required equipment",
                     schema = @Schema(allowableValues = {"MEDICINE_BALL", "DUMBBELL", "BODY_ONLY", "BANDS", "KETTLEBELLS", "FOAM_ROLL", "CABLE", "MACHINE", "BARBELL", "EXERCISE_BALL", "E_Z_CURL_BAR", "OTHER"}))
-            @RequestParam(required = false) Equipment equipment) {
+            @RequestParam(required = false) Equipment equipment,
+
+            @Parameter(description = "Sort field, prefixed with - for descending; catalog order when omitted",
+                    schema = @Schema(allowableValues = {"name", "-name", "category", "-category", "level", "-level", "equipment", "-equipment"}))
+            @RequestParam(required = false) String sort,
+
+            @Parameter(description = "Number of matches to skip (default 0)")
+            @RequestParam(required = false) Integer offset,
+
+            @Parameter(description = "Page size, 1-500; all matches when omitted")
+            @RequestParam(required = false) Integer limit,
+
+            @Parameter(description = "Comma-separated fields to return (id is always included); whole exercises when omitted",
+                    example = "name,equipment,primaryMuscles")
+            @RequestParam(required = false) String fields,
+
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
 
-        return exerciseService.searchExercises(name, category, level, primaryMuscles, secondaryMuscles, equipment);
+        // JSON responses come pre-serialized from the search cache; binary encodings go through the converters
+        if (acceptsJson(accept)) {
+            ExerciseSearchCache.Entry entry = exerciseService.searchExercisesJson(name, category, level, primaryMuscles,
+                    secondaryMuscles, equipment, sort, offset, limit, fields);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header("X-Total-Count", String.valueOf(entry.total()))
+                    .body(entry.json());
+        }
+        ExerciseSearchPage page = exerciseService.searchExercises(name, category, level, primaryMuscles, secondaryMuscles,
+                equipment, sort, offset, limit, fields);
+        return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(page.getTotal()))
+                .body(page.getExercises());
+    }
+
+    // True when content negotiation would pick the JSON converter: nothing asked for, or JSON acceptable and no
+    // binary encoding named
+    private static boolean acceptsJson(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return true;
+        }
+        try {
+            List<MediaType> types = MediaType.parseMediaTypes(accept);
+            return types.stream().anyMatch(type -> type.includes(MediaType.APPLICATION_JSON))
+                    && types.stream().noneMatch(type -> !type.isWildcardSubtype()
+                            && (type.isCompatibleWith(MediaType.APPLICATION_CBOR) || type.isCompatibleWith(SMILE)));
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    @GetMapping("/catalog")
+    @Operation(
+        summary = "Sync the exercise catalog",
+        description = "Returns the catalog version and the exercises added, changed and removed since the version the " +
+                "client holds (`since`). Without `since`, or when that version is too old to diff against, the whole " +
+                "catalog is returned with full=true. Returns 304 when the client is already up to date; the version is " +
+                "also sent as the ETag, so If-None-Match works too."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Catalog changes retrieved successfully",
+                content = @Content(schema = @Schema(implementation = ExerciseCatalogDelta.class))),
+        @ApiResponse(responseCode = "304", description = "The client's catalog version is current"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - invalid or missing JWT token")
+    })
+    public ResponseEntity<ExerciseCatalogDelta> getCatalog(
+            WebRequest webRequest,
+            @Parameter(description = "Catalog version from a previous response")
+            @RequestParam(required = false) String since) {
+        ExerciseCatalogDelta delta = exerciseService.getCatalogChanges(since);
+        String etag = "\"" + delta.getVersion() + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        if (delta.getVersion().equals(since)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(delta);
+    }
+
+    @GetMapping("/suggest")
+    @Operation(
+        summary = "Autocomplete exercise names",
+        description = "Returns exercises whose name matches a partial and possibly misspelled query (e.g. \"bench pres\", " +
+                "\"dumbell curl\"), ranked by prefix match and edit distance. Served from the in-memory catalog."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Suggestions retrieved successfully",
+                content = @Content(schema = @Schema(implementation = Exercise.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid limit"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - invalid or missing JWT token")
+    })
+    public List<Exercise> suggestExercises(
+            @Parameter(description = "What the user has typed so far", example = "bench pres")
+            @RequestParam(required = false) String q,
+
+            @Parameter(description = "Maximum number of suggestions (1-50, default 10)")
+            @RequestParam(required = false) Integer limit) {
+        return exerciseService.suggestExercises(q, limit);
     }
 
     @GetMapping("/{exerciseId}/logs")
@@ -89,4 +200,36 @@ public class ExerciseController {
         }
         return exerciseService.getExerciseLogs(principal.getName(), exerciseId);
     }
+
+    @GetMapping("/{exerciseId}/series")
+    @Operation(
+        summary = "Get downsampled progress series for an exercise",
+        description = "Returns the authenticated user's estimated 1RM and volume per record for an exercise, oldest first, " +
+                "downsampled server-side (Largest-Triangle-Three-Buckets) to at most `points` points per series"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Series retrieved successfully",
+                content = @Content(schema = @Schema(implementation = ExerciseSeriesResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid window or point count"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - invalid or missing JWT token"),
+        @ApiResponse(responseCode = "404", description = "Exercise not found")
+    })
+    public ExerciseSeriesResponse getExerciseSeries(
+            @Parameter(description = "Exercise ID to get the series for", required = true)
+            @PathVariable String exerciseId,
+
+            @Parameter(description = "First day of the window (inclusive, ISO date)", example = "2024-01-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+
+            @Parameter(description = "Last day of the window (inclusive, ISO date)", example = "2024-12-31")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+
+            @Parameter(description = "Maximum points per series (3-1000, default 200)")
+            @RequestParam(required = false) Integer points,
+            Principal principal) {
+        if (principal == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Unauthorized");
+        }
+        return exerciseService.getExerciseSeries(principal.getName(), exerciseId, from, to, points);
+    }
 }
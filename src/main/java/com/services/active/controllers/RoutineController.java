@@ -4,6 +4,7 @@ import com.services.active.dto.CreateRoutineRequest;
 import com.services.active.dto.UpdateRoutineRequest;
 import com.services.active.models.Routine;
 import com.services.active.services.RoutineService;
+import com.services.active.services.UserDataVersionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -17,6 +18,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.security.Principal;
@@ -31,6 +33,7 @@ import java.util.List;
 public class RoutineController {
 
     private final RoutineService routineService;
+    private final UserDataVersionService userDataVersionService;
 
     @PostMapping(produces = org.springframework.http.MediaType.APPLICATION_JSON_VALUE)
     @ResponseStatus(HttpStatus.CREATED)
@@ -54,12 +57,16 @@ public class RoutineController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Routines retrieved successfully",
                     content = @Content(schema = @Schema(implementation = Routine.class))),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag sent in If-None-Match"),
             @ApiResponse(responseCode = "401", description = "Unauthorized - invalid or missing JWT token")
     })
-    public List<Routine> listRoutines(Principal principal) {
+    public List<Routine> listRoutines(Principal principal, WebRequest webRequest) {
         if (principal == null) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Unauthorized");
         }
+        if (webRequest.checkNotModified(userDataVersionService.etag(principal.getName(), "routines"))) {
+            return null;
+        }
         return routineService.listRoutines(principal.getName());
     }
 
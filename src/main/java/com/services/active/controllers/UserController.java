@@ -22,6 +22,13 @@ public class UserController {
     private final UserService userService;
 
     @GetMapping("/me")
+    // No conditional GET: the profile embedded from WorkOS changes without a local write, so the user's data version
+    // cannot vouch for it
+    @Operation(summary = "Get current user")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "User retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "User not found")
+    })
     public FullUser getCurrentUser(Principal principal) {
         return userService.getUserById(principal.getName());
     }
@@ -3,6 +3,8 @@ package com.services.active.controllers;
 import com.services.active.dto.CreateWorkoutRequest;
 import com.services.active.dto.UserWorkoutResponse;
 import com.services.active.models.Workout;
+import com.services.active.services.ExerciseCatalog;
+import com.services.active.services.UserDataVersionService;
 import com.services.active.services.WorkoutService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,6 +17,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 import jakarta.validation.Valid;
 import org.springframework.validation.annotation.Validated;
@@ -30,6 +33,8 @@ import java.util.List;
 @Validated
 public class WorkoutController {
     private final WorkoutService workoutService;
+    private final UserDataVersionService userDataVersionService;
+    private final ExerciseCatalog exerciseCatalog;
 
     @PostMapping(produces = org.springframework.http.MediaType.APPLICATION_JSON_VALUE)
     @ResponseStatus(HttpStatus.CREATED)
@@ -61,12 +66,18 @@ public class WorkoutController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Workouts retrieved successfully",
                 content = @Content(schema = @Schema(implementation = UserWorkoutResponse.class))),
+        @ApiResponse(responseCode = "304", description = "Not modified since the ETag sent in If-None-Match"),
         @ApiResponse(responseCode = "401", description = "Unauthorized - invalid or missing JWT token")
     })
-    public List<UserWorkoutResponse> getUserWorkouts(Principal principal) {
+    public List<UserWorkoutResponse> getUserWorkouts(Principal principal, WebRequest webRequest) {
         if (principal == null) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Unauthorized");
         }
+        // Templates embed category and muscles from the catalog, so a catalog reload changes the response too
+        String etag = userDataVersionService.etag(principal.getName(), "workouts", exerciseCatalog.snapshot().version());
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
         return workoutService.getUserWorkouts(principal.getName());
     }
 
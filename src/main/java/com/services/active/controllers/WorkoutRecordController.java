@@ -1,10 +1,16 @@
 package com.services.active.controllers;
 
 import com.services.active.dto.UserWorkoutRecordsResponse;
+import com.services.active.dto.WorkoutRecordBatchRequest;
+import com.services.active.dto.WorkoutRecordBatchResponse;
 import com.services.active.dto.WorkoutRecordCreateResponse;
+import com.services.active.dto.WorkoutRecordPage;
 import com.services.active.dto.WorkoutRecordRequest;
+import com.services.active.services.IdempotencyService;
+import com.services.active.services.UserDataVersionService;
 import com.services.active.services.WorkoutRecordService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -15,10 +21,13 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.validation.annotation.Validated;
 
+import java.io.IOException;
 import java.security.Principal;
 import java.util.List;
 
@@ -30,43 +39,128 @@ import java.util.List;
 @Validated
 public class WorkoutRecordController {
     private final WorkoutRecordService workoutRecordService;
+    private final IdempotencyService idempotencyService;
+    private final UserDataVersionService userDataVersionService;
 
     @GetMapping
     @Operation(
         summary = "Get user's workout records",
-        description = "Retrieves all workout records for the authenticated user, ordered by creation time (most recent first)"
+        description = "Retrieves the authenticated user's workout records, ordered by creation time (most recent first). " +
+                "Without 'limit' or 'before' every record is returned. With either, one page is returned, and when older " +
+                "records exist the X-Next-Cursor header carries an opaque token to pass as 'before' for the next page."
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Workout records retrieved successfully",
                 content = @Content(schema = @Schema(implementation = UserWorkoutRecordsResponse.class))),
+        @ApiResponse(responseCode = "304", description = "Not modified since the ETag sent in If-None-Match"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor or limit"),
         @ApiResponse(responseCode = "401", description = "Unauthorized - invalid or missing JWT token")
     })
-    public List<UserWorkoutRecordsResponse> getUserWorkoutRecords(Principal principal) {
+    public ResponseEntity<List<UserWorkoutRecordsResponse>> getUserWorkoutRecords(
+            Principal principal,
+            WebRequest webRequest,
+            @Parameter(description = "Continuation token from the X-Next-Cursor header of the previous page")
+            @RequestParam(required = false) String before,
+            @Parameter(description = "Page size, 1-100 (default 50 when 'before' is given; without either parameter the whole history is returned)")
+            @RequestParam(required = false) Integer limit) {
+        if (principal == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Unauthorized");
+        }
+        if (webRequest.checkNotModified(userDataVersionService.etag(principal.getName(), "workout-records", before, limit))) {
+            return null;
+        }
+        WorkoutRecordPage page = workoutRecordService.getWorkoutRecords(principal.getName(), before, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header("X-Next-Cursor", page.getNextCursor());
+        }
+        return response.body(page.getWorkoutRecords());
+    }
+
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    @Operation(
+        summary = "Export the user's full workout history",
+        description = "Streams every workout record of the authenticated user as newline-delimited JSON, one record " +
+                "(same shape as GET /api/workouts/record) per line, most recent first."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "History streamed successfully"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - invalid or missing JWT token")
+    })
+    public void exportWorkoutRecords(Principal principal, HttpServletResponse response) throws IOException {
         if (principal == null) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Unauthorized");
         }
-        return workoutRecordService.getWorkoutRecords(principal.getName());
+        // Written on the request's own (virtual) thread; blocking writes give backpressure from the client
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        workoutRecordService.exportWorkoutRecords(principal.getName(), response.getOutputStream());
     }
 
     @PostMapping
     @Operation(
         summary = "Create a workout record",
-        description = "Creates a new workout record with exercise records for the authenticated user. Also returns a streakUpdate with status and next requirement info."
+        description = "Creates a new workout record with exercise records for the authenticated user. Also returns a streakUpdate with status and next requirement info. " +
+                "Retries sent with the same Idempotency-Key and body within 24 hours return the original response (with Idempotent-Replayed: true) without recording the workout again."
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Workout record created successfully",
                 content = @Content(schema = @Schema(implementation = WorkoutRecordCreateResponse.class))),
         @ApiResponse(responseCode = "400", description = "Invalid request data"),
         @ApiResponse(responseCode = "401", description = "Unauthorized - invalid or missing JWT token"),
-        @ApiResponse(responseCode = "404", description = "Referenced workout not found")
+        @ApiResponse(responseCode = "404", description = "Referenced workout not found"),
+        @ApiResponse(responseCode = "409", description = "A request with the same Idempotency-Key is still being processed"),
+        @ApiResponse(responseCode = "422", description = "The Idempotency-Key was already used with a different request body")
     })
     public ResponseEntity<WorkoutRecordCreateResponse> createWorkoutRecord(
             Principal principal,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @RequestBody @Valid WorkoutRecordRequest request) {
         if (principal == null) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Unauthorized");
         }
-        var response = workoutRecordService.createWorkoutRecord(principal.getName(), request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        if (idempotencyKey == null) {
+            var response = workoutRecordService.createWorkoutRecord(principal.getName(), request);
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        }
+        var result = idempotencyService.execute(principal.getName(), idempotencyKey, request, WorkoutRecordCreateResponse.class,
+                () -> workoutRecordService.createWorkoutRecord(principal.getName(), request));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header("Idempotent-Replayed", String.valueOf(result.replayed()))
+                .body(result.body());
+    }
+
+    @PostMapping("/batch")
+    @Operation(
+        summary = "Upload several workout records at once",
+        description = "Records workouts done offline. PBs and the streak are evaluated in startTime order across the whole batch; " +
+                "the response lists the created records in request order, each with the streak update at that point. " +
+                "Supports the same Idempotency-Key semantics as single submissions."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Workout records created successfully",
+                content = @Content(schema = @Schema(implementation = WorkoutRecordBatchResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid request data"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - invalid or missing JWT token"),
+        @ApiResponse(responseCode = "404", description = "Referenced workout not found"),
+        @ApiResponse(responseCode = "409", description = "A request with the same Idempotency-Key is still being processed"),
+        @ApiResponse(responseCode = "422", description = "The Idempotency-Key was already used with a different request body")
+    })
+    public ResponseEntity<WorkoutRecordBatchResponse> createWorkoutRecords(
+            Principal principal,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestBody @Valid WorkoutRecordBatchRequest request) {
+        if (principal == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Unauthorized");
+        }
+        if (idempotencyKey == null) {
+            var response = workoutRecordService.createWorkoutRecords(principal.getName(), request);
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        }
+        var result = idempotencyService.execute(principal.getName(), "batch:" + idempotencyKey, request, WorkoutRecordBatchResponse.class,
+                () -> workoutRecordService.createWorkoutRecords(principal.getName(), request));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header("Idempotent-Replayed", String.valueOf(result.replayed()))
+                .body(result.body());
     }
 }
@@ -0,0 +1,115 @@
+package com.services.active.dataloader;
+
+import com.services.active.models.Exercise;
+import com.services.active.models.ExerciseRecord;
+import com.services.active.models.WorkoutRecord;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Copies exercise records into the workout records that reference them (WorkoutRecord.exercises).
+ * Workout records are streamed through a cursor and processed in chunks, each chunk costing one read of
+ * exercise_records, one of exercises and one bulk write, so memory stays flat regardless of collection size.
+ * Already migrated records are skipped, so the runner can be re-run or interrupted safely.
+ */
+@Slf4j
+@Component
+@Order(110)
+@RequiredArgsConstructor
+public class EmbeddedExerciseMigrationRunner implements ApplicationRunner {
+
+    private static final int CHUNK_SIZE = 200;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${active.migrations.embed-exercise-records:false}")
+    private boolean enabled;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Query notMigrated = new Query(Criteria.where("exercises").exists(false));
+            notMigrated.fields().include("exerciseRecordIds");
+            notMigrated.cursorBatchSize(CHUNK_SIZE);
+
+            int migrated = 0;
+            List<WorkoutRecord> chunk = new ArrayList<>(CHUNK_SIZE);
+            try (Stream<WorkoutRecord> stream = mongoTemplate.stream(notMigrated, WorkoutRecord.class)) {
+                Iterator<WorkoutRecord> it = stream.iterator();
+                while (it.hasNext()) {
+                    chunk.add(it.next());
+                    if (chunk.size() == CHUNK_SIZE) {
+                        migrated += migrateChunk(chunk);
+                        chunk.clear();
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                migrated += migrateChunk(chunk);
+            }
+            log.info("EmbeddedExerciseMigrationRunner: embedded exercise records into {} workout_record documents", migrated);
+        } catch (Exception e) {
+            // Don't fail app startup because of the migration; unmigrated records are still served via the join
+            log.error("EmbeddedExerciseMigrationRunner failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private int migrateChunk(List<WorkoutRecord> chunk) {
+        Set<String> recordIds = new HashSet<>();
+        for (WorkoutRecord wr : chunk) {
+            if (wr.getExerciseRecordIds() != null) recordIds.addAll(wr.getExerciseRecordIds());
+        }
+
+        Map<String, ExerciseRecord> recordById = new HashMap<>();
+        mongoTemplate.find(new Query(Criteria.where("_id").in(recordIds)), ExerciseRecord.class)
+                .forEach(r -> recordById.put(r.getId(), r));
+
+        Set<String> exerciseIds = new HashSet<>();
+        recordById.values().stream()
+                .filter(r -> r.getExerciseName() == null)
+                .forEach(r -> exerciseIds.add(r.getExerciseId()));
+        Query namesQuery = new Query(Criteria.where("_id").in(exerciseIds));
+        namesQuery.fields().include("name");
+        Map<String, String> nameById = new HashMap<>();
+        mongoTemplate.find(namesQuery, Exercise.class).forEach(ex -> nameById.put(ex.getId(), ex.getName()));
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, WorkoutRecord.class);
+        for (WorkoutRecord wr : chunk) {
+            List<WorkoutRecord.EmbeddedExercise> exercises = new ArrayList<>();
+            for (String id : Optional.ofNullable(wr.getExerciseRecordIds()).orElse(List.of())) {
+                ExerciseRecord r = recordById.get(id);
+                if (r == null) continue;
+                exercises.add(WorkoutRecord.EmbeddedExercise.builder()
+                        .recordId(r.getId())
+                        .exerciseId(r.getExerciseId())
+                        .exerciseName(r.getExerciseName() != null ? r.getExerciseName() : nameById.getOrDefault(r.getExerciseId(), "Unknown"))
+                        .reps(r.getReps())
+                        .weight(r.getWeight())
+                        .durationSeconds(r.getDurationSeconds())
+                        .notes(r.getNotes())
+                        .achievedOneRm(r.getAchievedOneRm())
+                        .achievedTotalVolume(r.getAchievedTotalVolume())
+                        .build());
+            }
+            bulk.updateOne(new Query(Criteria.where("_id").is(wr.getId())), new Update().set("exercises", exercises));
+        }
+        bulk.execute();
+        return chunk.size();
+    }
+}
@@ -0,0 +1,105 @@
+package com.services.active.dataloader;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.services.active.domain.ExerciseContentHash;
+import com.services.active.models.Exercise;
+import com.services.active.services.ExerciseCatalog;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Synchronizes the exercises collection with a catalog file (a JSON array of exercises).
+ * <p>
+ * The array is read element by element with Jackson's streaming parser, so only one chunk of
+ * {@value #CHUNK_SIZE} exercises is in memory at a time. Each exercise is stamped with its
+ * {@link ExerciseContentHash}. Per chunk, one query reads the stored hashes and one unordered bulk write upserts
+ * only the exercises that are new or whose hash changed, so re-importing an unchanged catalog writes nothing and
+ * an updated catalog can be applied over a populated collection. Exercises missing from the file are left in
+ * place, since workout templates and records may still reference them. An import that wrote anything reloads the
+ * {@link ExerciseCatalog} once at the end, rather than leaving it to the change events of every written document.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExerciseCatalogImporter {
+
+    static final int CHUNK_SIZE = 500;
+
+    public record Result(int read, int written) {}
+
+    private final MongoTemplate mongoTemplate;
+    private final ExerciseCatalog exerciseCatalog;
+    private final ObjectMapper mapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    public Result importFrom(InputStream json) throws IOException {
+        int read = 0;
+        int written = 0;
+        try (JsonParser parser = mapper.getFactory().createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Exercise catalog must be a JSON array");
+            }
+            List<Exercise> chunk = new ArrayList<>(CHUNK_SIZE);
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                Exercise exercise = mapper.readValue(parser, Exercise.class);
+                if (exercise.getId() == null) {
+                    continue;
+                }
+                exercise.setContentHash(ExerciseContentHash.of(exercise));
+                chunk.add(exercise);
+                read++;
+                if (chunk.size() == CHUNK_SIZE) {
+                    written += upsertChanged(chunk);
+                    chunk.clear();
+                }
+            }
+            written += upsertChanged(chunk);
+        }
+        if (written > 0) {
+            exerciseCatalog.reload();
+        }
+        return new Result(read, written);
+    }
+
+    private int upsertChanged(List<Exercise> chunk) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        Query existingQuery = new Query(Criteria.where("_id").in(chunk.stream().map(Exercise::getId).toList()));
+        existingQuery.fields().include("contentHash");
+        Map<String, String> storedHashes = new HashMap<>();
+        for (Exercise stored : mongoTemplate.find(existingQuery, Exercise.class)) {
+            storedHashes.put(stored.getId(), stored.getContentHash());
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Exercise.class);
+        int changed = 0;
+        for (Exercise exercise : chunk) {
+            if (exercise.getContentHash().equals(storedHashes.get(exercise.getId()))) {
+                continue;
+            }
+            bulk.replaceOne(new Query(Criteria.where("_id").is(exercise.getId())), exercise,
+                    FindAndReplaceOptions.options().upsert());
+            changed++;
+        }
+        if (changed > 0) {
+            bulk.execute();
+        }
+        return changed;
+    }
+}
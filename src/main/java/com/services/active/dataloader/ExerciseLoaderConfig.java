@@ -1,10 +1,5 @@
 package com.services.active.dataloader;
 
-import com.fasterxml.jackson.core.JsonGenerator;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.services.active.models.Exercise;
 import com.services.active.repository.ExerciseRepository;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -13,20 +8,35 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.client.RestClient;
+import org.springframework.core.io.Resource;
 
-import java.util.List;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
 
+/**
+ * Imports the exercise catalog at startup from a gzipped snapshot on the classpath ({@code active.exercises.snapshot}),
+ * so startup does not depend on the network. The snapshot is committed at
+ * {@code src/main/resources/exercises/free-exercise-db.json.gz}, written from a pinned upstream commit by
+ * {@code scripts/update-exercise-snapshot.sh}, and the build checks it against its recorded SHA-256 (see the pom).
+ * <p>
+ * The snapshot import is incremental (see {@link ExerciseCatalogImporter}) and runs on every start, so shipping a new
+ * snapshot is enough to update a populated collection.
+ */
 @Configuration
 @RequiredArgsConstructor
 public class ExerciseLoaderConfig {
+    private final ExerciseCatalogImporter importer;
     private final ExerciseRepository exerciseRepository;
-    private final ObjectMapper mapper = new ObjectMapper().configure(JsonGenerator.Feature.IGNORE_UNKNOWN, true).configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
     private static final Logger log = LoggerFactory.getLogger(ExerciseLoaderConfig.class);
 
     @Value("${active.exercises.autoload:true}")
     private boolean autoLoad;
 
+    @Value("${active.exercises.snapshot:classpath:exercises/free-exercise-db.json.gz}")
+    private Resource snapshot;
+
     @Bean
     ApplicationRunner loadExercisesRunner() {
         return args -> {
@@ -34,21 +44,26 @@ public class ExerciseLoaderConfig {
                 log.info("Exercise autoload disabled.");
                 return;
             }
-            long count = exerciseRepository.count();
-            if (count == 0) {
-                log.info("Exercises collection empty — loading remote JSON.");
-                String json = RestClient.create()
-                        .get()
-                        .uri("https://raw.githubusercontent.com/yuhonas/free-exercise-db/main/dist/exercises.json")
-                        .retrieve()
-                        .body(String.class);
-
-                List<Exercise> list = mapper.readValue(json, new TypeReference<List<Exercise>>() {});
-                exerciseRepository.saveAll(list);
-                log.info("Imported {} exercises", list.size());
-            } else {
-                log.info("Exercises already loaded (count: {})", count);
+            if (!snapshot.exists()) {
+                log.error("Exercise snapshot {} not found; keeping the {} exercises already loaded",
+                        snapshot, exerciseRepository.count());
+                return;
+            }
+            long start = System.nanoTime();
+            try (InputStream in = open(snapshot)) {
+                ExerciseCatalogImporter.Result result = importer.importFrom(in);
+                log.info("Exercise catalog {}: {} exercises read, {} new or changed written in {} ms",
+                        snapshot.getFilename(), result.read(), result.written(), (System.nanoTime() - start) / 1_000_000);
+            } catch (Exception e) {
+                // The previous catalog stays usable; don't fail startup over an import problem
+                log.error("Exercise catalog import from {} failed: {}", snapshot, e.getMessage(), e);
             }
         };
     }
+
+    private static InputStream open(Resource resource) throws IOException {
+        InputStream in = new BufferedInputStream(resource.getInputStream());
+        String name = resource.getFilename();
+        return name != null && name.endsWith(".gz") ? new GZIPInputStream(in) : in;
+    }
 }
@@ -0,0 +1,71 @@
+package com.services.active.dataloader;
+
+import com.services.active.models.Exercise;
+import com.services.active.models.ExerciseRecord;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Snapshots exercise names onto exercise records written before ExerciseRecord.exerciseName existed.
+ * Costs one distinct query, one read of the referenced exercises and one bulk write with an
+ * updateMany per exercise, independent of the number of records. Enabled with
+ * {@code active.migrations.backfill-exercise-names=true}.
+ */
+@Slf4j
+@Component
+@Order(105)
+@RequiredArgsConstructor
+public class ExerciseNameBackfillRunner implements ApplicationRunner {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${active.migrations.backfill-exercise-names:false}")
+    private boolean enabled;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Criteria missingName = Criteria.where("exerciseName").exists(false);
+            List<String> exerciseIds = mongoTemplate.findDistinct(new Query(missingName), "exerciseId", ExerciseRecord.class, String.class);
+            if (exerciseIds.isEmpty()) {
+                log.info("ExerciseNameBackfillRunner: no exercise_record documents required updates");
+                return;
+            }
+
+            Query exercisesQuery = new Query(Criteria.where("_id").in(exerciseIds));
+            exercisesQuery.fields().include("name");
+            List<Exercise> exercises = mongoTemplate.find(exercisesQuery, Exercise.class);
+            if (exercises.isEmpty()) {
+                log.info("ExerciseNameBackfillRunner: none of the {} referenced exercises exist in the catalog", exerciseIds.size());
+                return;
+            }
+
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ExerciseRecord.class);
+            for (Exercise exercise : exercises) {
+                bulk.updateMulti(
+                        new Query(Criteria.where("exerciseId").is(exercise.getId()).and("exerciseName").exists(false)),
+                        new Update().set("exerciseName", exercise.getName()));
+            }
+            int updated = bulk.execute().getModifiedCount();
+            log.info("ExerciseNameBackfillRunner: snapshotted exercise names onto {} exercise_record documents", updated);
+        } catch (Exception e) {
+            // Don't fail app startup because of backfill issues; reads fall back to the catalog
+            log.error("ExerciseNameBackfillRunner failed: {}", e.getMessage(), e);
+        }
+    }
+}
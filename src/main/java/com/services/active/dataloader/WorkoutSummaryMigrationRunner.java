@@ -0,0 +1,123 @@
+package com.services.active.dataloader;
+
+import com.services.active.models.Workout;
+import com.services.active.models.WorkoutRecord;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Replaces the legacy Workout.workoutRecordIds array with the recordCount/lastPerformedAt summary.
+ * The summary is recomputed from workout_records (grouped by workoutId through the workoutId/createdAt index)
+ * rather than from the array, then the array is unset. Workouts are streamed in chunks, each chunk costing one
+ * aggregation and one bulk write; migrated workouts no longer match, so the runner is safe to re-run.
+ * <p>
+ * Enabled with {@code active.migrations.workout-summary=true}, once, like the other migrations; the legacy field
+ * has no index, so the scan is only paid when an operator asks for it. During a rolling deploy new instances
+ * {@code $inc} recordCount while this runs, so each write only applies if the workout still has the legacy array and
+ * its recordCount is the one read before the aggregation. A workout that got a record in between is left for the
+ * next run instead of having that record overwritten.
+ */
+@Slf4j
+@Component
+@Order(120)
+@RequiredArgsConstructor
+public class WorkoutSummaryMigrationRunner implements ApplicationRunner {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${active.migrations.workout-summary:false}")
+    private boolean enabled;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Query legacy = new Query(Criteria.where("workoutRecordIds").exists(true));
+            legacy.fields().include("_id").include("recordCount");
+            legacy.cursorBatchSize(CHUNK_SIZE);
+
+            int migrated = 0;
+            int total = 0;
+            Map<String, Long> chunk = new LinkedHashMap<>();
+            try (Stream<Workout> stream = mongoTemplate.stream(legacy, Workout.class)) {
+                Iterator<Workout> it = stream.iterator();
+                while (it.hasNext()) {
+                    Workout workout = it.next();
+                    chunk.put(workout.getId(), workout.getRecordCount());
+                    if (chunk.size() == CHUNK_SIZE) {
+                        total += chunk.size();
+                        migrated += migrateChunk(chunk);
+                        chunk.clear();
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                total += chunk.size();
+                migrated += migrateChunk(chunk);
+            }
+            if (migrated > 0) {
+                log.info("WorkoutSummaryMigrationRunner: migrated {} workout documents off workoutRecordIds", migrated);
+            }
+            if (migrated < total) {
+                log.info("WorkoutSummaryMigrationRunner: {} workouts changed while migrating; run again to migrate them",
+                        total - migrated);
+            }
+        } catch (Exception e) {
+            // Don't fail app startup because of the migration; unmigrated workouts just report a zero summary
+            log.error("WorkoutSummaryMigrationRunner failed: {}", e.getMessage(), e);
+        }
+    }
+
+    // recordCountById holds the recordCount each workout had before its records were counted
+    private int migrateChunk(Map<String, Long> recordCountById) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("workoutId").in(recordCountById.keySet())),
+                Aggregation.group("workoutId")
+                        .count().as("recordCount")
+                        .max(ConditionalOperators.ifNull("startTime").thenValueOf("createdAt")).as("lastPerformedAt"));
+        Map<String, Document> summaryByWorkout = new HashMap<>();
+        mongoTemplate.aggregate(aggregation, WorkoutRecord.class, Document.class)
+                .forEach(doc -> summaryByWorkout.put(doc.getString("_id"), doc));
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Workout.class);
+        for (Map.Entry<String, Long> workout : recordCountById.entrySet()) {
+            String workoutId = workout.getKey();
+            Document summary = summaryByWorkout.get(workoutId);
+            Update update = new Update().unset("workoutRecordIds");
+            if (summary != null) {
+                update.set("recordCount", summary.get("recordCount", Number.class).longValue())
+                        .set("lastPerformedAt", summary.getDate("lastPerformedAt"));
+            } else {
+                update.set("recordCount", 0L);
+            }
+            // A missing recordCount reads as 0
+            Criteria unchangedCount = workout.getValue() == 0
+                    ? Criteria.where("recordCount").in(0L, null)
+                    : Criteria.where("recordCount").is(workout.getValue());
+            bulk.updateOne(new Query(Criteria.where("_id").is(workoutId)
+                    .and("workoutRecordIds").exists(true)
+                    .andOperator(unchangedCount)), update);
+        }
+        return bulk.execute().getModifiedCount();
+    }
+}
@@ -41,6 +41,41 @@ public final class AchievementCalculator {
         return any ? sum : null;
     }
 
+    public static BestOneRmResult computeBestEstimatedOneRm(int[] reps, double[] weight) {
+        if (reps == null || weight == null) return new BestOneRmResult(null, null);
+        int n = Math.min(reps.length, weight.length);
+        double best = 0.0;
+        int bestIdx = -1;
+        for (int i = 0; i < n; i++) {
+            int r = reps[i];
+            double w = weight[i];
+            // Sets left empty are stored as markers (see PackedArrays); NaN fails every comparison
+            if (r <= 0 || Double.isNaN(w) || w <= 0) continue;
+            // Epley formula: 1RM = w * (1 + r/30)
+            double est = w * (1.0 + (r / 30.0));
+            if (bestIdx < 0 || est > best) {
+                best = est;
+                bestIdx = i;
+            }
+        }
+        return bestIdx < 0 ? new BestOneRmResult(null, null) : new BestOneRmResult(best, bestIdx);
+    }
+
+    public static Double computeTotalVolume(int[] reps, double[] weight) {
+        if (reps == null || weight == null) return null;
+        int n = Math.min(reps.length, weight.length);
+        double sum = 0.0;
+        boolean any = false;
+        for (int i = 0; i < n; i++) {
+            int r = reps[i];
+            double w = weight[i];
+            if (r <= 0 || Double.isNaN(w) || w <= 0) continue;
+            sum += r * w;
+            any = true;
+        }
+        return any ? sum : null;
+    }
+
     public record BestOneRmResult(Double bestOneRm, Integer bestSetIndex) {}
 }
 
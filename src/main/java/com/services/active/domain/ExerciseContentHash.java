@@ -0,0 +1,56 @@
+package com.services.active.domain;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.services.active.models.Exercise;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * Content addressing for the exercise catalog. An exercise's hash is the SHA-256 of its JSON form (field order is
+ * fixed by the class and {@code contentHash} itself is not serialized); a catalog version is the SHA-256 over every
+ * {@code id:hash} pair in id order, so it changes exactly when some exercise is added, changed or removed.
+ */
+public final class ExerciseContentHash {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private ExerciseContentHash() {
+    }
+
+    public static String of(Exercise exercise) {
+        try {
+            return hex(sha256().digest(MAPPER.writeValueAsBytes(exercise)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize exercise " + exercise.getId(), e);
+        }
+    }
+
+    public static String version(SortedMap<String, String> hashesById) {
+        MessageDigest digest = sha256();
+        for (Map.Entry<String, String> entry : hashesById.entrySet()) {
+            digest.update(entry.getKey().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ':');
+            digest.update(entry.getValue().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+        }
+        return hex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        return HexFormat.of().formatHex(bytes);
+    }
+}
@@ -0,0 +1,271 @@
+package com.services.active.domain;
+
+import com.services.active.models.Exercise;
+import com.services.active.models.types.Category;
+import com.services.active.models.types.Equipment;
+import com.services.active.models.types.Level;
+import com.services.active.models.types.MuscleGroup;
+
+import java.util.*;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable search structure over a fixed list of exercises, answering the same questions as the exercise search
+ * query without touching the database.
+ * <p>
+ * Every exercise gets a position in the list; each {@link Category}, {@link Level}, {@link Equipment} and (primary
+ * or secondary) {@link MuscleGroup} value owns a bitset of the positions that carry it, stored as {@code long[]}
+ * words. A filter combination is a bitwise AND of those sets. Names are split into lowercase alphanumeric tokens,
+ * each with its own bitset; a name query ORs the sets of every token containing each query token, ANDs those, and
+ * only the survivors are checked against the full lowercase name. The result is the same case-insensitive
+ * substring match as before, in list order, but the name query is taken literally rather than as a regex.
+ * <p>
+ * For each {@link SortField} and direction the positions are also kept pre-sorted, so a sorted page walks that
+ * order and tests membership in the result bitset, stopping once the page is full: no comparisons at query time.
+ * Only the sort field itself is reversed for a descending sort; ties are still broken by name, then id, ascending,
+ * and exercises without a value for the field come last either way.
+ */
+public final class ExerciseSearchIndex {
+
+    public static final ExerciseSearchIndex EMPTY = new ExerciseSearchIndex(List.of());
+
+    public record Query(String name, Category category, Level level, Collection<MuscleGroup> primaryMuscles,
+                        Collection<MuscleGroup> secondaryMuscles, Equipment equipment) {}
+
+    // Enum-valued fields sort in declaration order (e.g. level goes beginner to expert), missing values after the rest
+    public enum SortField { NAME, CATEGORY, LEVEL, EQUIPMENT }
+
+    public record Page(int total, List<Exercise> exercises) {}
+
+    private final List<Exercise> exercises;
+    private final int words;
+    private final long[] all;
+    private final long[][] byCategory;
+    private final long[][] byLevel;
+    private final long[][] byEquipment;
+    private final long[][] byPrimaryMuscle;
+    private final long[][] bySecondaryMuscle;
+    private final String[] lowerNames;
+    private final String[] tokens;
+    private final long[][] byToken;
+    private final int[][] ascendingOrders;
+    private final int[][] descendingOrders;
+
+    public ExerciseSearchIndex(List<Exercise> exercises) {
+        this.exercises = List.copyOf(exercises);
+        int size = this.exercises.size();
+        this.words = (size + 63) >>> 6;
+        this.all = new long[words];
+        this.byCategory = new long[Category.values().length][words];
+        this.byLevel = new long[Level.values().length][words];
+        this.byEquipment = new long[Equipment.values().length][words];
+        this.byPrimaryMuscle = new long[MuscleGroup.values().length][words];
+        this.bySecondaryMuscle = new long[MuscleGroup.values().length][words];
+        this.lowerNames = new String[size];
+
+        Map<String, long[]> tokenSets = new TreeMap<>();
+        for (int i = 0; i < size; i++) {
+            Exercise exercise = this.exercises.get(i);
+            set(all, i);
+            if (exercise.getCategory() != null) {
+                set(byCategory[exercise.getCategory().ordinal()], i);
+            }
+            if (exercise.getLevel() != null) {
+                set(byLevel[exercise.getLevel().ordinal()], i);
+            }
+            if (exercise.getEquipment() != null) {
+                set(byEquipment[exercise.getEquipment().ordinal()], i);
+            }
+            setMuscles(bySecondaryMuscle, exercise.getSecondaryMuscles(), i);
+            setMuscles(byPrimaryMuscle, exercise.getPrimaryMuscles(), i);
+
+            String lowerName = exercise.getName() != null ? exercise.getName().toLowerCase(Locale.ROOT) : "";
+            lowerNames[i] = lowerName;
+            for (String token : tokenize(lowerName)) {
+                set(tokenSets.computeIfAbsent(token, t -> new long[words]), i);
+            }
+        }
+        this.tokens = tokenSets.keySet().toArray(new String[0]);
+        this.byToken = tokenSets.values().toArray(new long[0][]);
+
+        this.ascendingOrders = new int[SortField.values().length][];
+        this.descendingOrders = new int[SortField.values().length][];
+        for (SortField field : SortField.values()) {
+            ascendingOrders[field.ordinal()] = sortOrder(field, false);
+            descendingOrders[field.ordinal()] = sortOrder(field, true);
+        }
+    }
+
+    private int[] sortOrder(SortField field, boolean descending) {
+        Comparator<Integer> name = Comparator.comparing(i -> lowerNames[i]);
+        Comparator<Integer> id = Comparator.<Integer, String>comparing(i -> exercises.get(i).getId(),
+                        Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparingInt(i -> i);
+        Comparator<Integer> byName = name.thenComparing(id);
+        Comparator<Integer> order = switch (field) {
+            case NAME -> descending ? name.reversed().thenComparing(id) : byName;
+            case CATEGORY -> byEnum(i -> exercises.get(i).getCategory(), descending).thenComparing(byName);
+            case LEVEL -> byEnum(i -> exercises.get(i).getLevel(), descending).thenComparing(byName);
+            case EQUIPMENT -> byEnum(i -> exercises.get(i).getEquipment(), descending).thenComparing(byName);
+        };
+        return IntStream.range(0, exercises.size()).boxed().sorted(order).mapToInt(Integer::intValue).toArray();
+    }
+
+    private static Comparator<Integer> byEnum(IntFunction<Enum<?>> value, boolean descending) {
+        return Comparator.comparingInt(i -> {
+            Enum<?> e = value.apply(i);
+            if (e == null) {
+                return Integer.MAX_VALUE;
+            }
+            return descending ? -e.ordinal() : e.ordinal();
+        });
+    }
+
+    public int size() {
+        return exercises.size();
+    }
+
+    /**
+     * Exercises matching every given filter; null or empty filters are ignored. Muscle lists require all the given
+     * muscles (AND), and {@code name} is a case-insensitive substring of the exercise name.
+     */
+    public List<Exercise> search(String name, Category category, Level level,
+                                 Collection<MuscleGroup> primaryMuscles, Collection<MuscleGroup> secondaryMuscles,
+                                 Equipment equipment) {
+        return search(new Query(name, category, level, primaryMuscles, secondaryMuscles, equipment),
+                null, false, 0, Integer.MAX_VALUE).exercises();
+    }
+
+    /**
+     * One page of the matches: {@code limit} exercises after skipping {@code offset}, in catalog order when
+     * {@code sort} is null. {@link Page#total()} counts every match.
+     */
+    public Page search(Query query, SortField sort, boolean descending, int offset, int limit) {
+        long[] result = match(query);
+        int total = 0;
+        for (long word : result) {
+            total += Long.bitCount(word);
+        }
+
+        List<Exercise> matches = new ArrayList<>(Math.max(0, Math.min(limit, total - offset)));
+        int skipped = 0;
+        if (sort == null) {
+            for (int w = 0; w < words && matches.size() < limit; w++) {
+                long word = result[w];
+                while (word != 0 && matches.size() < limit) {
+                    int position = (w << 6) + Long.numberOfTrailingZeros(word);
+                    if (skipped++ >= offset) {
+                        matches.add(exercises.get(position));
+                    }
+                    word &= word - 1;
+                }
+            }
+        } else {
+            int[] order = descending ? descendingOrders[sort.ordinal()] : ascendingOrders[sort.ordinal()];
+            for (int k = 0; k < order.length && matches.size() < limit; k++) {
+                int position = order[k];
+                if ((result[position >>> 6] & (1L << position)) != 0 && skipped++ >= offset) {
+                    matches.add(exercises.get(position));
+                }
+            }
+        }
+        return new Page(total, matches);
+    }
+
+    private long[] match(Query query) {
+        long[] result = all.clone();
+        if (query.category() != null) {
+            and(result, byCategory[query.category().ordinal()]);
+        }
+        if (query.level() != null) {
+            and(result, byLevel[query.level().ordinal()]);
+        }
+        if (query.equipment() != null) {
+            and(result, byEquipment[query.equipment().ordinal()]);
+        }
+        andMuscles(result, byPrimaryMuscle, query.primaryMuscles());
+        andMuscles(result, bySecondaryMuscle, query.secondaryMuscles());
+        if (query.name() != null && !query.name().trim().isEmpty()) {
+            matchName(result, query.name().toLowerCase(Locale.ROOT));
+        }
+        return result;
+    }
+
+    private void matchName(long[] result, String needle) {
+        // Each alphanumeric run of the needle lies inside one token of any name containing it, so the token sets
+        // narrow the candidates without losing matches; the substring check below makes the answer exact
+        for (String part : tokenize(needle)) {
+            long[] candidates = new long[words];
+            for (int t = 0; t < tokens.length; t++) {
+                if (tokens[t].contains(part)) {
+                    or(candidates, byToken[t]);
+                }
+            }
+            and(result, candidates);
+        }
+        for (int w = 0; w < words; w++) {
+            long word = result[w];
+            while (word != 0) {
+                int bit = Long.numberOfTrailingZeros(word);
+                if (!lowerNames[(w << 6) + bit].contains(needle)) {
+                    result[w] &= ~(1L << bit);
+                }
+                word &= word - 1;
+            }
+        }
+    }
+
+    private void andMuscles(long[] result, long[][] byMuscle, Collection<MuscleGroup> muscles) {
+        if (muscles == null) {
+            return;
+        }
+        for (MuscleGroup muscle : muscles) {
+            if (muscle != null) {
+                and(result, byMuscle[muscle.ordinal()]);
+            }
+        }
+    }
+
+    private static void setMuscles(long[][] byMuscle, List<MuscleGroup> muscles, int position) {
+        if (muscles == null) {
+            return;
+        }
+        for (MuscleGroup muscle : muscles) {
+            if (muscle != null) {
+                set(byMuscle[muscle.ordinal()], position);
+            }
+        }
+    }
+
+    static List<String> tokenize(String lower) {
+        List<String> parts = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean alnum = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (alnum && start < 0) {
+                start = i;
+            } else if (!alnum && start >= 0) {
+                parts.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return parts;
+    }
+
+    private static void set(long[] bits, int position) {
+        bits[position >>> 6] |= 1L << position;
+    }
+
+    private static void and(long[] target, long[] other) {
+        for (int w = 0; w < target.length; w++) {
+            target[w] &= other[w];
+        }
+    }
+
+    private static void or(long[] target, long[] other) {
+        for (int w = 0; w < target.length; w++) {
+            target[w] |= other[w];
+        }
+    }
+}
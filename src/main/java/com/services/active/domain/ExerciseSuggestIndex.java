@@ -0,0 +1,208 @@
+package com.services.active.domain;
+
+import com.services.active.models.Exercise;
+
+import java.util.*;
+
+/**
+ * Immutable typo-tolerant autocomplete over exercise names, for the picker's per-keystroke lookups.
+ * <p>
+ * Names are split into lowercase alphanumeric tokens. The distinct tokens are kept sorted, so every token
+ * starting with a given prefix is one contiguous range found by binary search (the flattened equivalent of a
+ * prefix trie), and each token lists the exercises that contain it. For typos, every token is also indexed by its
+ * boundary-padded trigrams; a query token gathers the vocabulary tokens sharing enough trigrams with it and keeps
+ * those within a few edits (Levenshtein) of either the whole token or a prefix of it.
+ * <p>
+ * Every query token must match some token of the name. Per query token the cheapest match counts:
+ * exact 0, prefix 1, {@code 2 * edits} for a fuzzy whole-token match, plus 1 when it only matched a prefix.
+ * Suggestions are ordered by total cost, then names starting with the query, then shorter names.
+ */
+public final class ExerciseSuggestIndex {
+
+    public static final ExerciseSuggestIndex EMPTY = new ExerciseSuggestIndex(List.of());
+
+    private static final int EXACT = 0;
+    private static final int PREFIX = 1;
+    private static final int NO_MATCH = Integer.MAX_VALUE;
+
+    private final List<Exercise> exercises;
+    private final String[] lowerNames;
+    private final String[] tokens;
+    private final int[][] postings;
+    private final Map<String, int[]> tokensByTrigram;
+
+    public ExerciseSuggestIndex(List<Exercise> exercises) {
+        this.exercises = List.copyOf(exercises);
+        this.lowerNames = new String[this.exercises.size()];
+        TreeMap<String, List<Integer>> byToken = new TreeMap<>();
+        for (int i = 0; i < this.exercises.size(); i++) {
+            String name = this.exercises.get(i).getName();
+            lowerNames[i] = name != null ? name.toLowerCase(Locale.ROOT) : "";
+            for (String token : new LinkedHashSet<>(ExerciseSearchIndex.tokenize(lowerNames[i]))) {
+                byToken.computeIfAbsent(token, t -> new ArrayList<>()).add(i);
+            }
+        }
+        this.tokens = byToken.keySet().toArray(new String[0]);
+        this.postings = new int[tokens.length][];
+        Map<String, List<Integer>> trigrams = new HashMap<>();
+        int t = 0;
+        for (List<Integer> positions : byToken.values()) {
+            postings[t] = positions.stream().mapToInt(Integer::intValue).toArray();
+            for (String trigram : new LinkedHashSet<>(trigrams(tokens[t]))) {
+                trigrams.computeIfAbsent(trigram, g -> new ArrayList<>()).add(t);
+            }
+            t++;
+        }
+        Map<String, int[]> index = new HashMap<>();
+        trigrams.forEach((trigram, ids) -> index.put(trigram, ids.stream().mapToInt(Integer::intValue).toArray()));
+        this.tokensByTrigram = index;
+    }
+
+    /**
+     * Up to {@code limit} exercises for the (partial, possibly misspelled) query, best first; empty when the query
+     * has no letters or digits.
+     */
+    public List<Exercise> suggest(String query, int limit) {
+        String lowerQuery = query != null ? query.toLowerCase(Locale.ROOT).trim() : "";
+        List<String> queryTokens = ExerciseSearchIndex.tokenize(lowerQuery);
+        if (queryTokens.isEmpty() || exercises.isEmpty()) {
+            return List.of();
+        }
+
+        int[] total = new int[exercises.size()];
+        int[] best = new int[exercises.size()];
+        for (String queryToken : queryTokens) {
+            Arrays.fill(best, NO_MATCH);
+            for (Map.Entry<Integer, Integer> match : matchTokens(queryToken).entrySet()) {
+                int cost = match.getValue();
+                for (int position : postings[match.getKey()]) {
+                    if (cost < best[position]) {
+                        best[position] = cost;
+                    }
+                }
+            }
+            for (int i = 0; i < total.length; i++) {
+                total[i] = total[i] == NO_MATCH || best[i] == NO_MATCH ? NO_MATCH : total[i] + best[i];
+            }
+        }
+
+        // Only the best `limit` are needed: keep them in a bounded heap whose head is the worst one kept
+        Comparator<Integer> ranking = Comparator.<Integer>comparingInt(i -> total[i])
+                .thenComparing(i -> !lowerNames[i].startsWith(lowerQuery))
+                .thenComparingInt(i -> lowerNames[i].length())
+                .thenComparing(i -> lowerNames[i]);
+        PriorityQueue<Integer> top = new PriorityQueue<>(limit + 1, ranking.reversed());
+        for (int i = 0; i < total.length; i++) {
+            if (total[i] == NO_MATCH) {
+                continue;
+            }
+            if (top.size() < limit) {
+                top.add(i);
+            } else if (ranking.compare(i, top.peek()) < 0) {
+                top.poll();
+                top.add(i);
+            }
+        }
+        List<Exercise> suggestions = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            suggestions.add(exercises.get(top.poll()));
+        }
+        Collections.reverse(suggestions);
+        return suggestions;
+    }
+
+    // Vocabulary token id -> cheapest cost at which it matches the query token
+    private Map<Integer, Integer> matchTokens(String queryToken) {
+        Map<Integer, Integer> matches = new HashMap<>();
+        int from = lowerBound(queryToken);
+        for (int t = from; t < tokens.length && tokens[t].startsWith(queryToken); t++) {
+            matches.put(t, tokens[t].length() == queryToken.length() ? EXACT : PREFIX);
+        }
+
+        int maxEdits = maxEdits(queryToken.length());
+        if (maxEdits == 0) {
+            return matches;
+        }
+        List<String> queryTrigrams = trigrams(queryToken);
+        // Each edit breaks at most three trigrams, and a prefix match loses the closing one
+        int minShared = Math.max(1, queryTrigrams.size() - 3 * maxEdits - 1);
+        Map<Integer, Integer> shared = new HashMap<>();
+        for (String trigram : new LinkedHashSet<>(queryTrigrams)) {
+            for (int t : tokensByTrigram.getOrDefault(trigram, new int[0])) {
+                shared.merge(t, 1, Integer::sum);
+            }
+        }
+        shared.forEach((t, count) -> {
+            if (count < minShared || matches.containsKey(t)) {
+                return;
+            }
+            int cost = fuzzyCost(queryToken, tokens[t], maxEdits);
+            if (cost != NO_MATCH) {
+                matches.put(t, cost);
+            }
+        });
+        return matches;
+    }
+
+    private int lowerBound(String prefix) {
+        int low = 0;
+        int high = tokens.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (tokens[mid].compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    static int maxEdits(int length) {
+        return length < 4 ? 0 : length < 7 ? 1 : 2;
+    }
+
+    // Levenshtein distance to the whole token and to its closest prefix, from one DP table
+    static int fuzzyCost(String query, String token, int maxEdits) {
+        int m = query.length();
+        int n = Math.min(token.length(), m + maxEdits);
+        int[] previous = new int[n + 1];
+        int[] current = new int[n + 1];
+        for (int j = 0; j <= n; j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= m; i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= n; j++) {
+                int substitution = previous[j - 1] + (query.charAt(i - 1) == token.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxEdits) {
+                return NO_MATCH;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        int prefixDistance = NO_MATCH;
+        for (int j = 0; j <= n; j++) {
+            prefixDistance = Math.min(prefixDistance, previous[j]);
+        }
+        int wholeDistance = n == token.length() ? previous[n] : NO_MATCH;
+        if (wholeDistance <= maxEdits && 2 * wholeDistance <= 2 * prefixDistance + 1) {
+            return 2 * wholeDistance;
+        }
+        return prefixDistance <= maxEdits ? 2 * prefixDistance + 1 : NO_MATCH;
+    }
+
+    static List<String> trigrams(String token) {
+        String padded = "$" + token + "$";
+        List<String> trigrams = new ArrayList<>(padded.length() - 2);
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+}
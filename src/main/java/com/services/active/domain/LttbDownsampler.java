@@ -0,0 +1,160 @@
+package com.services.active.domain;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Largest-Triangle-Three-Buckets downsampling fed one point at a time, in ascending x order.
+ * <p>
+ * The first and last points are always kept; the points in between are split into {@code threshold - 2} buckets
+ * of (almost) equal count, and from each bucket the point forming the largest triangle with the previously kept
+ * point and the average of the next bucket is kept. Choosing a point only needs the next bucket, so at most two
+ * buckets are buffered and memory stays O(total / threshold) however long the input is.
+ * <p>
+ * {@code expectedTotal} fixes the bucket boundaries up front. It may be an estimate (e.g. a count taken just
+ * before the points are streamed): surplus points fall into the last bucket and a shortfall just leaves the
+ * tail buckets empty. When the input fits within the threshold every point is returned unchanged.
+ * Not thread-safe.
+ */
+public final class LttbDownsampler {
+
+    public record Point(long x, double y) {}
+
+    private final long expectedTotal;
+    private final int threshold;
+    private final boolean passThrough;
+    private final List<Point> selected = new ArrayList<>();
+
+    private long index;
+    private Point lastSelected;
+    private Bucket current;
+    private Bucket next;
+
+    public LttbDownsampler(long expectedTotal, int threshold) {
+        if (threshold < 3) {
+            throw new IllegalArgumentException("threshold must be at least 3");
+        }
+        this.expectedTotal = expectedTotal;
+        this.threshold = threshold;
+        this.passThrough = expectedTotal <= threshold;
+    }
+
+    public void add(long x, double y) {
+        long i = index++;
+        if (passThrough || i == 0) {
+            keep(new Point(x, y));
+            return;
+        }
+        int bucket = bucketOf(i);
+        if (current == null) {
+            current = new Bucket(bucket);
+            current.add(x, y);
+        } else if (bucket == current.index) {
+            current.add(x, y);
+        } else if (next == null || bucket == next.index) {
+            if (next == null) {
+                next = new Bucket(bucket);
+            }
+            next.add(x, y);
+        } else {
+            keep(current.largestTriangle(lastSelected, next.averageX(), next.averageY()));
+            current = next;
+            next = new Bucket(bucket);
+            next.add(x, y);
+        }
+    }
+
+    /**
+     * Flushes the buffered buckets and returns the kept points in x order.
+     */
+    public List<Point> finish() {
+        if (current != null) {
+            if (next != null) {
+                keep(current.largestTriangle(lastSelected, next.averageX(), next.averageY()));
+                keep(next.last());
+            } else {
+                keep(current.last());
+            }
+            current = null;
+            next = null;
+        }
+        return selected;
+    }
+
+    private void keep(Point point) {
+        selected.add(point);
+        lastSelected = point;
+    }
+
+    // Bucket a covers indexes [1 + a * (n - 2) / (t - 2), 1 + (a + 1) * (n - 2) / (t - 2)); bucket t - 2 is the last point
+    private int bucketOf(long i) {
+        int last = threshold - 2;
+        if (i >= expectedTotal - 1) {
+            return last;
+        }
+        long bucket = (i - 1) * last / (expectedTotal - 2);
+        while (bucket > 0 && start(bucket) > i) {
+            bucket--;
+        }
+        while (bucket < last && start(bucket + 1) <= i) {
+            bucket++;
+        }
+        return (int) bucket;
+    }
+
+    private long start(long bucket) {
+        return 1 + bucket * (expectedTotal - 2) / (threshold - 2);
+    }
+
+    private static final class Bucket {
+        final int index;
+        long[] xs = new long[8];
+        double[] ys = new double[8];
+        int size;
+        double sumX;
+        double sumY;
+
+        Bucket(int index) {
+            this.index = index;
+        }
+
+        void add(long x, double y) {
+            if (size == xs.length) {
+                xs = Arrays.copyOf(xs, size * 2);
+                ys = Arrays.copyOf(ys, size * 2);
+            }
+            xs[size] = x;
+            ys[size] = y;
+            size++;
+            sumX += x;
+            sumY += y;
+        }
+
+        double averageX() {
+            return sumX / size;
+        }
+
+        double averageY() {
+            return sumY / size;
+        }
+
+        Point last() {
+            return new Point(xs[size - 1], ys[size - 1]);
+        }
+
+        Point largestTriangle(Point a, double cx, double cy) {
+            int best = 0;
+            double bestArea = -1;
+            for (int i = 0; i < size; i++) {
+                // Twice the triangle area; the constant factor does not change the argmax
+                double area = Math.abs((a.x() - cx) * (ys[i] - a.y()) - (a.x() - xs[i]) * (cy - a.y()));
+                if (area > bestArea) {
+                    bestArea = area;
+                    best = i;
+                }
+            }
+            return new Point(xs[best], ys[best]);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.services.active.dto;
+
+import com.services.active.models.Exercise;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExerciseCatalogDelta {
+    // Catalog version the client holds after applying this response; send it back as ?since=
+    private String version;
+    // True when the client's version was unknown (or absent): added holds the whole catalog, replace the local copy
+    private boolean full;
+    private List<Exercise> added;
+    private List<Exercise> changed;
+    private List<String> removed;
+}
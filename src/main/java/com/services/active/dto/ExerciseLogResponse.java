@@ -1,12 +1,14 @@
 package com.services.active.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.services.active.models.converters.NullableDoubleArraySerializer;
+import com.services.active.models.converters.NullableIntArraySerializer;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
 @Data
 @Builder
@@ -19,11 +21,14 @@ public class ExerciseLogResponse {
     private LocalDateTime createdAt;
     
     // Strength training fields
-    private List<Integer> reps;
-    private List<Double> weight;
+    @JsonSerialize(using = NullableIntArraySerializer.class)
+    private int[] reps;
+    @JsonSerialize(using = NullableDoubleArraySerializer.class)
+    private double[] weight;
     
     // Cardio/Time-based fields
-    private List<Integer> durationSeconds;
+    @JsonSerialize(using = NullableIntArraySerializer.class)
+    private int[] durationSeconds;
     
     // Common fields
     private String notes;
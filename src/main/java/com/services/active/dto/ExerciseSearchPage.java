@@ -0,0 +1,19 @@
+package com.services.active.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExerciseSearchPage {
+    // Matches across all pages
+    private int total;
+    // Full Exercise documents, or maps holding only the requested fields
+    private List<?> exercises;
+}
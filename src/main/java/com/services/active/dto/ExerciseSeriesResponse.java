@@ -0,0 +1,36 @@
+package com.services.active.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExerciseSeriesResponse {
+    private String exerciseId;
+    private String exerciseName;
+    // Requested window, both inclusive; null when open-ended
+    private LocalDate from;
+    private LocalDate to;
+    // Records in the window before downsampling
+    private long totalRecords;
+
+    // Oldest first, at most the requested number of points each
+    private List<Point> estimatedOneRm; // best Epley estimate per record, in kg
+    private List<Point> volume; // sum of reps * weight per record, in kg
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Point {
+        private LocalDateTime date;
+        private double value;
+    }
+}
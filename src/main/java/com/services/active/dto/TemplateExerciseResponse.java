@@ -15,9 +15,9 @@ import java.util.List;
 @AllArgsConstructor
 public class TemplateExerciseResponse {
     private String exerciseId;
-    private List<Integer> reps;
-    private List<Double> weight;
-    private List<Integer> durationSeconds;
+    private int[] reps;
+    private double[] weight;
+    private int[] durationSeconds;
     private String notes;
     private Category category;
     private List<MuscleGroup> primaryMuscles;
@@ -1,5 +1,8 @@
 package com.services.active.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.services.active.models.converters.NullableDoubleArraySerializer;
+import com.services.active.models.converters.NullableIntArraySerializer;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -28,10 +31,13 @@ public class UserWorkoutRecordsResponse {
     public static class ExerciseRecordResponse {
         private String exerciseName;
 
-        private List<Integer> reps;
-        private List<Double> weight;
+        @JsonSerialize(using = NullableIntArraySerializer.class)
+        private int[] reps;
+        @JsonSerialize(using = NullableDoubleArraySerializer.class)
+        private double[] weight;
 
-        private List<Integer> durationSeconds;
+        @JsonSerialize(using = NullableIntArraySerializer.class)
+        private int[] durationSeconds;
 
         private String notes;
 
@@ -14,6 +14,8 @@ public class UserWorkoutResponse {
     private String notes;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private long recordCount;
+    private LocalDateTime lastPerformedAt;
     private WorkoutTemplateResponse workoutTemplate;
 
     public static UserWorkoutResponse from(Workout workout, WorkoutTemplateResponse template) {
@@ -23,6 +25,21 @@ public class UserWorkoutResponse {
                 .notes(workout.getNotes())
                 .createdAt(workout.getCreatedAt())
                 .updatedAt(workout.getUpdatedAt())
+                .recordCount(workout.getRecordCount())
+                .lastPerformedAt(workout.getLastPerformedAt())
+                .workoutTemplate(template)
+                .build();
+    }
+
+    public static UserWorkoutResponse from(WorkoutWithTemplate workout, WorkoutTemplateResponse template) {
+        return UserWorkoutResponse.builder()
+                .id(workout.getId())
+                .title(workout.getTitle())
+                .notes(workout.getNotes())
+                .createdAt(workout.getCreatedAt())
+                .updatedAt(workout.getUpdatedAt())
+                .recordCount(workout.getRecordCount())
+                .lastPerformedAt(workout.getLastPerformedAt())
                 .workoutTemplate(template)
                 .build();
     }
@@ -0,0 +1,24 @@
+package com.services.active.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Workout records recorded offline and uploaded together")
+public class WorkoutRecordBatchRequest {
+    @NotEmpty(message = "At least one workout record is required")
+    @Size(max = 100, message = "At most 100 workout records can be uploaded at once")
+    @Schema(description = "Workout records; they are applied in startTime order regardless of their position")
+    private List<@Valid WorkoutRecordRequest> records;
+}
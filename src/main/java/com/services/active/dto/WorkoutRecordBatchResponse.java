@@ -0,0 +1,17 @@
+package com.services.active.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkoutRecordBatchResponse {
+    // Same order as the request; each streakUpdate is the state right after that record was replayed
+    private List<WorkoutRecordCreateResponse> workoutRecords;
+}
@@ -0,0 +1,19 @@
+package com.services.active.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkoutRecordPage {
+    // Most recent first
+    private List<UserWorkoutRecordsResponse> workoutRecords;
+    // Opaque token for the next (older) page; null on the last page
+    private String nextCursor;
+}
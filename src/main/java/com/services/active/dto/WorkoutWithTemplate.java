@@ -15,7 +15,10 @@ public class WorkoutWithTemplate {
     private String notes;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
-    private WorkoutTemplate workoutTemplate;
+    private long recordCount;
+    private LocalDateTime lastPerformedAt;
+    private String templateId;
+    private WorkoutTemplate workoutTemplate; // null when the referenced template does not exist
 
     public static WorkoutWithTemplate createFromWorkoutAndTemplate(Workout workout, WorkoutTemplate template) {
         return WorkoutWithTemplate.builder()
@@ -24,6 +27,9 @@ public class WorkoutWithTemplate {
                 .notes(workout.getNotes())
                 .createdAt(workout.getCreatedAt())
                 .updatedAt(workout.getUpdatedAt())
+                .recordCount(workout.getRecordCount())
+                .lastPerformedAt(workout.getLastPerformedAt())
+                .templateId(workout.getTemplateId())
                 .workoutTemplate(template)
                 .build();
     }
@@ -0,0 +1,29 @@
+package com.services.active.exceptions;
+
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Raised when an unordered bulk insert only partially succeeded.
+ * Carries the ids that were written and the per-index failures so callers can compensate.
+ */
+public class BulkInsertException extends ApiException {
+    private final List<String> writtenIds;
+    private final Map<Integer, String> failures;
+
+    public BulkInsertException(String message, List<String> writtenIds, Map<Integer, String> failures) {
+        super(HttpStatus.INTERNAL_SERVER_ERROR, message);
+        this.writtenIds = List.copyOf(writtenIds);
+        this.failures = Map.copyOf(failures);
+    }
+
+    public List<String> getWrittenIds() {
+        return writtenIds;
+    }
+
+    public Map<Integer, String> getFailures() {
+        return failures;
+    }
+}
@@ -1,6 +1,7 @@
 package com.services.active.models;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.services.active.models.types.*;
 import lombok.AllArgsConstructor;
@@ -37,4 +38,8 @@ public class Exercise {
     private List<String> instructions;
 
     private Category category;
+
+    // SHA-256 of the imported content, used to skip unchanged exercises on re-import
+    @JsonIgnore
+    private String contentHash;
 }
\ No newline at end of file
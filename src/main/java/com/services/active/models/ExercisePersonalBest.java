@@ -24,8 +24,7 @@ public class ExercisePersonalBest {
     @Id
     private String id;
 
-    @Indexed
-    private String userId;
+    private String userId; // queried through user_exercise_unique
 
     @Indexed
     private String exerciseId;
@@ -1,39 +1,53 @@
 package com.services.active.models;
 
+import com.services.active.models.converters.PackedDoubleArrayConverter;
+import com.services.active.models.converters.PackedIntArrayConverter;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.data.convert.ValueConverter;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "exercise_records")
+@CompoundIndex(name = ExerciseRecord.USER_EXERCISE_HISTORY_INDEX, def = "{'userId': 1, 'exerciseId': 1, 'createdAt': 1}")
+@CompoundIndex(name = ExerciseRecord.USER_CREATED_INDEX, def = "{'userId': 1, 'createdAt': 1}")
 public class ExerciseRecord {
+    public static final String USER_EXERCISE_HISTORY_INDEX = "userId_exerciseId_createdAt";
+    // All of a user's records in order (achievement backfill)
+    public static final String USER_CREATED_INDEX = "userId_createdAt";
+
     @Id
     private String id;
     
-    @Indexed
-    private String userId;
+    private String userId; // queried through USER_EXERCISE_HISTORY_INDEX
 
     @Indexed
     private String exerciseId;
 
+    // Snapshot of the exercise name at the time of recording (like WorkoutRecord.workoutTitle)
+    private String exerciseName;
+
     private LocalDateTime createdAt;
     
-    // Strength training fields
-    private List<Integer> reps;
-    private List<Double> weight;
+    // Strength training fields, one value per set (stored packed, see PackedArrays)
+    @ValueConverter(PackedIntArrayConverter.class)
+    private int[] reps;
+    @ValueConverter(PackedDoubleArrayConverter.class)
+    private double[] weight;
 
     // Cardio/Time-based fields
-    private List<Integer> durationSeconds;
+    @ValueConverter(PackedIntArrayConverter.class)
+    private int[] durationSeconds;
 
     // Common fields
     private String notes;
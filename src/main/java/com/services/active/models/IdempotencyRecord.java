@@ -0,0 +1,37 @@
+package com.services.active.models;
+
+import com.services.active.models.types.IdempotencyStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "idempotency_keys")
+public class IdempotencyRecord {
+    // "<workosId>:<Idempotency-Key>"; the _id index settles concurrent duplicates
+    @Id
+    private String id;
+
+    private IdempotencyStatus status;
+
+    // SHA-256 of the request body; a retry must send the same request
+    private String requestHash;
+
+    // Until when an IN_PROGRESS claim is held; after that a retry may take the key over
+    private LocalDateTime leaseExpiresAt;
+
+    // Serialized response replayed for retries of a completed request; null when it could not be serialized
+    private String responseJson;
+
+    @Indexed(name = "idempotency_ttl", expireAfter = "24h")
+    private LocalDateTime createdAt;
+}
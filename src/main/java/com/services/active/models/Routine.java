@@ -6,6 +6,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.Instant;
@@ -13,11 +14,14 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @Document
+@CompoundIndex(name = Routine.USER_CREATED_INDEX, def = "{'userId': 1, 'createdAt': -1}")
 public class Routine {
+    public static final String USER_CREATED_INDEX = "userId_createdAt";
+
     @Id
     private String id;
     private String name;
@@ -1,11 +1,12 @@
 package com.services.active.models;
 
+import com.services.active.models.converters.PackedDoubleArrayConverter;
+import com.services.active.models.converters.PackedIntArrayConverter;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-
-import java.util.List;
+import org.springframework.data.convert.ValueConverter;
 
 @Data
 @Builder
@@ -14,12 +15,15 @@ import java.util.List;
 public class TemplateExercise {
     private String exerciseId;
 
-    // Strength training fields
-    private List<Integer> reps;
-    private List<Double> weight;
+    // Strength training fields, one value per set (stored packed, see PackedArrays)
+    @ValueConverter(PackedIntArrayConverter.class)
+    private int[] reps;
+    @ValueConverter(PackedDoubleArrayConverter.class)
+    private double[] weight;
 
     // Cardio/Time-based fields
-    private List<Integer> durationSeconds;
+    @ValueConverter(PackedIntArrayConverter.class)
+    private int[] durationSeconds;
 
     // Common fields
     private String notes;
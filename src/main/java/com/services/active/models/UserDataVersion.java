@@ -0,0 +1,26 @@
+package com.services.active.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "user_data_versions")
+public class UserDataVersion {
+    // The user's workosId, so conditional requests can be answered from the principal without loading the user
+    @Id
+    private String id;
+
+    // Incremented by every write to the user's data; never reset, not even on account deletion
+    private long version;
+
+    private LocalDateTime updatedAt;
+}
@@ -9,7 +9,6 @@ import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
 @Data
 @Builder
@@ -28,8 +27,9 @@ public class Workout {
 
     private LocalDateTime updatedAt;
 
-
-    private List<String> workoutRecordIds; // References to WorkoutRecord documents
+    // Summary of the WorkoutRecord documents pointing here (WorkoutRecord.workoutId is the source of truth)
+    private long recordCount;
+    private LocalDateTime lastPerformedAt;
 
     @Indexed
     private String userId;
@@ -1,11 +1,14 @@
 package com.services.active.models;
 
+import com.services.active.models.converters.PackedDoubleArrayConverter;
+import com.services.active.models.converters.PackedIntArrayConverter;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
-import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.convert.ValueConverter;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -16,20 +19,46 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "workout_records")
+@CompoundIndex(name = WorkoutRecord.WORKOUT_CREATED_INDEX, def = "{'workoutId': 1, 'createdAt': 1}")
+@CompoundIndex(name = WorkoutRecord.USER_HISTORY_INDEX, def = "{'userId': 1, 'createdAt': -1, '_id': -1}")
 public class WorkoutRecord {
+    public static final String WORKOUT_CREATED_INDEX = "workoutId_createdAt";
+    public static final String USER_HISTORY_INDEX = "userId_createdAt_id";
+
     @Id
     private String id;
 
-    @Indexed
-    private String userId;
+    private String userId; // queried through USER_HISTORY_INDEX
 
-    private String workoutId;
+    private String workoutId; // Back-reference to the Workout; indexed with createdAt
     private String workoutTitle;
 
     private String notes;
 
     private List<String> exerciseRecordIds; // References to ExerciseRecord documents
 
+    // Embedded copy of the exercise records (write-through); absent on records not yet migrated
+    private List<EmbeddedExercise> exercises;
+
     private LocalDateTime startTime;
     private LocalDateTime createdAt;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class EmbeddedExercise {
+        private String recordId; // id of the mirrored ExerciseRecord document
+        private String exerciseId;
+        private String exerciseName; // snapshot at the time of recording
+        @ValueConverter(PackedIntArrayConverter.class)
+        private int[] reps;
+        @ValueConverter(PackedDoubleArrayConverter.class)
+        private double[] weight;
+        @ValueConverter(PackedIntArrayConverter.class)
+        private int[] durationSeconds;
+        private String notes;
+        private ExerciseRecord.OneRmAchievement achievedOneRm;
+        private ExerciseRecord.TotalVolumeAchievement achievedTotalVolume;
+    }
 }
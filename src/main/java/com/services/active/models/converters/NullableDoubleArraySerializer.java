@@ -0,0 +1,30 @@
+package com.services.active.models.converters;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes a {@code double[]} of set values with {@link PackedArrays#NULL_DOUBLE} elements as JSON null.
+ */
+public class NullableDoubleArraySerializer extends StdSerializer<double[]> {
+
+    public NullableDoubleArraySerializer() {
+        super(double[].class);
+    }
+
+    @Override
+    public void serialize(double[] values, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartArray(values, values.length);
+        for (double value : values) {
+            if (PackedArrays.isNull(value)) {
+                generator.writeNull();
+            } else {
+                generator.writeNumber(value);
+            }
+        }
+        generator.writeEndArray();
+    }
+}
@@ -0,0 +1,30 @@
+package com.services.active.models.converters;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes an {@code int[]} of set values with {@link PackedArrays#NULL_INT} elements as JSON null.
+ */
+public class NullableIntArraySerializer extends StdSerializer<int[]> {
+
+    public NullableIntArraySerializer() {
+        super(int[].class);
+    }
+
+    @Override
+    public void serialize(int[] values, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartArray(values, values.length);
+        for (int value : values) {
+            if (PackedArrays.isNull(value)) {
+                generator.writeNull();
+            } else {
+                generator.writeNumber(value);
+            }
+        }
+        generator.writeEndArray();
+    }
+}
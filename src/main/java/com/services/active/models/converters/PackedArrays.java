@@ -0,0 +1,99 @@
+package com.services.active.models.converters;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import org.bson.BsonBinarySubType;
+import org.bson.types.Binary;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+
+/**
+ * Fixed-width little-endian packing of set values into a single BSON binary (user-defined subtype):
+ * 4 bytes per int, 8 bytes per double, no per-element type tags or index keys.
+ * A set value that was not entered (null) is kept as {@link #NULL_INT} / {@link #NULL_DOUBLE} rather than 0, so it
+ * still reads as missing and responses serialize it back to null (see {@link NullableIntArraySerializer}).
+ * Decoding also accepts the legacy BSON array form, with null elements read as the same markers.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class PackedArrays {
+
+    public static final byte SUBTYPE = BsonBinarySubType.USER_DEFINED.getValue();
+    public static final int NULL_INT = Integer.MIN_VALUE;
+    public static final double NULL_DOUBLE = Double.NaN;
+
+    public static Binary packInts(int[] values) {
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asIntBuffer().put(values);
+        return new Binary(SUBTYPE, buffer.array());
+    }
+
+    public static Binary packDoubles(double[] values) {
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asDoubleBuffer().put(values);
+        return new Binary(SUBTYPE, buffer.array());
+    }
+
+    public static int[] unpackInts(Object stored) {
+        if (stored instanceof Binary binary) {
+            int[] values = new int[binary.length() / Integer.BYTES];
+            ByteBuffer.wrap(binary.getData()).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().get(values);
+            return values;
+        }
+        if (stored instanceof List<?> legacy) {
+            int[] values = new int[legacy.size()];
+            for (int i = 0; i < values.length; i++) {
+                Object v = legacy.get(i);
+                values[i] = v instanceof Number n ? n.intValue() : NULL_INT;
+            }
+            return values;
+        }
+        throw new IllegalArgumentException("Cannot read packed ints from " + stored.getClass().getName());
+    }
+
+    public static double[] unpackDoubles(Object stored) {
+        if (stored instanceof Binary binary) {
+            double[] values = new double[binary.length() / Double.BYTES];
+            ByteBuffer.wrap(binary.getData()).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().get(values);
+            return values;
+        }
+        if (stored instanceof List<?> legacy) {
+            double[] values = new double[legacy.size()];
+            for (int i = 0; i < values.length; i++) {
+                Object v = legacy.get(i);
+                values[i] = v instanceof Number n ? n.doubleValue() : NULL_DOUBLE;
+            }
+            return values;
+        }
+        throw new IllegalArgumentException("Cannot read packed doubles from " + stored.getClass().getName());
+    }
+
+    public static int[] toInts(List<Integer> values) {
+        if (values == null) return null;
+        int[] result = new int[values.size()];
+        for (int i = 0; i < result.length; i++) {
+            Integer v = values.get(i);
+            result[i] = v != null ? v : NULL_INT;
+        }
+        return result;
+    }
+
+    public static double[] toDoubles(List<Double> values) {
+        if (values == null) return null;
+        double[] result = new double[values.size()];
+        for (int i = 0; i < result.length; i++) {
+            Double v = values.get(i);
+            result[i] = v != null ? v : NULL_DOUBLE;
+        }
+        return result;
+    }
+
+    public static boolean isNull(int value) {
+        return value == NULL_INT;
+    }
+
+    public static boolean isNull(double value) {
+        return Double.isNaN(value);
+    }
+}
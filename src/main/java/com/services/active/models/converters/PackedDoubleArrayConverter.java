@@ -0,0 +1,20 @@
+package com.services.active.models.converters;
+
+import org.springframework.data.mongodb.core.convert.MongoConversionContext;
+import org.springframework.data.mongodb.core.convert.MongoValueConverter;
+
+/**
+ * Stores a {@code double[]} property as a packed BSON binary; see {@link PackedArrays}.
+ */
+public class PackedDoubleArrayConverter implements MongoValueConverter<double[], Object> {
+
+    @Override
+    public double[] read(Object value, MongoConversionContext context) {
+        return PackedArrays.unpackDoubles(value);
+    }
+
+    @Override
+    public Object write(double[] value, MongoConversionContext context) {
+        return PackedArrays.packDoubles(value);
+    }
+}
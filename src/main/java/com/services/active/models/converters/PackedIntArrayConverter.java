@@ -0,0 +1,20 @@
+package com.services.active.models.converters;
+
+import org.springframework.data.mongodb.core.convert.MongoConversionContext;
+import org.springframework.data.mongodb.core.convert.MongoValueConverter;
+
+/**
+ * Stores an {@code int[]} property as a packed BSON binary; see {@link PackedArrays}.
+ */
+public class PackedIntArrayConverter implements MongoValueConverter<int[], Object> {
+
+    @Override
+    public int[] read(Object value, MongoConversionContext context) {
+        return PackedArrays.unpackInts(value);
+    }
+
+    @Override
+    public Object write(int[] value, MongoConversionContext context) {
+        return PackedArrays.packInts(value);
+    }
+}
@@ -0,0 +1,10 @@
+package com.services.active.models.types;
+
+public enum IdempotencyStatus {
+    IN_PROGRESS,
+    COMPLETED,
+    /**
+     * Completed, but the response could not be stored; retries are answered without a body.
+     */
+    COMPLETED_WITHOUT_RESPONSE
+}
@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -17,7 +18,12 @@ import java.util.List;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
+// Streak reminders: users in a timezone who opted in for a given local time (UserRepository.findUsersToNotify)
+@CompoundIndex(name = User.REMINDER_INDEX,
+        def = "{'timezone': 1, 'notificationPreferences.emailNotificationsEnabled': 1, 'notificationPreferences.schedule': 1}")
 public class User {
+    public static final String REMINDER_INDEX = "timezone_notifications";
+
     @Id
     private String id;
 
@@ -28,8 +34,7 @@ public class User {
 
     private LocalDate createdAt;
 
-    @Indexed
-    private String timezone;
+    private String timezone; // queried through REMINDER_INDEX
 
     private String activeRoutineId;
 
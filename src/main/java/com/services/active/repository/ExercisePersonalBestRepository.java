@@ -3,11 +3,13 @@ package com.services.active.repository;
 import com.services.active.models.ExercisePersonalBest;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface ExercisePersonalBestRepository extends MongoRepository<ExercisePersonalBest, String> {
+public interface ExercisePersonalBestRepository extends MongoRepository<ExercisePersonalBest, String>, ExercisePersonalBestRepositoryCustom {
     Optional<ExercisePersonalBest> findByUserIdAndExerciseId(String userId, String exerciseId);
     void deleteByUserId(String userId);
     List<ExercisePersonalBest> findAllByUserId(String userId);
+    List<ExercisePersonalBest> findAllByUserIdAndExerciseIdIn(String userId, Collection<String> exerciseIds);
 }
@@ -0,0 +1,9 @@
+package com.services.active.repository;
+
+import com.services.active.models.ExercisePersonalBest;
+
+import java.util.Collection;
+
+public interface ExercisePersonalBestRepositoryCustom {
+    void upsertBests(Collection<ExercisePersonalBest> candidates);
+}
@@ -0,0 +1,78 @@
+package com.services.active.repository;
+
+import com.services.active.models.ExercisePersonalBest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.SetOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Date;
+
+@Repository
+public class ExercisePersonalBestRepositoryCustomImpl implements ExercisePersonalBestRepositoryCustom {
+    private final MongoTemplate mongoTemplate;
+
+    @Autowired
+    public ExercisePersonalBestRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Upserts one PB document per candidate in a single unordered bulk write.
+     * Each update is a pipeline that only replaces a metric (and the record that achieved it) when the
+     * candidate beats the stored value, i.e. {@code $max} semantics that also carry the record id along,
+     * so concurrent submissions can never lower a PB. Null metrics on a candidate are left untouched.
+     */
+    @Override
+    public void upsertBests(Collection<ExercisePersonalBest> candidates) {
+        if (candidates.isEmpty()) {
+            return;
+        }
+        Date now = Date.from(LocalDateTime.now().atZone(ZoneId.systemDefault()).toInstant());
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ExercisePersonalBest.class);
+        for (ExercisePersonalBest candidate : candidates) {
+            Query query = Query.query(Criteria.where("userId").is(candidate.getUserId())
+                    .and("exerciseId").is(candidate.getExerciseId()));
+
+            SetOperation.FieldAppender fields = SetOperation.builder();
+            SetOperation set = null;
+            if (candidate.getOneRm() != null) {
+                ComparisonOperators.Lt beatsOneRm = ComparisonOperators.valueOf(ifMissing("oneRm")).lessThanValue(candidate.getOneRm());
+                set = fields.set("oneRm").toValue(whenBeaten(beatsOneRm, candidate.getOneRm(), "oneRm"))
+                        .and().set("oneRmRecordId").toValue(whenBeaten(beatsOneRm, candidate.getOneRmRecordId(), "oneRmRecordId"))
+                        .and().set("oneRmRecordSetIndex").toValue(whenBeaten(beatsOneRm, candidate.getOneRmRecordSetIndex(), "oneRmRecordSetIndex"));
+                fields = set.and();
+            }
+            if (candidate.getTotalVolume() != null) {
+                ComparisonOperators.Lt beatsVolume = ComparisonOperators.valueOf(ifMissing("totalVolume")).lessThanValue(candidate.getTotalVolume());
+                set = fields.set("totalVolume").toValue(whenBeaten(beatsVolume, candidate.getTotalVolume(), "totalVolume"))
+                        .and().set("totalVolumeRecordId").toValue(whenBeaten(beatsVolume, candidate.getTotalVolumeRecordId(), "totalVolumeRecordId"));
+                fields = set.and();
+            }
+            set = fields.set("createdAt").toValue(ConditionalOperators.ifNull("createdAt").then(now))
+                    .and().set("updatedAt").toValue(now);
+
+            bulk.upsert(query, AggregationUpdate.update().set(set));
+        }
+        bulk.execute();
+    }
+
+    // A missing metric compares as -1 so any candidate value beats it
+    private static ConditionalOperators.IfNull ifMissing(String field) {
+        return ConditionalOperators.ifNull(field).then(-1);
+    }
+
+    private static ConditionalOperators.Cond whenBeaten(ComparisonOperators.Lt beaten, Object value, String field) {
+        return ConditionalOperators.when(beaten).then(value).otherwiseValueOf(field);
+    }
+}
@@ -2,8 +2,12 @@ package com.services.active.repository;
 
 import com.services.active.models.ExerciseRecord;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ExerciseRecordRepositoryCustom {
     List<ExerciseRecord> saveAllAndReturn(Iterable<ExerciseRecord> exerciseRecords);
+    long countInWindow(String userId, String exerciseId, LocalDateTime from, LocalDateTime to);
+    Stream<ExerciseRecord> streamSeries(String userId, String exerciseId, LocalDateTime from, LocalDateTime to, int batchSize);
 }
@@ -1,13 +1,27 @@
 package com.services.active.repository;
 
+import com.mongodb.bulk.BulkWriteError;
+import com.services.active.exceptions.BulkInsertException;
 import com.services.active.models.ExerciseRecord;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
+@Slf4j
 @Repository
 public class ExerciseRecordRepositoryCustomImpl implements ExerciseRecordRepositoryCustom {
     private final MongoTemplate mongoTemplate;
@@ -17,13 +31,78 @@ public class ExerciseRecordRepositoryCustomImpl implements ExerciseRecordReposit
         this.mongoTemplate = mongoTemplate;
     }
 
+    /**
+     * Inserts all records with a single unordered bulk write (one round trip).
+     * Ids are assigned on the client beforehand so the returned list keeps the input order
+     * and every element carries its id, even though the server may apply the inserts in any order.
+     */
     @Override
     public List<ExerciseRecord> saveAllAndReturn(Iterable<ExerciseRecord> exerciseRecords) {
-        List<ExerciseRecord> savedList = new ArrayList<>();
+        List<ExerciseRecord> toInsert = new ArrayList<>();
         for (ExerciseRecord record : exerciseRecords) {
-            ExerciseRecord saved = mongoTemplate.save(record);
-            savedList.add(saved);
+            if (record.getId() == null) {
+                record.setId(new ObjectId().toHexString());
+            }
+            toInsert.add(record);
         }
-        return savedList;
+        if (toInsert.isEmpty()) {
+            return toInsert;
+        }
+
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ExerciseRecord.class)
+                    .insert(toInsert)
+                    .execute();
+        } catch (BulkOperationException e) {
+            Map<Integer, String> failures = new LinkedHashMap<>();
+            for (BulkWriteError error : e.getErrors()) {
+                failures.put(error.getIndex(), error.getMessage());
+            }
+            List<String> writtenIds = new ArrayList<>();
+            for (int i = 0; i < toInsert.size(); i++) {
+                if (!failures.containsKey(i)) {
+                    writtenIds.add(toInsert.get(i).getId());
+                }
+            }
+            log.error("Bulk insert of exercise records partially failed: {} of {} failed ({})",
+                    failures.size(), toInsert.size(), failures);
+            throw new BulkInsertException(
+                    "Failed to save " + failures.size() + " of " + toInsert.size() + " exercise records",
+                    writtenIds, failures);
+        }
+        return toInsert;
+    }
+
+    // Both queries below are served by the {userId, exerciseId, createdAt} index (ExerciseRecord.USER_EXERCISE_HISTORY_INDEX)
+    private static Query windowQuery(String userId, String exerciseId, LocalDateTime from, LocalDateTime to) {
+        Criteria criteria = Criteria.where("userId").is(userId).and("exerciseId").is(exerciseId);
+        if (from != null || to != null) {
+            Criteria createdAt = criteria.and("createdAt");
+            if (from != null) {
+                createdAt.gte(from);
+            }
+            if (to != null) {
+                createdAt.lt(to);
+            }
+        }
+        return new Query(criteria);
+    }
+
+    @Override
+    public long countInWindow(String userId, String exerciseId, LocalDateTime from, LocalDateTime to) {
+        return mongoTemplate.count(windowQuery(userId, exerciseId, from, to), ExerciseRecord.class);
+    }
+
+    /**
+     * The user's records of one exercise in [from, to), oldest first, with only the fields a progress chart needs.
+     * The caller must close the stream.
+     */
+    @Override
+    public Stream<ExerciseRecord> streamSeries(String userId, String exerciseId, LocalDateTime from, LocalDateTime to, int batchSize) {
+        Query query = windowQuery(userId, exerciseId, from, to)
+                .with(Sort.by(Sort.Direction.ASC, "createdAt"))
+                .cursorBatchSize(batchSize);
+        query.fields().include("createdAt", "reps", "weight");
+        return mongoTemplate.stream(query, ExerciseRecord.class);
     }
 }
@@ -0,0 +1,7 @@
+package com.services.active.repository;
+
+import com.services.active.models.IdempotencyRecord;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface IdempotencyRecordRepository extends MongoRepository<IdempotencyRecord, String> {
+}
@@ -5,7 +5,7 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 
 import java.util.List;
 
-public interface WorkoutRecordRepository extends MongoRepository<WorkoutRecord, String> {
+public interface WorkoutRecordRepository extends MongoRepository<WorkoutRecord, String>, WorkoutRecordRepositoryCustom {
     List<WorkoutRecord> findAllByUserId(String userId);
     void deleteByUserId(String userId);
 }
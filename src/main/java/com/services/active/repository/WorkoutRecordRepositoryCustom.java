@@ -0,0 +1,14 @@
+package com.services.active.repository;
+
+import com.services.active.models.ExerciseRecord;
+import com.services.active.models.WorkoutRecord;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface WorkoutRecordRepositoryCustom {
+    void syncEmbeddedAchievements(Collection<ExerciseRecord> exerciseRecords);
+    List<WorkoutRecord> findHistoryPage(String userId, HistoryCursor before, int limit);
+    Stream<WorkoutRecord> streamHistory(String userId, int batchSize);
+}
@@ -0,0 +1,77 @@
+package com.services.active.repository;
+
+import com.services.active.models.ExerciseRecord;
+import com.services.active.models.WorkoutRecord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public class WorkoutRecordRepositoryCustomImpl implements WorkoutRecordRepositoryCustom {
+    private final MongoTemplate mongoTemplate;
+
+    @Autowired
+    public WorkoutRecordRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Copies the achievements of the given exercise records onto their embedded copies in workout_records,
+     * addressing the array element by recordId through an array filter, in one unordered bulk write.
+     */
+    @Override
+    public void syncEmbeddedAchievements(Collection<ExerciseRecord> exerciseRecords) {
+        if (exerciseRecords.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, WorkoutRecord.class);
+        for (ExerciseRecord record : exerciseRecords) {
+            Update update = new Update()
+                    .set("exercises.$[e].achievedOneRm", record.getAchievedOneRm())
+                    .set("exercises.$[e].achievedTotalVolume", record.getAchievedTotalVolume())
+                    .filterArray(Criteria.where("e.recordId").is(record.getId()));
+            bulk.updateOne(new Query(Criteria.where("exercises.recordId").is(record.getId())), update);
+        }
+        bulk.execute();
+    }
+
+    /**
+     * One page of a user's history, most recent first, starting strictly after {@code before} (null for the
+     * first page); a {@code limit} of 0 reads to the end. Served by the {userId, createdAt desc, _id desc} index, so the cost of a page does not
+     * depend on how deep into the history it is; _id breaks ties between records created in the same millisecond.
+     */
+    @Override
+    public List<WorkoutRecord> findHistoryPage(String userId, HistoryCursor before, int limit) {
+        Criteria criteria = Criteria.where("userId").is(userId);
+        if (before != null) {
+            criteria = criteria.orOperator(
+                    Criteria.where("createdAt").lt(before.createdAt()),
+                    Criteria.where("createdAt").is(before.createdAt()).and("_id").lt(before.id()));
+        }
+        Query query = new Query(criteria)
+                .with(Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("_id")))
+                .limit(limit);
+        return mongoTemplate.find(query, WorkoutRecord.class);
+    }
+
+    /**
+     * The user's whole history in the same order as {@link #findHistoryPage}, read lazily through a cursor
+     * that fetches {@code batchSize} documents per getMore. Must be closed to release the cursor.
+     */
+    @Override
+    public Stream<WorkoutRecord> streamHistory(String userId, int batchSize) {
+        Query query = new Query(Criteria.where("userId").is(userId))
+                .with(Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("_id")))
+                .cursorBatchSize(batchSize);
+        return mongoTemplate.stream(query, WorkoutRecord.class);
+    }
+}
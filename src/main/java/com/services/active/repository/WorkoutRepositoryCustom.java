@@ -1,7 +1,17 @@
 package com.services.active.repository;
 
 import com.mongodb.client.result.UpdateResult;
+import com.services.active.dto.WorkoutWithTemplate;
+import com.services.active.models.Workout;
+import com.services.active.models.WorkoutRecord;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 public interface WorkoutRepositoryCustom {
-    UpdateResult updateWorkoutRecordIds(String workoutId, String workoutRecordId);
+    UpdateResult recordPerformed(String workoutId, LocalDateTime performedAt);
+    void recordPerformed(Collection<WorkoutRecord> workoutRecords);
+    List<WorkoutWithTemplate> findAllWithTemplateByUserId(String userId);
+    Workout updateDetails(String workoutId, String title, String notes, LocalDateTime updatedAt);
 }
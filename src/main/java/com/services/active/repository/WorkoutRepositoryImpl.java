@@ -1,22 +1,121 @@
 package com.services.active.repository;
 
 import com.mongodb.client.result.UpdateResult;
+import com.services.active.dto.WorkoutWithTemplate;
 import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
 import com.services.active.models.Workout;
+import com.services.active.models.WorkoutRecord;
+import com.services.active.models.WorkoutTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 @RequiredArgsConstructor
 public class WorkoutRepositoryImpl implements WorkoutRepositoryCustom {
 
     private final MongoTemplate mongoTemplate;
 
+    /**
+     * Bumps the record count and moves lastPerformedAt forward; $max keeps it monotonic even when
+     * older sessions are uploaded late.
+     */
     @Override
-    public UpdateResult updateWorkoutRecordIds(String workoutId, String workoutRecordId) {
+    public UpdateResult recordPerformed(String workoutId, LocalDateTime performedAt) {
         Query query = new Query(Criteria.where("_id").is(workoutId));
-        Update update = new Update().push("workoutRecordIds", workoutRecordId);
-        return mongoTemplate.updateFirst(query, update, Workout.class);
+        return mongoTemplate.updateFirst(query, summaryUpdate(1, performedAt), Workout.class);
+    }
+
+    /**
+     * Same as {@link #recordPerformed(String, LocalDateTime)} for many records, with one update per workout
+     * in a single unordered bulk write.
+     */
+    @Override
+    public void recordPerformed(Collection<WorkoutRecord> workoutRecords) {
+        if (workoutRecords.isEmpty()) {
+            return;
+        }
+        Map<String, Integer> countByWorkout = new LinkedHashMap<>();
+        Map<String, LocalDateTime> lastByWorkout = new LinkedHashMap<>();
+        for (WorkoutRecord record : workoutRecords) {
+            countByWorkout.merge(record.getWorkoutId(), 1, Integer::sum);
+            lastByWorkout.merge(record.getWorkoutId(), performedAt(record), (a, b) -> a.isAfter(b) ? a : b);
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Workout.class);
+        countByWorkout.forEach((workoutId, count) -> bulk.updateOne(
+                new Query(Criteria.where("_id").is(workoutId)),
+                summaryUpdate(count, lastByWorkout.get(workoutId))));
+        bulk.execute();
+    }
+
+    /**
+     * Sets only the user-editable fields (null ones are left alone) and returns the updated document. Saving the
+     * whole entity instead would write back a stale recordCount/lastPerformedAt over a concurrent
+     * {@link #recordPerformed} update.
+     */
+    @Override
+    public Workout updateDetails(String workoutId, String title, String notes, LocalDateTime updatedAt) {
+        Update update = new Update().set("updatedAt", updatedAt);
+        if (title != null) {
+            update.set("title", title);
+        }
+        if (notes != null) {
+            update.set("notes", notes);
+        }
+        return mongoTemplate.findAndModify(new Query(Criteria.where("_id").is(workoutId)), update,
+                FindAndModifyOptions.options().returnNew(true), Workout.class);
+    }
+
+    private static LocalDateTime performedAt(WorkoutRecord record) {
+        return record.getStartTime() != null ? record.getStartTime() : record.getCreatedAt();
+    }
+
+    private static Update summaryUpdate(int count, LocalDateTime performedAt) {
+        return new Update().inc("recordCount", count).max("lastPerformedAt", performedAt);
+    }
+
+    /**
+     * The user's workouts joined with their templates server-side in one aggregation.
+     * Workout.templateId is stored as a plain string while template ids are ObjectIds, so the $lookup converts
+     * it first (falling back to the raw string for non-ObjectId ids).
+     */
+    @Override
+    public List<WorkoutWithTemplate> findAllWithTemplateByUserId(String userId) {
+        String workoutsCollection = mongoTemplate.getCollectionName(Workout.class);
+        Document templateId = new Document("$convert", new Document("input", "$templateId")
+                .append("to", "objectId")
+                .append("onError", "$templateId")
+                .append("onNull", null));
+        Document lookup = new Document("$lookup", new Document("from", mongoTemplate.getCollectionName(WorkoutTemplate.class))
+                .append("let", new Document("templateId", templateId))
+                .append("pipeline", List.of(new Document("$match",
+                        new Document("$expr", new Document("$eq", List.of("$_id", "$$templateId"))))))
+                .append("as", "workoutTemplate"));
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("userId").is(userId)),
+                Aggregation.stage(lookup));
+
+        List<WorkoutWithTemplate> result = new ArrayList<>();
+        for (Document doc : mongoTemplate.aggregate(aggregation, workoutsCollection, Document.class)) {
+            List<Document> templates = doc.getList("workoutTemplate", Document.class, List.of());
+            doc.remove("workoutTemplate");
+            Workout workout = mongoTemplate.getConverter().read(Workout.class, doc);
+            WorkoutTemplate template = templates.isEmpty()
+                    ? null
+                    : mongoTemplate.getConverter().read(WorkoutTemplate.class, templates.get(0));
+            result.add(WorkoutWithTemplate.createFromWorkoutAndTemplate(workout, template));
+        }
+        return result;
     }
 }
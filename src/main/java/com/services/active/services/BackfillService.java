@@ -6,6 +6,7 @@ import com.services.active.models.ExerciseRecord;
 import com.services.active.repository.ExercisePersonalBestRepository;
 import com.services.active.repository.ExerciseRecordRepository;
 import com.services.active.repository.UserRepository;
+import com.services.active.repository.WorkoutRecordRepository;
 import lombok.Builder;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
@@ -23,6 +24,8 @@ public class BackfillService {
     private final ExerciseRecordRepository exerciseRecordRepository;
     private final ExercisePersonalBestRepository personalBestRepository;
     private final UserRepository userRepository;
+    private final WorkoutRecordRepository workoutRecordRepository;
+    private final UserDataVersionService userDataVersionService;
 
     @Data
     @Builder
@@ -62,6 +65,10 @@ public class BackfillService {
             updated += res.getRecordsUpdated();
             pbUpserts += res.getPersonalBestsUpserted();
         }
+        if (updated > 0) {
+            // Achievements shown in the user's history changed
+            userRepository.findById(userId).ifPresent(user -> userDataVersionService.bump(user.getWorkosId()));
+        }
         return BackfillResult.builder()
                 .scope("user")
                 .userId(userId)
@@ -73,7 +80,11 @@ public class BackfillService {
 
     public BackfillResult backfillUserExercise(String userId, String exerciseId) {
         List<ExerciseRecord> list = exerciseRecordRepository.findByUserIdAndExerciseIdOrderByCreatedAtAsc(userId, exerciseId);
-        return backfillUserExerciseInternal(userId, exerciseId, list);
+        BackfillResult result = backfillUserExerciseInternal(userId, exerciseId, list);
+        if (result.getRecordsUpdated() > 0) {
+            userRepository.findById(userId).ifPresent(user -> userDataVersionService.bump(user.getWorkosId()));
+        }
+        return result;
     }
 
     private BackfillResult backfillUserExerciseInternal(String userId, String exerciseId, List<ExerciseRecord> records) {
@@ -84,13 +95,14 @@ public class BackfillService {
         String bestVolumeRecordId = null;
 
         int evaluated = 0, updated = 0, pbUpserts = 0;
+        List<ExerciseRecord> changedRecords = new ArrayList<>();
         for (ExerciseRecord r : records) {
             evaluated++;
             boolean changed = false;
 
             var reps = r.getReps();
             var weight = r.getWeight();
-            boolean hasStrength = reps != null && weight != null && !reps.isEmpty() && !weight.isEmpty();
+            boolean hasStrength = reps != null && weight != null && reps.length > 0 && weight.length > 0;
 
             // Default clear
             if (r.getAchievedOneRm() != null) {
@@ -130,9 +142,12 @@ public class BackfillService {
 
             if (changed) {
                 exerciseRecordRepository.save(r);
+                changedRecords.add(r);
                 updated++;
             }
         }
+        // Keep the copies embedded in workout_records in step with the per-exercise collection
+        workoutRecordRepository.syncEmbeddedAchievements(changedRecords);
 
         // Upsert PB once per exercise from computed bests
         if (!records.isEmpty()) {
@@ -0,0 +1,304 @@
+package com.services.active.services;
+
+import com.services.active.domain.ExerciseContentHash;
+import com.services.active.domain.ExerciseSearchIndex;
+import com.services.active.domain.ExerciseSuggestIndex;
+import com.services.active.dto.ExerciseCatalogDelta;
+import com.services.active.models.Exercise;
+import com.services.active.repository.ExerciseRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.messaging.ChangeStreamRequest;
+import org.springframework.data.mongodb.core.messaging.DefaultMessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.MessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-process snapshot of the exercises collection. The catalog is reference data that changes only when it is
+ * (re)imported, so lookups by id are served from an immutable map that is rebuilt off to the side and swapped in
+ * atomically by {@link #reload()}. Readers never block and always see one consistent snapshot. The snapshot also
+ * carries the {@link ExerciseSearchIndex} and {@link ExerciseSuggestIndex} behind exercise search and
+ * autocomplete, so those never reach the database and see the catalog as of the last reload.
+ * <p>
+ * Ids missing from the snapshot (e.g. exercises written since the last reload) fall back to the repository and
+ * are counted as misses, so a stale snapshot costs a query rather than a wrong answer. Reloads are triggered at
+ * startup, through the {@code exercisecatalog} actuator endpoint, and, when
+ * {@code active.exercises.catalog.watch=true} (requires a replica set), by change-stream events on the collection.
+ * Events are coalesced: one reload runs once the collection has been quiet for
+ * {@code active.exercises.catalog.watch-quiet-period}, so an import writing hundreds of documents produces one new
+ * version rather than one per document. The {@link Exercise} instances are shared between callers and must not be mutated.
+ */
+@Slf4j
+@Component
+public class ExerciseCatalog {
+
+    /**
+     * {@code hashes} maps every id to its {@link ExerciseContentHash}; {@code version} addresses the whole content.
+     * {@code history} holds the id-to-hash maps of up to {@code active.exercises.catalog.history} earlier versions,
+     * which is what {@link #changesSince(String)} can diff against.
+     */
+    public record Snapshot(Map<String, Exercise> byId, List<Exercise> all, ExerciseSearchIndex search,
+                           ExerciseSuggestIndex suggest, SortedMap<String, String> hashes, String version,
+                           Map<String, SortedMap<String, String>> history, Instant loadedAt) {
+        static final Snapshot EMPTY = new Snapshot(Map.of(), List.of(), ExerciseSearchIndex.EMPTY,
+                ExerciseSuggestIndex.EMPTY, Collections.emptySortedMap(),
+                ExerciseContentHash.version(Collections.emptySortedMap()), Collections.emptyMap(), Instant.EPOCH);
+    }
+
+    /**
+     * Published by {@link #reload()} when the content version changes, after the new snapshot is in place, so
+     * caches derived from the catalog can drop their entries.
+     */
+    public record VersionChanged(String version) {}
+
+    private final ExerciseRepository exerciseRepository;
+    private final MongoTemplate mongoTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.EMPTY);
+    private final Counter hits;
+    private final Counter misses;
+
+    @Value("${active.exercises.catalog.watch:false}")
+    private boolean watch;
+
+    @Value("${active.exercises.catalog.history:10}")
+    private int historySize = 10;
+
+    @Value("${active.exercises.catalog.watch-quiet-period:2s}")
+    private Duration quietPeriod = Duration.ofSeconds(2);
+
+    // A steady stream of events still reloads at least this many quiet periods after the first one
+    private static final int MAX_QUIET_PERIODS = 10;
+
+    private MessageListenerContainer changeStreamContainer;
+    private final ScheduledExecutorService reloadScheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("exercise-catalog-reload").daemon().factory());
+    private final Object pendingReloadLock = new Object();
+    private ScheduledFuture<?> pendingReload;
+    private long burstStartNanos;
+
+    public ExerciseCatalog(ExerciseRepository exerciseRepository, MongoTemplate mongoTemplate,
+                           ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        this.exerciseRepository = exerciseRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.eventPublisher = eventPublisher;
+        this.hits = Counter.builder("exercise_catalog.lookups")
+                .description("Exercise lookups served by the in-process catalog")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("exercise_catalog.lookups")
+                .description("Exercise lookups served by the in-process catalog")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("exercise_catalog.size", snapshot, ref -> ref.get().byId().size())
+                .description("Exercises in the current catalog snapshot")
+                .register(meterRegistry);
+    }
+
+    // ApplicationRunners (including the exercise import) have completed by the time this fires
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reload();
+        if (watch) {
+            startWatching();
+        }
+    }
+
+    /**
+     * Reads the whole collection into a new snapshot and swaps it in, publishing {@link VersionChanged} if the
+     * content differs from the previous snapshot.
+     */
+    public synchronized Snapshot reload() {
+        List<Exercise> exercises = exerciseRepository.findAll();
+        Map<String, Exercise> byId = exercises.stream()
+                .collect(Collectors.toUnmodifiableMap(Exercise::getId, Function.identity(), (a, b) -> a));
+        SortedMap<String, String> hashes = new TreeMap<>();
+        byId.forEach((id, exercise) -> hashes.put(id, ExerciseContentHash.of(exercise)));
+        String version = ExerciseContentHash.version(hashes);
+
+        Snapshot previous = snapshot.get();
+        Map<String, SortedMap<String, String>> history = new LinkedHashMap<>(previous.history());
+        if (previous != Snapshot.EMPTY && !previous.version().equals(version)) {
+            history.remove(previous.version());
+            history.put(previous.version(), previous.hashes());
+        }
+        history.remove(version);
+        while (history.size() > historySize) {
+            history.remove(history.keySet().iterator().next());
+        }
+
+        Snapshot next = new Snapshot(byId, List.copyOf(exercises), new ExerciseSearchIndex(exercises),
+                new ExerciseSuggestIndex(exercises), Collections.unmodifiableSortedMap(hashes), version,
+                Collections.unmodifiableMap(history), Instant.now());
+        snapshot.set(next);
+        log.info("Exercise catalog loaded ({} exercises, version {})", byId.size(), version);
+        if (!previous.version().equals(version)) {
+            eventPublisher.publishEvent(new VersionChanged(version));
+        }
+        return next;
+    }
+
+    /**
+     * Schedules a reload for when the collection has been quiet for the quiet period, replacing one that is still
+     * waiting; a reload that has already started is followed by another, since it may have read too early.
+     */
+    void onCatalogChanged() {
+        synchronized (pendingReloadLock) {
+            long now = System.nanoTime();
+            boolean waiting = pendingReload != null && !pendingReload.isDone()
+                    && pendingReload.getDelay(TimeUnit.NANOSECONDS) > 0;
+            if (!waiting) {
+                burstStartNanos = now;
+            } else if (now - burstStartNanos >= quietPeriod.toNanos() * MAX_QUIET_PERIODS) {
+                // The waiting reload has not read the collection yet, so it will see this change too
+                return;
+            } else {
+                pendingReload.cancel(false);
+            }
+            pendingReload = reloadScheduler.schedule(this::reloadAfterChanges, quietPeriod.toNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void reloadAfterChanges() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.warn("Exercise catalog reload after collection changes failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * What a client holding catalog version {@code since} needs to reach the current version: the added, changed
+     * and removed exercises when {@code since} is the current or a remembered version, otherwise (unknown, expired
+     * or null) the whole catalog flagged as {@code full}.
+     */
+    public ExerciseCatalogDelta changesSince(String since) {
+        Snapshot current = snapshot.get();
+        SortedMap<String, String> base = since == null ? null
+                : current.version().equals(since) ? current.hashes() : current.history().get(since);
+        if (base == null) {
+            return ExerciseCatalogDelta.builder()
+                    .version(current.version())
+                    .full(true)
+                    .added(current.all())
+                    .changed(List.of())
+                    .removed(List.of())
+                    .build();
+        }
+        List<Exercise> added = new ArrayList<>();
+        List<Exercise> changed = new ArrayList<>();
+        current.hashes().forEach((id, hash) -> {
+            String previousHash = base.get(id);
+            if (previousHash == null) {
+                added.add(current.byId().get(id));
+            } else if (!previousHash.equals(hash)) {
+                changed.add(current.byId().get(id));
+            }
+        });
+        List<String> removed = base.keySet().stream()
+                .filter(id -> !current.hashes().containsKey(id))
+                .toList();
+        return ExerciseCatalogDelta.builder()
+                .version(current.version())
+                .full(false)
+                .added(added)
+                .changed(changed)
+                .removed(removed)
+                .build();
+    }
+
+    public Snapshot snapshot() {
+        return snapshot.get();
+    }
+
+    public Optional<Exercise> findById(String id) {
+        Exercise exercise = snapshot.get().byId().get(id);
+        if (exercise != null) {
+            hits.increment();
+            return Optional.of(exercise);
+        }
+        misses.increment();
+        return exerciseRepository.findById(id);
+    }
+
+    public boolean exists(String id) {
+        return findById(id).isPresent();
+    }
+
+    public Optional<String> findName(String id) {
+        return findById(id).map(Exercise::getName);
+    }
+
+    /**
+     * Resolves many ids at once; ids not in the snapshot are fetched with a single $in query.
+     * Unknown ids are absent from the result.
+     */
+    public Map<String, Exercise> findAllById(Collection<String> ids) {
+        Map<String, Exercise> snapshotById = snapshot.get().byId();
+        Map<String, Exercise> result = new HashMap<>();
+        Set<String> missing = new HashSet<>();
+        for (String id : ids) {
+            Exercise exercise = snapshotById.get(id);
+            if (exercise != null) {
+                result.put(id, exercise);
+            } else {
+                missing.add(id);
+            }
+        }
+        hits.increment(result.size());
+        if (!missing.isEmpty()) {
+            misses.increment(missing.size());
+            exerciseRepository.findAllById(missing).forEach(ex -> result.put(ex.getId(), ex));
+        }
+        return result;
+    }
+
+    public Map<String, String> findNamesById(Collection<String> ids) {
+        Map<String, String> names = new HashMap<>();
+        findAllById(ids).forEach((id, ex) -> names.put(id, ex.getName()));
+        return names;
+    }
+
+    private void startWatching() {
+        try {
+            changeStreamContainer = new DefaultMessageListenerContainer(mongoTemplate);
+            changeStreamContainer.register(ChangeStreamRequest.builder()
+                    .collection(mongoTemplate.getCollectionName(Exercise.class))
+                    .publishTo(message -> onCatalogChanged())
+                    .build(), Document.class);
+            changeStreamContainer.start();
+            log.info("Watching the exercises collection for catalog changes");
+        } catch (Exception e) {
+            // Change streams need a replica set; the actuator endpoint still works without one
+            log.warn("Could not watch exercises collection: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void stopWatching() {
+        if (changeStreamContainer != null) {
+            changeStreamContainer.stop();
+        }
+        reloadScheduler.shutdownNow();
+    }
+}
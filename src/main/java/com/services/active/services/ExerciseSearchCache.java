@@ -0,0 +1,81 @@
+package com.services.active.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.services.active.domain.ExerciseSearchIndex;
+import com.services.active.models.types.Category;
+import com.services.active.models.types.Equipment;
+import com.services.active.models.types.Level;
+import com.services.active.models.types.MuscleGroup;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Serialized JSON responses of exercise search, keyed by the canonical form of the query (see
+ * {@link ExerciseService#searchExercisesJson}), so the handful of filter combinations that dominate traffic skip
+ * both the index and Jackson. Bounded by total response bytes with Caffeine's W-TinyLFU eviction.
+ * <p>
+ * Every entry is dropped when the catalog publishes {@link ExerciseCatalog.VersionChanged}. Keys also carry the
+ * catalog version they were computed against, so an entry stored by a search that raced with the reload is never
+ * served for the new version and simply ages out. Besides the
+ * {@code cache.*} meters tagged {@code cache=exercise_search}, {@code exercise_search_cache.hit_ratio} and
+ * {@code exercise_search_cache.bytes} are published. Cached byte arrays are shared and must not be modified.
+ */
+@Component
+public class ExerciseSearchCache {
+
+    public record Key(String catalogVersion, String name, Category category, Level level,
+                      List<MuscleGroup> primaryMuscles, List<MuscleGroup> secondaryMuscles, Equipment equipment,
+                      ExerciseSearchIndex.SortField sort, boolean descending, int offset, Integer limit,
+                      List<String> fields) {}
+
+    public record Entry(byte[] json, int total) {}
+
+    // Rough per-entry overhead of the key and the entry objects
+    private static final int ENTRY_OVERHEAD = 256;
+
+    private final Cache<Key, Entry> cache;
+
+    public ExerciseSearchCache(MeterRegistry meterRegistry,
+                               @Value("${active.cache.exercise-search.max-bytes:16777216}") long maxBytes) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Key key, Entry entry) -> entry.json().length + ENTRY_OVERHEAD)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "exercise_search");
+        Gauge.builder("exercise_search_cache.hit_ratio", cache, c -> c.stats().hitRate())
+                .description("Share of exercise searches answered from cached response bytes")
+                .register(meterRegistry);
+        Gauge.builder("exercise_search_cache.bytes", cache, ExerciseSearchCache::weightedBytes)
+                .description("Serialized exercise search responses held in the cache, in bytes")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    // Writes are applied to the eviction policy asynchronously; draining them first keeps the reading current
+    private static double weightedBytes(Cache<Key, Entry> cache) {
+        cache.cleanUp();
+        return cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L);
+    }
+
+    public Entry get(Key key, Supplier<Entry> loader) {
+        return cache.get(key, k -> loader.get());
+    }
+
+    @EventListener
+    public void onCatalogVersionChanged(ExerciseCatalog.VersionChanged event) {
+        invalidateAll();
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
@@ -1,6 +1,15 @@
 package com.services.active.services;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.services.active.domain.AchievementCalculator;
+import com.services.active.domain.ExerciseSearchIndex;
+import com.services.active.domain.LttbDownsampler;
+import com.services.active.dto.ExerciseCatalogDelta;
 import com.services.active.dto.ExerciseLogResponse;
+import com.services.active.dto.ExerciseSearchPage;
+import com.services.active.dto.ExerciseSeriesResponse;
+import com.services.active.exceptions.BadRequestException;
 import com.services.active.exceptions.NotFoundException;
 import com.services.active.models.Exercise;
 import com.services.active.models.ExerciseRecord;
@@ -10,89 +19,229 @@ import com.services.active.models.types.Equipment;
 import com.services.active.models.types.Level;
 import com.services.active.models.types.MuscleGroup;
 import com.services.active.repository.ExerciseRecordRepository;
-import com.services.active.repository.ExerciseRepository;
 import com.services.active.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.mongodb.core.MongoTemplate;
-import org.springframework.data.mongodb.core.query.Criteria;
-import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class ExerciseService {
-    private final ExerciseRepository exerciseRepository;
+    static final int DEFAULT_SERIES_POINTS = 200;
+    static final int MAX_SERIES_POINTS = 1000;
+    private static final int SERIES_BATCH_SIZE = 500;
+    static final int DEFAULT_SUGGEST_LIMIT = 10;
+    static final int MAX_SUGGEST_LIMIT = 50;
+    static final int MAX_SEARCH_LIMIT = 500;
+    // Top-level Exercise fields a search can be narrowed to
+    private static final Map<String, Function<Exercise, Object>> PROJECTABLE_FIELDS = projectableFields();
+
+    private final ExerciseCatalog exerciseCatalog;
     private final ExerciseRecordRepository exerciseRecordRepository;
     private final UserRepository userRepository;
-    private final MongoTemplate mongoTemplate;
+    private final ExerciseSearchCache exerciseSearchCache;
+    private final ObjectMapper objectMapper;
 
+    private static Map<String, Function<Exercise, Object>> projectableFields() {
+        Map<String, Function<Exercise, Object>> fields = new LinkedHashMap<>();
+        fields.put("id", Exercise::getId);
+        fields.put("name", Exercise::getName);
+        fields.put("level", Exercise::getLevel);
+        fields.put("force", Exercise::getForce);
+        fields.put("mechanic", Exercise::getMechanic);
+        fields.put("equipment", Exercise::getEquipment);
+        fields.put("primaryMuscles", Exercise::getPrimaryMuscles);
+        fields.put("secondaryMuscles", Exercise::getSecondaryMuscles);
+        fields.put("instructions", Exercise::getInstructions);
+        fields.put("category", Exercise::getCategory);
+        return Collections.unmodifiableMap(fields);
+    }
 
-    public List<Exercise> searchExercises(String name, Category category, Level level,
-                                          List<MuscleGroup> primaryMuscles, List<MuscleGroup> secondaryMuscles,
-                                          Equipment equipment) {
-        List<Criteria> criteriaList = new ArrayList<>();
+    /**
+     * Catalog search with paging. {@code sort} is a field name ({@code name}, {@code category}, {@code level},
+     * {@code equipment}), prefixed with {@code -} for descending; without it results keep catalog order. Without
+     * {@code limit} every match from {@code offset} on is returned. {@code fields} is a comma-separated list of
+     * top-level fields to return ({@code id} is always included, fields come in a fixed order); without it whole
+     * documents are returned.
+     */
+    public ExerciseSearchPage searchExercises(String name, Category category, Level level,
+                                              List<MuscleGroup> primaryMuscles, List<MuscleGroup> secondaryMuscles,
+                                              Equipment equipment, String sort, Integer offset, Integer limit,
+                                              String fields) {
+        ExerciseCatalog.Snapshot snapshot = exerciseCatalog.snapshot();
+        return search(snapshot, canonicalQuery(snapshot, name, category, level, primaryMuscles, secondaryMuscles,
+                equipment, sort, offset, limit, fields));
+    }
 
-        if (name != null && !name.trim().isEmpty()) {
-            criteriaList.add(Criteria.where("name").regex(name, "i"));
-        }
+    /**
+     * {@link #searchExercises} rendered as JSON bytes, served from {@link ExerciseSearchCache}. Requests that differ
+     * only in letter case of the name, the order or repetition of muscles, or the order of fields share one cache
+     * entry.
+     */
+    public ExerciseSearchCache.Entry searchExercisesJson(String name, Category category, Level level,
+                                                         List<MuscleGroup> primaryMuscles, List<MuscleGroup> secondaryMuscles,
+                                                         Equipment equipment, String sort, Integer offset, Integer limit,
+                                                         String fields) {
+        ExerciseCatalog.Snapshot snapshot = exerciseCatalog.snapshot();
+        ExerciseSearchCache.Key key = canonicalQuery(snapshot, name, category, level, primaryMuscles, secondaryMuscles,
+                equipment, sort, offset, limit, fields);
+        return exerciseSearchCache.get(key, () -> {
+            ExerciseSearchPage page = search(snapshot, key);
+            try {
+                return new ExerciseSearchCache.Entry(objectMapper.writeValueAsBytes(page.getExercises()), page.getTotal());
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Could not serialize exercise search results", e);
+            }
+        });
+    }
 
-        if (category != null) {
-            criteriaList.add(Criteria.where("category").is(category));
+    // Validates the parameters and reduces them to the one form every equivalent request shares
+    private static ExerciseSearchCache.Key canonicalQuery(ExerciseCatalog.Snapshot snapshot, String name,
+                                                          Category category, Level level,
+                                                          List<MuscleGroup> primaryMuscles,
+                                                          List<MuscleGroup> secondaryMuscles, Equipment equipment,
+                                                          String sort, Integer offset, Integer limit, String fields) {
+        int skip = offset != null ? offset : 0;
+        if (skip < 0) {
+            throw new BadRequestException("offset must not be negative");
         }
-
-        if (level != null) {
-            criteriaList.add(Criteria.where("level").is(level));
+        if (limit != null && (limit < 1 || limit > MAX_SEARCH_LIMIT)) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_SEARCH_LIMIT);
         }
+        String sortKey = sort != null ? sort.trim() : null;
+        boolean descending = sortKey != null && sortKey.startsWith("-");
+        if (descending && sortKey.substring(1).isBlank()) {
+            throw new BadRequestException("sort needs a field name after '-'");
+        }
+        ExerciseSearchIndex.SortField sortField = parseSortField(descending ? sortKey.substring(1) : sortKey);
+        // The index ignores blank names and matches case-insensitively, but surrounding blanks are part of the needle
+        String normalizedName = name == null || name.isBlank() ? null : name.toLowerCase(Locale.ROOT);
+        return new ExerciseSearchCache.Key(snapshot.version(), normalizedName, category, level,
+                canonicalMuscles(primaryMuscles), canonicalMuscles(secondaryMuscles), equipment,
+                sortField, sortField != null && descending, skip, limit, parseFields(fields));
+    }
 
-        if (primaryMuscles != null && !primaryMuscles.isEmpty()) {
-            criteriaList.add(Criteria.where("primaryMuscles").all(primaryMuscles));
+    private static List<MuscleGroup> canonicalMuscles(List<MuscleGroup> muscles) {
+        if (muscles == null) {
+            return List.of();
         }
+        return muscles.stream().filter(Objects::nonNull).distinct().sorted().toList();
+    }
+
+    private static ExerciseSearchPage search(ExerciseCatalog.Snapshot snapshot, ExerciseSearchCache.Key key) {
+        ExerciseSearchIndex.Page page = snapshot.search().search(
+                new ExerciseSearchIndex.Query(key.name(), key.category(), key.level(), key.primaryMuscles(),
+                        key.secondaryMuscles(), key.equipment()),
+                key.sort(), key.descending(), key.offset(), key.limit() != null ? key.limit() : Integer.MAX_VALUE);
+        List<?> exercises = key.fields() == null
+                ? page.exercises()
+                : page.exercises().stream().map(exercise -> project(exercise, key.fields())).toList();
+        return ExerciseSearchPage.builder()
+                .total(page.total())
+                .exercises(exercises)
+                .build();
+    }
 
-        if (secondaryMuscles != null && !secondaryMuscles.isEmpty()) {
-            criteriaList.add(Criteria.where("secondaryMuscles").all(secondaryMuscles));
+    private static ExerciseSearchIndex.SortField parseSortField(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return null;
         }
+        return switch (sort.trim()) {
+            case "name" -> ExerciseSearchIndex.SortField.NAME;
+            case "category" -> ExerciseSearchIndex.SortField.CATEGORY;
+            case "level" -> ExerciseSearchIndex.SortField.LEVEL;
+            case "equipment" -> ExerciseSearchIndex.SortField.EQUIPMENT;
+            default -> throw new BadRequestException("Unsupported sort field: " + sort);
+        };
+    }
 
-        if (equipment != null) {
-            criteriaList.add(Criteria.where("equipment").is(equipment));
+    // The selected fields in PROJECTABLE_FIELDS order, so the same set always yields the same list
+    private static List<String> parseFields(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
         }
+        Set<String> selected = new HashSet<>();
+        selected.add("id");
+        for (String field : fields.split(",")) {
+            String trimmed = field.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            if (!PROJECTABLE_FIELDS.containsKey(trimmed)) {
+                throw new BadRequestException("Unknown field: " + trimmed);
+            }
+            selected.add(trimmed);
+        }
+        return PROJECTABLE_FIELDS.keySet().stream().filter(selected::contains).toList();
+    }
 
-        if (criteriaList.isEmpty()) {
-            return exerciseRepository.findAll();
+    private static Map<String, Object> project(Exercise exercise, List<String> fields) {
+        Map<String, Object> projected = new LinkedHashMap<>();
+        for (String field : fields) {
+            projected.put(field, PROJECTABLE_FIELDS.get(field).apply(exercise));
         }
+        return projected;
+    }
 
-        Criteria combinedCriteria = new Criteria().andOperator(criteriaList.toArray(new Criteria[0]));
-        Query query = new Query(combinedCriteria);
+    public ExerciseCatalogDelta getCatalogChanges(String since) {
+        return exerciseCatalog.changesSince(since);
+    }
 
-        return mongoTemplate.find(query, Exercise.class);
+    /**
+     * Autocomplete for the exercise picker: up to {@code limit} exercises (default {@value #DEFAULT_SUGGEST_LIMIT})
+     * whose name matches the partial, possibly misspelled query, best match first.
+     */
+    public List<Exercise> suggestExercises(String query, Integer limit) {
+        int size = limit != null ? limit : DEFAULT_SUGGEST_LIMIT;
+        if (size < 1 || size > MAX_SUGGEST_LIMIT) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_SUGGEST_LIMIT);
+        }
+        return exerciseCatalog.snapshot().suggest().suggest(query, size);
     }
 
     public List<ExerciseLogResponse> getExerciseLogs(String workosId, String exerciseId) {
-        // Verify the exercise exists
-        Exercise exercise = exerciseRepository.findById(exerciseId)
-                .orElseThrow(() -> new NotFoundException("Exercise not found: " + exerciseId));
-
         // Look up user by workosId to get database userId
         User user = userRepository.findByWorkosId(workosId)
                 .orElseThrow(() -> new NotFoundException("User not found"));
 
-        // Get all exercise records for this user and exercise, ordered by creation time (most recent first)
+        // Get all exercise records for this user and exercise, ordered by creation time (oldest first)
         List<ExerciseRecord> exerciseRecords = exerciseRecordRepository
                 .findByUserIdAndExerciseIdOrderByCreatedAtAsc(user.getId(), exerciseId);
 
+        // Records carry a snapshot of the exercise name; the catalog is only consulted to tell an unknown
+        // exercise from an empty history, or for records written before the snapshot existed
         if (exerciseRecords.isEmpty()) {
+            if (!exerciseCatalog.exists(exerciseId)) {
+                throw new NotFoundException("Exercise not found: " + exerciseId);
+            }
             return new ArrayList<>();
         }
+        String fallbackName = exerciseRecords.stream().allMatch(r -> r.getExerciseName() != null)
+                ? null
+                : exerciseCatalog.findName(exerciseId).orElse("Unknown");
 
         // Build the response
         return exerciseRecords.stream()
                 .map(record -> ExerciseLogResponse.builder()
                         .exerciseRecordId(record.getId())
                         .exerciseId(record.getExerciseId())
-                        .exerciseName(exercise.getName())
+                        .exerciseName(record.getExerciseName() != null ? record.getExerciseName() : fallbackName)
                         .createdAt(record.getCreatedAt())
                         .reps(record.getReps())
                         .weight(record.getWeight())
@@ -107,4 +256,69 @@ public class ExerciseService {
                         .build())
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Estimated-1RM and volume series of one exercise for the user, downsampled with LTTB to at most
+     * {@code points} points each (default {@value #DEFAULT_SERIES_POINTS}). {@code from} and {@code to} are
+     * inclusive days and may be omitted for an open-ended window. The records are counted and then read in a
+     * single pass over an index-ordered cursor, so memory and payload stay bounded however long the history is.
+     */
+    public ExerciseSeriesResponse getExerciseSeries(String workosId, String exerciseId, LocalDate from, LocalDate to, Integer points) {
+        int threshold = points != null ? points : DEFAULT_SERIES_POINTS;
+        if (threshold < 3 || threshold > MAX_SERIES_POINTS) {
+            throw new BadRequestException("points must be between 3 and " + MAX_SERIES_POINTS);
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new BadRequestException("from must not be after to");
+        }
+        User user = userRepository.findByWorkosId(workosId)
+                .orElseThrow(() -> new NotFoundException("User not found"));
+
+        LocalDateTime start = from != null ? from.atStartOfDay() : null;
+        LocalDateTime end = to != null ? to.plusDays(1).atStartOfDay() : null;
+        long total = exerciseRecordRepository.countInWindow(user.getId(), exerciseId, start, end);
+        // As with the logs, records of an exercise that has since left the catalog are still charted
+        String exerciseName = exerciseCatalog.findName(exerciseId).orElse(null);
+        if (exerciseName == null && total == 0) {
+            throw new NotFoundException("Exercise not found: " + exerciseId);
+        }
+
+        LttbDownsampler oneRm = new LttbDownsampler(total, threshold);
+        LttbDownsampler volume = new LttbDownsampler(total, threshold);
+        if (total > 0) {
+            try (Stream<ExerciseRecord> records = exerciseRecordRepository.streamSeries(user.getId(), exerciseId, start, end, SERIES_BATCH_SIZE)) {
+                records.forEach(record -> {
+                    if (record.getCreatedAt() == null) return;
+                    long x = record.getCreatedAt().toInstant(ZoneOffset.UTC).toEpochMilli();
+                    Double best = AchievementCalculator.computeBestEstimatedOneRm(record.getReps(), record.getWeight()).bestOneRm();
+                    if (best != null) {
+                        oneRm.add(x, best);
+                    }
+                    Double recordVolume = AchievementCalculator.computeTotalVolume(record.getReps(), record.getWeight());
+                    if (recordVolume != null) {
+                        volume.add(x, recordVolume);
+                    }
+                });
+            }
+        }
+
+        return ExerciseSeriesResponse.builder()
+                .exerciseId(exerciseId)
+                .exerciseName(exerciseName)
+                .from(from)
+                .to(to)
+                .totalRecords(total)
+                .estimatedOneRm(toSeries(oneRm.finish()))
+                .volume(toSeries(volume.finish()))
+                .build();
+    }
+
+    private static List<ExerciseSeriesResponse.Point> toSeries(List<LttbDownsampler.Point> points) {
+        List<ExerciseSeriesResponse.Point> series = new ArrayList<>(points.size());
+        for (LttbDownsampler.Point point : points) {
+            series.add(new ExerciseSeriesResponse.Point(
+                    LocalDateTime.ofInstant(Instant.ofEpochMilli(point.x()), ZoneOffset.UTC), point.y()));
+        }
+        return series;
+    }
 }
@@ -0,0 +1,154 @@
+package com.services.active.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.services.active.exceptions.BadRequestException;
+import com.services.active.exceptions.ConflictException;
+import com.services.active.exceptions.UnprocessableEntityException;
+import com.services.active.models.IdempotencyRecord;
+import com.services.active.models.types.IdempotencyStatus;
+import com.services.active.repository.IdempotencyRecordRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+
+/**
+ * Runs client requests at most once per {@code Idempotency-Key}.
+ * The first request claims the key by inserting a document whose _id is derived from the user and key, together
+ * with a hash of the request body and a short {@link #LEASE}. A concurrent or later duplicate fails that insert and
+ * either replays the stored response, or is rejected while the original is still running. A key reused for a
+ * different request body is rejected with 422. A claim whose lease ran out (the process died mid-request) is taken
+ * over by the next retry, which then runs the request itself. Keys expire after {@link #TTL}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IdempotencyService {
+
+    static final Duration TTL = Duration.ofHours(24);
+    static final Duration LEASE = Duration.ofMinutes(2);
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * {@code body} is null when replaying a request whose response could not be stored.
+     */
+    public record Result<T>(T body, boolean replayed) {}
+
+    public <T> Result<T> execute(String workosId, String key, Object request, Class<T> responseType, Supplier<T> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException("Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        String id = workosId + ":" + key;
+        String requestHash = fingerprint(request);
+
+        // Millisecond precision, as stored, so the lease identifies this request's claim when releasing it
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        LocalDateTime lease = now.plus(LEASE);
+        try {
+            idempotencyRecordRepository.insert(IdempotencyRecord.builder()
+                    .id(id)
+                    .status(IdempotencyStatus.IN_PROGRESS)
+                    .requestHash(requestHash)
+                    .leaseExpiresAt(lease)
+                    .createdAt(now)
+                    .build());
+        } catch (DuplicateKeyException e) {
+            IdempotencyRecord existing = idempotencyRecordRepository.findById(id).orElse(null);
+            if (existing != null && existing.getRequestHash() != null && !existing.getRequestHash().equals(requestHash)) {
+                throw new UnprocessableEntityException("Idempotency-Key was already used for a different request");
+            }
+            if (existing == null || existing.getStatus() == IdempotencyStatus.IN_PROGRESS) {
+                if (!takeOverExpiredClaim(id, requestHash, now, lease)) {
+                    throw new ConflictException("A request with this Idempotency-Key is already being processed");
+                }
+            } else {
+                return replay(existing, responseType);
+            }
+        }
+
+        T response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            // Release the key so the client can retry a request that did not go through
+            releaseClaim(id, requestHash, lease);
+            throw e;
+        }
+
+        IdempotencyRecord.IdempotencyRecordBuilder completed = IdempotencyRecord.builder()
+                .id(id)
+                .requestHash(requestHash)
+                .createdAt(LocalDateTime.now());
+        try {
+            completed.status(IdempotencyStatus.COMPLETED).responseJson(objectMapper.writeValueAsString(response));
+        } catch (JsonProcessingException e) {
+            // The work is done; retries must not run it again, so they get a bodiless replay instead
+            log.error("Failed to store idempotent response for key {}", id, e);
+            completed.status(IdempotencyStatus.COMPLETED_WITHOUT_RESPONSE);
+        }
+        idempotencyRecordRepository.save(completed.build());
+        return new Result<>(response, false);
+    }
+
+    // Atomically extends a claim whose lease has run out (or that predates leases) to the caller
+    private boolean takeOverExpiredClaim(String id, String requestHash, LocalDateTime now, LocalDateTime lease) {
+        Query claim = new Query(Criteria.where("_id").is(id)
+                .and("status").is(IdempotencyStatus.IN_PROGRESS)
+                .orOperator(Criteria.where("leaseExpiresAt").lt(now), Criteria.where("leaseExpiresAt").exists(false)));
+        Update takeOver = new Update()
+                .set("leaseExpiresAt", lease)
+                .set("requestHash", requestHash);
+        boolean taken = mongoTemplate.updateFirst(claim, takeOver, IdempotencyRecord.class).getModifiedCount() == 1;
+        if (taken) {
+            log.warn("Taking over expired idempotency claim {}", id);
+        }
+        return taken;
+    }
+
+    // Deletes the claim only while it is still the one this request wrote; a retry may have taken it over after the lease ran out
+    private void releaseClaim(String id, String requestHash, LocalDateTime lease) {
+        Query ours = new Query(Criteria.where("_id").is(id)
+                .and("status").is(IdempotencyStatus.IN_PROGRESS)
+                .and("requestHash").is(requestHash)
+                .and("leaseExpiresAt").is(lease));
+        if (mongoTemplate.remove(ours, IdempotencyRecord.class).getDeletedCount() == 0) {
+            log.warn("Idempotency claim {} was taken over before it could be released", id);
+        }
+    }
+
+    private <T> Result<T> replay(IdempotencyRecord existing, Class<T> responseType) {
+        if (existing.getStatus() == IdempotencyStatus.COMPLETED_WITHOUT_RESPONSE || existing.getResponseJson() == null) {
+            return new Result<>(null, true);
+        }
+        try {
+            return new Result<>(objectMapper.readValue(existing.getResponseJson(), responseType), true);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored idempotent response is unreadable for key " + existing.getId(), e);
+        }
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not fingerprint request", e);
+        }
+    }
+}
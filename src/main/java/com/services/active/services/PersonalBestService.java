@@ -6,7 +6,6 @@ import com.services.active.repository.ExercisePersonalBestRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
 import java.util.*;
 
 @Service
@@ -17,39 +16,36 @@ public class PersonalBestService {
 
     public Map<String, ExercisePersonalBest> getCurrentPbs(String userId, Set<String> exerciseIds) {
         Map<String, ExercisePersonalBest> map = new HashMap<>();
-        for (String exId : exerciseIds) {
-            personalBestRepository.findByUserIdAndExerciseId(userId, exId)
-                    .ifPresent(pb -> map.put(exId, pb));
+        if (exerciseIds.isEmpty()) {
+            return map;
         }
+        // One $in query served by the user_exercise_unique index
+        personalBestRepository.findAllByUserIdAndExerciseIdIn(userId, exerciseIds)
+                .forEach(pb -> map.put(pb.getExerciseId(), pb));
         return map;
     }
 
     public void persistPrs(String userId, List<ExerciseRecord> savedExerciseRecords) {
+        // Collapse the batch to the best PR per exercise, then upsert them all in one bulk write
+        Map<String, ExercisePersonalBest> bestByExercise = new LinkedHashMap<>();
         for (ExerciseRecord record : savedExerciseRecords) {
             boolean prOneRm = record.getAchievedOneRm() != null;
             boolean prVolume = record.getAchievedTotalVolume() != null;
             if (!prOneRm && !prVolume) continue;
 
-            String exerciseId = record.getExerciseId();
-            ExercisePersonalBest pb = personalBestRepository
-                    .findByUserIdAndExerciseId(userId, exerciseId)
-                    .orElse(ExercisePersonalBest.builder()
-                            .userId(userId)
-                            .exerciseId(exerciseId)
-                            .createdAt(LocalDateTime.now())
-                            .build());
+            ExercisePersonalBest pb = bestByExercise.computeIfAbsent(record.getExerciseId(),
+                    exerciseId -> ExercisePersonalBest.builder().userId(userId).exerciseId(exerciseId).build());
 
-            if (prOneRm) {
+            if (prOneRm && (pb.getOneRm() == null || record.getAchievedOneRm().getValue() > pb.getOneRm())) {
                 pb.setOneRm(record.getAchievedOneRm().getValue());
                 pb.setOneRmRecordId(record.getId());
                 pb.setOneRmRecordSetIndex(record.getAchievedOneRm().getSetIndex());
             }
-            if (prVolume) {
+            if (prVolume && (pb.getTotalVolume() == null || record.getAchievedTotalVolume().getValue() > pb.getTotalVolume())) {
                 pb.setTotalVolume(record.getAchievedTotalVolume().getValue());
                 pb.setTotalVolumeRecordId(record.getId());
             }
-            pb.setUpdatedAt(LocalDateTime.now());
-            personalBestRepository.save(pb);
         }
+        personalBestRepository.upsertBests(bestByExercise.values());
     }
 }
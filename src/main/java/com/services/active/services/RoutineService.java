@@ -27,6 +27,8 @@ public class RoutineService {
 
     private final RoutineRepository routineRepository;
     private final UserRepository userRepository;
+    private final UserDataVersionService userDataVersionService;
+    private final UserReadCache userReadCache;
 
     public Routine createRoutine(String workosId, CreateRoutineRequest request) {
         // First get the user to obtain the database ID
@@ -62,13 +64,17 @@ public class RoutineService {
             user.setActiveRoutineId(saved.getId());
             userRepository.save(user);
         }
+        userReadCache.invalidateRoutines(workosId);
+        userDataVersionService.bump(workosId);
         return saved;
     }
 
     public List<Routine> listRoutines(String workosId) {
-        User user = userRepository.findByWorkosId(workosId)
-                .orElseThrow(() -> new NotFoundException("User not found"));
-        return routineRepository.findAllByUserIdOrderByCreatedAtDesc(user.getId());
+        return userReadCache.routines(workosId, userDataVersionService.current(workosId), () -> {
+            User user = userRepository.findByWorkosId(workosId)
+                    .orElseThrow(() -> new NotFoundException("User not found"));
+            return routineRepository.findAllByUserIdOrderByCreatedAtDesc(user.getId());
+        });
     }
 
     public Routine getRoutine(String workosId, String id) {
@@ -150,7 +156,11 @@ public class RoutineService {
         }
         if (changed) {
             existing.setUpdatedAt(LocalDateTime.now());
-            return routineRepository.save(existing);
+            existing = routineRepository.save(existing);
+            userReadCache.invalidateRoutines(workosId);
+        }
+        if (changed || request.getActive() != null) {
+            userDataVersionService.bump(workosId);
         }
         return existing;
     }
@@ -170,5 +180,7 @@ public class RoutineService {
             userRepository.save(user);
         }
         routineRepository.deleteById(id);
+        userReadCache.invalidateRoutines(workosId);
+        userDataVersionService.bump(workosId);
     }
 }
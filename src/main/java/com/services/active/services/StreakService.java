@@ -60,7 +60,7 @@ public class StreakService {
             // SEQUENTIAL routine logic
             if (streak.getStreakFreezeCount() > 0) {
                 streak.setStreakFreezeCount(streak.getStreakFreezeCount() - 1);
-                NextWorkout next = calculateNextWorkoutDay(user, deadline);
+                NextWorkout next = calculateNextWorkoutDay(activeRoutine, deadline);
                 streak.setNextWorkoutId(next.workoutId());
                 streak.setNextWorkoutDeadline(next.deadline());
             } else {
@@ -76,22 +76,41 @@ public class StreakService {
         User user = userRepository.findByWorkosId(workosId)
                 .orElseThrow(() -> new NotFoundException("User not found"));
 
-        StreakInfo streak = safeStreak(user);
-        LocalDate today = LocalDate.now();
+        SubmissionUnitOfWork unitOfWork = new SubmissionUnitOfWork(user, routineRepository, userRepository);
+        StreakUpdateResponse response = onWorkoutCompleted(unitOfWork, completedWorkoutId);
+        unitOfWork.flush();
+        return response;
+    }
+
+    /**
+     * Applies a completed workout to the streak of the unit of work's user.
+     * Reads go through the unit of work and the user is only marked dirty; the caller flushes.
+     */
+    public StreakUpdateResponse onWorkoutCompleted(SubmissionUnitOfWork unitOfWork, String completedWorkoutId) {
+        return onWorkoutCompleted(unitOfWork, completedWorkoutId, LocalDate.now());
+    }
+
+    /**
+     * Same as {@link #onWorkoutCompleted(SubmissionUnitOfWork, String)} but evaluated as if the workout was
+     * completed on {@code today}; used to replay offline workouts in chronological order.
+     */
+    public StreakUpdateResponse onWorkoutCompleted(SubmissionUnitOfWork unitOfWork, String completedWorkoutId, LocalDate today) {
+        StreakInfo streak = safeStreak(unitOfWork.getUser());
 
         // Check if we should use weekly completion logic
-        Optional<Routine> activeRoutine = getActiveRoutine(user);
+        Optional<Routine> activeRoutine = unitOfWork.getActiveRoutine();
         if (activeRoutine.isPresent() && activeRoutine.get().getRoutineType() == RoutineType.WEEKLY_COMPLETION) {
-            return onWeeklyWorkoutCompleted(user, streak, activeRoutine.get(), completedWorkoutId, today);
+            return onWeeklyWorkoutCompleted(unitOfWork, streak, activeRoutine.get(), completedWorkoutId, today);
         }
 
         // SEQUENTIAL routine logic (original behavior)
-        return onSequentialWorkoutCompleted(user, streak, completedWorkoutId, today);
+        return onSequentialWorkoutCompleted(unitOfWork, streak, completedWorkoutId, today);
     }
 
-    private StreakUpdateResponse onSequentialWorkoutCompleted(User user, StreakInfo streak, String completedWorkoutId, LocalDate today) {
-        // Block multiple streak counts within the same calendar day
-        if (streak.getLastWorkoutCountedDate() != null && today.isEqual(streak.getLastWorkoutCountedDate())) {
+    private StreakUpdateResponse onSequentialWorkoutCompleted(SubmissionUnitOfWork unitOfWork, StreakInfo streak, String completedWorkoutId, LocalDate today) {
+        // Block multiple streak counts within the same calendar day, and replayed offline workouts from before the
+        // last counted day: the streak has already moved past them
+        if (streak.getLastWorkoutCountedDate() != null && !today.isAfter(streak.getLastWorkoutCountedDate())) {
             return snapshot(streak, StreakUpdateStatus.WRONG_WORKOUT);
         }
 
@@ -110,11 +129,11 @@ public class StreakService {
             if (streak.getCurrentStreak() > streak.getLongestStreak()) {
                 streak.setLongestStreak(streak.getCurrentStreak());
             }
-            NextWorkout next = calculateNextWorkoutDay(user, today);
+            NextWorkout next = calculateNextWorkoutDay(unitOfWork.getActiveRoutine(), today);
             streak.setNextWorkoutId(next.workoutId());
             streak.setNextWorkoutDeadline(next.deadline());
             streak.setLastWorkoutCountedDate(today);
-            userRepository.save(user);
+            unitOfWork.markUserDirty();
             status = StreakUpdateStatus.STARTED;
             return snapshot(streak, status);
         }
@@ -125,11 +144,11 @@ public class StreakService {
             if (streak.getCurrentStreak() > streak.getLongestStreak()) {
                 streak.setLongestStreak(streak.getCurrentStreak());
             }
-            NextWorkout next = calculateNextWorkoutDay(user, today);
+            NextWorkout next = calculateNextWorkoutDay(unitOfWork.getActiveRoutine(), today);
             streak.setNextWorkoutId(next.workoutId());
             streak.setNextWorkoutDeadline(next.deadline());
             streak.setLastWorkoutCountedDate(today);
-            userRepository.save(user);
+            unitOfWork.markUserDirty();
             status = StreakUpdateStatus.BROKEN_RESET;
         } else {
             int prev = streak.getCurrentStreak();
@@ -137,23 +156,35 @@ public class StreakService {
             if (streak.getCurrentStreak() > streak.getLongestStreak()) {
                 streak.setLongestStreak(streak.getCurrentStreak());
             }
-            NextWorkout next = calculateNextWorkoutDay(user, today);
+            NextWorkout next = calculateNextWorkoutDay(unitOfWork.getActiveRoutine(), today);
             streak.setNextWorkoutId(next.workoutId());
             streak.setNextWorkoutDeadline(next.deadline());
             streak.setLastWorkoutCountedDate(today);
-            userRepository.save(user);
+            unitOfWork.markUserDirty();
             status = (prev == 0) ? StreakUpdateStatus.STARTED : StreakUpdateStatus.CONTINUED;
         }
 
         return snapshot(streak, status);
     }
 
-    private StreakUpdateResponse onWeeklyWorkoutCompleted(User user, StreakInfo streak, Routine routine,
+    private StreakUpdateResponse onWeeklyWorkoutCompleted(SubmissionUnitOfWork unitOfWork, StreakInfo streak, Routine routine,
                                                           String completedWorkoutId, LocalDate today) {
         // Get the Monday of the current week
         LocalDate currentMonday = today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
         LocalDate endOfWeek = currentMonday.plusDays(6); // Sunday
 
+        // Get all required workout IDs from the routine pattern
+        Set<String> requiredWorkoutIds = routine.getPattern().stream()
+                .filter(p -> p.getDayType() == DayType.WORKOUT)
+                .map(RoutinePattern::getWorkoutId)
+                .collect(Collectors.toSet());
+        int requiredCount = requiredWorkoutIds.size();
+
+        // A replayed offline workout from a week before the tracked one cannot count any more
+        if (streak.getCurrentWeekStart() != null && currentMonday.isBefore(streak.getCurrentWeekStart())) {
+            return snapshot(streak, StreakUpdateStatus.WRONG_WORKOUT, requiredCount);
+        }
+
         // Check if we need to reset weekly tracking (new week started)
         if (streak.getCurrentWeekStart() == null || !streak.getCurrentWeekStart().equals(currentMonday)) {
             // Check if previous week was missed (streak broken)
@@ -177,13 +208,6 @@ public class StreakService {
             streak.setWeeklyCompletedWorkoutIds(new HashSet<>());
         }
 
-        // Get all required workout IDs from the routine pattern
-        Set<String> requiredWorkoutIds = routine.getPattern().stream()
-                .filter(p -> p.getDayType() == DayType.WORKOUT)
-                .map(RoutinePattern::getWorkoutId)
-                .collect(Collectors.toSet());
-        int requiredCount = requiredWorkoutIds.size();
-
         // Check if the completed workout is part of this routine
         if (!requiredWorkoutIds.contains(completedWorkoutId)) {
             return snapshot(streak, StreakUpdateStatus.WRONG_WORKOUT, requiredCount);
@@ -201,7 +225,9 @@ public class StreakService {
 
         // Mark this workout as completed
         streak.getWeeklyCompletedWorkoutIds().add(completedWorkoutId);
-        streak.setLastWorkoutCountedDate(today);
+        if (streak.getLastWorkoutCountedDate() == null || today.isAfter(streak.getLastWorkoutCountedDate())) {
+            streak.setLastWorkoutCountedDate(today);
+        }
 
         // Check if all workouts for the week are now complete
         if (streak.getWeeklyCompletedWorkoutIds().containsAll(requiredWorkoutIds)) {
@@ -216,7 +242,7 @@ public class StreakService {
             streak.setNextWorkoutDeadline(nextMonday.plusDays(6)); // Next Sunday
             streak.setNextWorkoutId(null); // No specific workout required next
 
-            userRepository.save(user);
+            unitOfWork.markUserDirty();
             return snapshot(streak, prev == 0 ? StreakUpdateStatus.STARTED : StreakUpdateStatus.CONTINUED, requiredCount);
         } else {
             // Still workouts remaining this week
@@ -226,7 +252,7 @@ public class StreakService {
             streak.setNextWorkoutId(remaining.iterator().next());
             streak.setNextWorkoutDeadline(endOfWeek);
 
-            userRepository.save(user);
+            unitOfWork.markUserDirty();
             return snapshot(streak, StreakUpdateStatus.WEEKLY_PROGRESS, requiredCount);
         }
     }
@@ -273,12 +299,7 @@ public class StreakService {
 
     private record NextWorkout(String workoutId, LocalDate deadline) {}
 
-    private NextWorkout calculateNextWorkoutDay(User user, LocalDate fromDate) {
-        String activeId = user.getActiveRoutineId();
-        if (activeId == null || activeId.isBlank()) {
-            return new NextWorkout(null, fromDate.plusDays(1));
-        }
-        Optional<Routine> optRoutine = routineRepository.findByIdAndUserId(activeId, user.getId());
+    private NextWorkout calculateNextWorkoutDay(Optional<Routine> optRoutine, LocalDate fromDate) {
         if (optRoutine.isEmpty()) {
             return new NextWorkout(null, fromDate.plusDays(1));
         }
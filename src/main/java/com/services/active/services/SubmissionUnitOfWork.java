@@ -0,0 +1,55 @@
+package com.services.active.services;
+
+import com.services.active.models.Routine;
+import com.services.active.models.user.User;
+import com.services.active.repository.RoutineRepository;
+import com.services.active.repository.UserRepository;
+
+import java.util.Optional;
+
+/**
+ * Identity map for a single workout submission.
+ * The user and their active routine are loaded at most once and shared by every service taking part
+ * in the submission; changes to the user are only marked dirty and written by a single {@link #flush()}.
+ * Not thread-safe and not meant to outlive the request that created it.
+ */
+public class SubmissionUnitOfWork {
+
+    private final User user;
+    private final RoutineRepository routineRepository;
+    private final UserRepository userRepository;
+
+    private Optional<Routine> activeRoutine;
+    private boolean userDirty;
+
+    public SubmissionUnitOfWork(User user, RoutineRepository routineRepository, UserRepository userRepository) {
+        this.user = user;
+        this.routineRepository = routineRepository;
+        this.userRepository = userRepository;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public Optional<Routine> getActiveRoutine() {
+        if (activeRoutine == null) {
+            String activeId = user.getActiveRoutineId();
+            activeRoutine = (activeId == null || activeId.isBlank())
+                    ? Optional.empty()
+                    : routineRepository.findByIdAndUserId(activeId, user.getId());
+        }
+        return activeRoutine;
+    }
+
+    public void markUserDirty() {
+        userDirty = true;
+    }
+
+    public void flush() {
+        if (userDirty) {
+            userRepository.save(user);
+            userDirty = false;
+        }
+    }
+}
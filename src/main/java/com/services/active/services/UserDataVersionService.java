@@ -0,0 +1,70 @@
+package com.services.active.services;
+
+import com.services.active.models.UserDataVersion;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+
+/**
+ * Per-user data version backing conditional GETs on user-scoped resources. Write paths call {@link #bump(String)}
+ * after changing anything a user-scoped GET returns; reads turn the current version into a weak ETag, so an
+ * unchanged resource is answered with 304 after a single primary-key lookup. The ETag is scoped to the resource
+ * and to whatever else selects or feeds the representation (query parameters, the catalog version for responses
+ * that embed exercise details), so two different representations never share a validator.
+ * The version is kept out of the user document on purpose: users are saved as whole documents, which would
+ * overwrite concurrent $inc bumps.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserDataVersionService {
+
+    private final MongoTemplate mongoTemplate;
+
+    public void bump(String workosId) {
+        mongoTemplate.upsert(
+                new Query(Criteria.where("_id").is(workosId)),
+                new Update().inc("version", 1).set("updatedAt", LocalDateTime.now()),
+                UserDataVersion.class);
+    }
+
+    public long current(String workosId) {
+        Query query = new Query(Criteria.where("_id").is(workosId));
+        query.fields().include("version");
+        UserDataVersion version = mongoTemplate.findOne(query, UserDataVersion.class);
+        return version != null ? version.getVersion() : 0;
+    }
+
+    /**
+     * Weak ETag {@code W/"<resource>-<version>[-<variant hash>]"}; {@code variant} lists the other inputs of the
+     * representation, nulls included, in a fixed order.
+     */
+    public String etag(String workosId, String resource, Object... variant) {
+        String etag = resource + "-" + current(workosId);
+        if (variant.length > 0) {
+            etag += "-" + variantHash(variant);
+        }
+        return "W/\"" + etag + "\"";
+    }
+
+    private static String variantHash(Object... variant) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Object part : variant) {
+                digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest(), 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
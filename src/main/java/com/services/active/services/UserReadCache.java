@@ -0,0 +1,130 @@
+package com.services.active.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.services.active.dto.UserWorkoutResponse;
+import com.services.active.models.Routine;
+import com.services.active.models.RoutinePattern;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Read-through caches of the per-user lists almost every screen of the app loads: the assembled workouts
+ * (with templates and exercise details) and the routines. Both are keyed by the user's WorkOS id and bounded by
+ * weight, roughly the number of documents an entry was built from, with Caffeine's W-TinyLFU eviction.
+ * <p>
+ * The caches are per instance, so entries are tagged with the user's {@link UserDataVersionService data version}
+ * read before loading them. Every code path that changes what a list would contain bumps that version after its
+ * writes, and a read passes the current version (one primary-key lookup): an entry loaded at an older version is
+ * reloaded, whichever instance made the write. The writing instance also drops its own entry right away.
+ * Workouts embed exercise details, so every workouts entry is dropped when the catalog publishes
+ * {@link ExerciseCatalog.VersionChanged}; each instance reloads its catalog on its own, so until it does, its
+ * entries keep the details it last loaded. The TTL only bounds staleness nothing announces. Hit/miss, eviction and load-time metrics are published as {@code cache.*} meters
+ * tagged {@code cache=user_workouts|user_routines}. Cached workout lists are shared between callers and must not
+ * be mutated; routines are entities that callers may modify, so each read gets its own copies.
+ */
+@Component
+public class UserReadCache {
+
+    private final Cache<String, Versioned<List<UserWorkoutResponse>>> workouts;
+    private final Cache<String, Versioned<List<Routine>>> routines;
+
+    private record Versioned<T>(long version, T value) {}
+
+    public UserReadCache(MeterRegistry meterRegistry,
+                         @Value("${active.cache.user-reads.max-weight:200000}") long maxWeight,
+                         @Value("${active.cache.user-reads.ttl:PT10M}") Duration ttl) {
+        this.workouts = Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((String workosId, Versioned<List<UserWorkoutResponse>> entry) -> workoutsWeight(entry.value()))
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.routines = Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((String workosId, Versioned<List<Routine>> entry) -> routinesWeight(entry.value()))
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, workouts, "user_workouts");
+        CaffeineCacheMetrics.monitor(meterRegistry, routines, "user_routines");
+    }
+
+    /**
+     * {@code dataVersion} is the user's current data version, read before the loader runs.
+     */
+    public List<UserWorkoutResponse> workouts(String workosId, long dataVersion, Supplier<List<UserWorkoutResponse>> loader) {
+        return read(workouts, workosId, dataVersion, () -> List.copyOf(loader.get()));
+    }
+
+    public List<Routine> routines(String workosId, long dataVersion, Supplier<List<Routine>> loader) {
+        return copyOf(read(routines, workosId, dataVersion, () -> copyOf(loader.get())));
+    }
+
+    public void invalidateWorkouts(String workosId) {
+        workouts.invalidate(workosId);
+    }
+
+    public void invalidateRoutines(String workosId) {
+        routines.invalidate(workosId);
+    }
+
+    public void invalidateUser(String workosId) {
+        workouts.invalidate(workosId);
+        routines.invalidate(workosId);
+    }
+
+    private static <T> T read(Cache<String, Versioned<T>> cache, String workosId, long dataVersion, Supplier<T> loader) {
+        Versioned<T> entry = cache.get(workosId, id -> new Versioned<>(dataVersion, loader.get()));
+        if (entry.version() >= dataVersion) {
+            return entry.value();
+        }
+        // Written since the entry was loaded, possibly through another instance; keep whichever load is newer
+        Versioned<T> reloaded = new Versioned<>(dataVersion, loader.get());
+        cache.asMap().merge(workosId, reloaded, (current, fresh) -> current.version() >= fresh.version() ? current : fresh);
+        return reloaded.value();
+    }
+
+    @EventListener
+    public void onCatalogVersionChanged(ExerciseCatalog.VersionChanged event) {
+        workouts.invalidateAll();
+    }
+
+    private static List<Routine> copyOf(List<Routine> routines) {
+        return routines.stream().map(UserReadCache::copyOf).toList();
+    }
+
+    private static Routine copyOf(Routine routine) {
+        List<RoutinePattern> pattern = routine.getPattern() == null ? null
+                : routine.getPattern().stream().map(day -> day.toBuilder().build()).collect(Collectors.toList());
+        return routine.toBuilder().pattern(pattern).build();
+    }
+
+    // One unit per document (workout, template, template exercise / routine, pattern day)
+    private static int workoutsWeight(List<UserWorkoutResponse> list) {
+        int weight = 1;
+        for (UserWorkoutResponse workout : list) {
+            weight += 2;
+            if (workout.getWorkoutTemplate() != null && workout.getWorkoutTemplate().getExercises() != null) {
+                weight += workout.getWorkoutTemplate().getExercises().size();
+            }
+        }
+        return weight;
+    }
+
+    private static int routinesWeight(List<Routine> list) {
+        int weight = 1;
+        for (Routine routine : list) {
+            weight += 1 + (routine.getPattern() != null ? routine.getPattern().size() : 0);
+        }
+        return weight;
+    }
+}
@@ -29,6 +29,8 @@ public class UserService {
     private final ExerciseRecordRepository exerciseRecordRepository;
     private final ExercisePersonalBestRepository exercisePersonalBestRepository;
     private final RoutineRepository routineRepository;
+    private final UserDataVersionService userDataVersionService;
+    private final UserReadCache userReadCache;
 
     private final WorkosService workosService;
 
@@ -102,6 +104,7 @@ public class UserService {
 
         WorkOSUser workOSUser = workosService.updateUser(workosId, workosUpdateBuilder.build());
         User dbUser =  userRepository.save(user);
+        userDataVersionService.bump(workosId);
 
         return FullUser.from(dbUser, workOSUser);
     }
@@ -115,6 +118,7 @@ public class UserService {
         if (!user.getPushTokens().contains(token)) {
             user.getPushTokens().add(token);
             user = userRepository.save(user);
+            userDataVersionService.bump(workosId);
         }
         return user;
     }
@@ -146,5 +150,8 @@ public class UserService {
         // Finally, delete the user document
         userRepository.deleteById(user.getId());
         workosService.deleteUser(workosId);
+        userReadCache.invalidateUser(workosId);
+        // Kept (and bumped) rather than deleted so a re-created account never reuses an old ETag
+        userDataVersionService.bump(workosId);
     }
 }
@@ -1,44 +1,90 @@
 package com.services.active.services;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.services.active.config.MongoRoundTripCounter;
+import com.services.active.dto.StreakUpdateResponse;
 import com.services.active.dto.UserWorkoutRecordsResponse;
+import com.services.active.dto.WorkoutRecordBatchRequest;
+import com.services.active.dto.WorkoutRecordBatchResponse;
+import com.services.active.dto.WorkoutRecordPage;
 import com.services.active.dto.WorkoutRecordRequest;
+import com.services.active.exceptions.BadRequestException;
+import com.services.active.exceptions.BulkInsertException;
 import com.services.active.exceptions.NotFoundException;
 import com.services.active.domain.AchievementCalculator;
 import com.services.active.models.ExercisePersonalBest;
 import com.services.active.models.ExerciseRecord;
 import com.services.active.models.Workout;
 import com.services.active.models.WorkoutRecord;
+import com.services.active.models.converters.PackedArrays;
 import com.services.active.models.user.User;
 import com.services.active.repository.ExerciseRecordRepository;
-import com.services.active.repository.ExerciseRepository;
+import com.services.active.repository.HistoryCursor;
+import com.services.active.repository.RoutineRepository;
 import com.services.active.repository.UserRepository;
 import com.services.active.repository.WorkoutRecordRepository;
 import com.services.active.repository.WorkoutRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class WorkoutRecordService {
 
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 100;
+    // Page size for unpaginated reads; also the repository's "no limit"
+    private static final int UNPAGED = 0;
+    static final int EXPORT_CHUNK_SIZE = 100;
+
     private final UserRepository userRepository;
     private final WorkoutRepository workoutRepository;
-    private final ExerciseRepository exerciseRepository;
+    private final ExerciseCatalog exerciseCatalog;
     private final ExerciseRecordRepository exerciseRecordRepository;
     private final WorkoutRecordRepository workoutRecordRepository;
+    private final RoutineRepository routineRepository;
     private final PersonalBestService personalBestService;
     private final StreakService streakService;
+    private final MongoRoundTripCounter roundTripCounter;
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final UserDataVersionService userDataVersionService;
+    private final UserReadCache userReadCache;
+
+    // Serve history from the exercises embedded in workout_records instead of joining exercise_records
+    @Value("${active.workout-records.read-embedded:false}")
+    private boolean readEmbedded;
 
+    /**
+     * Records a completed workout. The submission is bounded to at most 11 MongoDB round trips:
+     * user, workout, current PBs ($in), exercise records (bulk insert), PB upserts (bulk, only with PRs),
+     * workout record insert, workout summary update, active routine (only when set), exercise names
+     * (only for exercises missing from the catalog snapshot), the final user save (only when the streak changed)
+     * and the user's data version bump. The user and routine are read once through a
+     * {@link SubmissionUnitOfWork} shared with the streak logic.
+     */
     public com.services.active.dto.WorkoutRecordCreateResponse createWorkoutRecord(String workosId, WorkoutRecordRequest request) {
+        return roundTripCounter.measure("workout_record.create", () -> doCreateWorkoutRecord(workosId, request));
+    }
+
+    private com.services.active.dto.WorkoutRecordCreateResponse doCreateWorkoutRecord(String workosId, WorkoutRecordRequest request) {
         User user = userRepository.findByWorkosId(workosId)
                 .orElseThrow(() -> new NotFoundException("User not found"));
         String userId = user.getId();
+        SubmissionUnitOfWork unitOfWork = new SubmissionUnitOfWork(user, routineRepository, userRepository);
 
         log.info("createWorkoutRecord workosId: {}, userId: {}, workoutId: {}", workosId, userId, request.getWorkoutId());
 
@@ -46,30 +92,184 @@ public class WorkoutRecordService {
         Workout workout = workoutRepository.findById(request.getWorkoutId())
                 .orElseThrow(() -> new NotFoundException("Workout not found: " + request.getWorkoutId()));
 
-        List<ExerciseRecord> exerciseRecords = request.getExerciseRecords().stream()
+        List<ExerciseRecord> exerciseRecords = toExerciseRecords(userId, request);
+        snapshotExerciseNames(exerciseRecords);
+
+        // Load current PBs for all exerciseIds involved, once
+        Set<String> exerciseIds = exerciseRecords.stream().map(ExerciseRecord::getExerciseId).collect(Collectors.toSet());
+        Map<String, ExercisePersonalBest> currentPbByExercise = personalBestService.getCurrentPbs(userId, exerciseIds);
+
+        // Compute achievements per record using progressive PBs (within this batch)
+        applyAchievements(userId, exerciseRecords, currentPbByExercise);
+
+        // Save records in one bulk write and get the saved objects (with ids)
+        List<ExerciseRecord> savedRecords = insertExerciseRecords(exerciseRecords);
+        List<String> exerciseRecordIds = savedRecords.stream().map(ExerciseRecord::getId).toList();
+
+        // Persist PB documents for records that achieved PRs
+        personalBestService.persistPrs(userId, savedRecords);
+
+        WorkoutRecord workoutRecord = WorkoutRecord.builder()
+                .userId(userId)
+                .workoutId(request.getWorkoutId())
+                .workoutTitle(workout.getTitle())
+                .notes(request.getNotes())
+                .exerciseRecordIds(exerciseRecordIds)
+                .exercises(embed(savedRecords))
+                .startTime(request.getStartTime())
+                .createdAt(LocalDateTime.now())
+                .build();
+
+        WorkoutRecord saved = workoutRecordRepository.save(workoutRecord);
+        workoutRepository.recordPerformed(request.getWorkoutId(), saved.getStartTime() != null ? saved.getStartTime() : saved.getCreatedAt());
+
+        // Update streaks for the user based on the completed workout and capture the update status
+        var streakUpdate = streakService.onWorkoutCompleted(unitOfWork, request.getWorkoutId());
+        unitOfWork.flush();
+        // The workout's recordCount/lastPerformedAt changed
+        userReadCache.invalidateWorkouts(workosId);
+        userDataVersionService.bump(workosId);
+
+        // Build response from saved data (no need to refetch exercise records)
+        return com.services.active.dto.WorkoutRecordCreateResponse.builder()
+                .workoutRecord(toResponse(saved))
+                .streakUpdate(streakUpdate)
+                .build();
+    }
+
+    /**
+     * Records workouts done offline in one go. Records are applied in startTime order (records without a
+     * startTime last, keeping their relative order) so PBs progress and the streak replays as if they had
+     * been uploaded one by one, but the whole batch costs a fixed number of round trips: one read each for
+     * the user, workouts, current PBs, active routine and exercise names, and one bulk write each for
+     * exercise records, PBs, workout records, workout summaries and the user, plus the data version bump.
+     * The response keeps the request order. A startTime in the future rejects the whole batch; records dated
+     * before the last day the streak counted are stored but leave the streak as it is.
+     */
+    public WorkoutRecordBatchResponse createWorkoutRecords(String workosId, WorkoutRecordBatchRequest batch) {
+        return roundTripCounter.measure("workout_record.create_batch", () -> doCreateWorkoutRecords(workosId, batch.getRecords()));
+    }
+
+    private WorkoutRecordBatchResponse doCreateWorkoutRecords(String workosId, List<WorkoutRecordRequest> requests) {
+        // A future startTime would count towards the streak ahead of time
+        LocalDateTime now = LocalDateTime.now();
+        for (WorkoutRecordRequest request : requests) {
+            if (request.getStartTime() != null && request.getStartTime().isAfter(now)) {
+                throw new BadRequestException("startTime must not be in the future: " + request.getStartTime());
+            }
+        }
+
+        User user = userRepository.findByWorkosId(workosId)
+                .orElseThrow(() -> new NotFoundException("User not found"));
+        String userId = user.getId();
+        SubmissionUnitOfWork unitOfWork = new SubmissionUnitOfWork(user, routineRepository, userRepository);
+
+        log.info("createWorkoutRecords workosId: {}, userId: {}, records: {}", workosId, userId, requests.size());
+
+        Set<String> workoutIds = requests.stream().map(WorkoutRecordRequest::getWorkoutId).collect(Collectors.toSet());
+        Map<String, Workout> workoutById = new HashMap<>();
+        workoutRepository.findAllById(workoutIds).forEach(w -> workoutById.put(w.getId(), w));
+        for (String workoutId : workoutIds) {
+            if (!workoutById.containsKey(workoutId)) {
+                throw new NotFoundException("Workout not found: " + workoutId);
+            }
+        }
+
+        // Chronological replay order; List.sort is stable so ties keep the upload order
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) order.add(i);
+        order.sort(Comparator.comparing(i -> requests.get(i).getStartTime(), Comparator.nullsLast(Comparator.naturalOrder())));
+
+        List<List<ExerciseRecord>> exerciseRecordsByRequest = new ArrayList<>(Collections.nCopies(requests.size(), null));
+        for (int i : order) {
+            exerciseRecordsByRequest.set(i, toExerciseRecords(userId, requests.get(i)));
+        }
+
+        snapshotExerciseNames(exerciseRecordsByRequest.stream().flatMap(List::stream).toList());
+
+        Set<String> exerciseIds = exerciseRecordsByRequest.stream()
+                .flatMap(List::stream)
+                .map(ExerciseRecord::getExerciseId)
+                .collect(Collectors.toSet());
+        Map<String, ExercisePersonalBest> currentPbByExercise = personalBestService.getCurrentPbs(userId, exerciseIds);
+
+        List<ExerciseRecord> allRecords = new ArrayList<>();
+        for (int i : order) {
+            applyAchievements(userId, exerciseRecordsByRequest.get(i), currentPbByExercise);
+            allRecords.addAll(exerciseRecordsByRequest.get(i));
+        }
+
+        List<ExerciseRecord> savedRecords = insertExerciseRecords(allRecords);
+        personalBestService.persistPrs(userId, savedRecords);
+
+        List<WorkoutRecord> workoutRecords = new ArrayList<>(Collections.nCopies(requests.size(), null));
+        for (int i : order) {
+            WorkoutRecordRequest request = requests.get(i);
+            workoutRecords.set(i, WorkoutRecord.builder()
+                    .userId(userId)
+                    .workoutId(request.getWorkoutId())
+                    .workoutTitle(workoutById.get(request.getWorkoutId()).getTitle())
+                    .notes(request.getNotes())
+                    .exerciseRecordIds(exerciseRecordsByRequest.get(i).stream().map(ExerciseRecord::getId).toList())
+                    .exercises(embed(exerciseRecordsByRequest.get(i)))
+                    .startTime(request.getStartTime())
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        }
+        List<WorkoutRecord> savedWorkoutRecords = workoutRecordRepository.insert(workoutRecords);
+        workoutRepository.recordPerformed(savedWorkoutRecords);
+
+        List<StreakUpdateResponse> streakUpdates = new ArrayList<>(Collections.nCopies(requests.size(), null));
+        for (int i : order) {
+            LocalDateTime startTime = requests.get(i).getStartTime();
+            LocalDate day = startTime != null ? startTime.toLocalDate() : LocalDate.now();
+            streakUpdates.set(i, streakService.onWorkoutCompleted(unitOfWork, requests.get(i).getWorkoutId(), day));
+        }
+        unitOfWork.flush();
+        // The workout's recordCount/lastPerformedAt changed
+        userReadCache.invalidateWorkouts(workosId);
+        userDataVersionService.bump(workosId);
+
+        List<com.services.active.dto.WorkoutRecordCreateResponse> responses = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            responses.add(com.services.active.dto.WorkoutRecordCreateResponse.builder()
+                    .workoutRecord(toResponse(savedWorkoutRecords.get(i)))
+                    .streakUpdate(streakUpdates.get(i))
+                    .build());
+        }
+        return WorkoutRecordBatchResponse.builder().workoutRecords(responses).build();
+    }
+
+    private List<ExerciseRecord> toExerciseRecords(String userId, WorkoutRecordRequest request) {
+        if (request.getExerciseRecords() == null) {
+            return List.of();
+        }
+        return request.getExerciseRecords().stream()
                 .map(exercise -> ExerciseRecord.builder()
                         .exerciseId(exercise.getExerciseId())
-                        .reps(exercise.getReps())
-                        .weight(exercise.getWeight())
-                        .durationSeconds(exercise.getDurationSeconds())
+                        .reps(PackedArrays.toInts(exercise.getReps()))
+                        .weight(PackedArrays.toDoubles(exercise.getWeight()))
+                        .durationSeconds(PackedArrays.toInts(exercise.getDurationSeconds()))
                         .notes(exercise.getNotes())
                         .userId(userId)
                         .createdAt(LocalDateTime.now())
                         .build())
                 .toList();
+    }
 
-        // Load current PBs for all exerciseIds involved, once
-        Set<String> exerciseIds = exerciseRecords.stream().map(ExerciseRecord::getExerciseId).collect(Collectors.toSet());
-        Map<String, ExercisePersonalBest> currentPbByExercise = personalBestService.getCurrentPbs(userId, exerciseIds);
-
-        // Compute achievements per record using progressive PBs (within this batch)
+    /**
+     * Sets the 1RM / volume achievements on each record that beats the PB in {@code currentPbByExercise},
+     * raising the PB in the map as it goes so later records are compared against earlier ones.
+     */
+    private void applyAchievements(String userId, List<ExerciseRecord> exerciseRecords,
+                                   Map<String, ExercisePersonalBest> currentPbByExercise) {
         for (ExerciseRecord record : exerciseRecords) {
             String exId = record.getExerciseId();
             ExercisePersonalBest currentPb = currentPbByExercise.get(exId);
 
-            List<Integer> reps = record.getReps();
-            List<Double> weight = record.getWeight();
-            boolean hasStrength = reps != null && weight != null && !reps.isEmpty() && !weight.isEmpty();
+            int[] reps = record.getReps();
+            double[] weight = record.getWeight();
+            boolean hasStrength = reps != null && weight != null && reps.length > 0 && weight.length > 0;
             if (!hasStrength) continue;
 
             var bestOneRmResult = AchievementCalculator.computeBestEstimatedOneRm(reps, weight);
@@ -98,105 +298,190 @@ public class WorkoutRecordService {
                 currentPbByExercise.put(exId, currentPb);
             }
         }
+    }
 
-        // Save records and get the saved objects (with ids)
-        List<ExerciseRecord> savedRecords = exerciseRecordRepository.saveAllAndReturn(exerciseRecords);
-        List<String> exerciseRecordIds = savedRecords.stream().map(ExerciseRecord::getId).toList();
-
-        // Persist PB documents for records that achieved PRs
-        personalBestService.persistPrs(userId, savedRecords);
-
-        WorkoutRecord workoutRecord = WorkoutRecord.builder()
-                .userId(userId)
-                .workoutId(request.getWorkoutId())
-                .workoutTitle(workout.getTitle())
-                .notes(request.getNotes())
-                .exerciseRecordIds(exerciseRecordIds)
-                .startTime(request.getStartTime())
-                .createdAt(LocalDateTime.now())
-                .build();
-
-        WorkoutRecord saved = workoutRecordRepository.save(workoutRecord);
-        workoutRepository.updateWorkoutRecordIds(request.getWorkoutId(), saved.getId());
-
-        // Update streaks for the user based on the completed workout and capture the update status
-        var streakUpdate = streakService.onWorkoutCompleted(workosId, request.getWorkoutId());
+    private List<ExerciseRecord> insertExerciseRecords(List<ExerciseRecord> exerciseRecords) {
+        try {
+            return exerciseRecordRepository.saveAllAndReturn(exerciseRecords);
+        } catch (BulkInsertException e) {
+            // Don't leave orphaned exercise records behind a workout record that was never created
+            exerciseRecordRepository.deleteAllById(e.getWrittenIds());
+            throw e;
+        }
+    }
 
-        // Build response from saved data (no need to refetch exercise records)
-        Set<String> savedExIds = savedRecords.stream().map(ExerciseRecord::getExerciseId).collect(Collectors.toSet());
-        Map<String, String> exerciseNameById = new HashMap<>();
-        exerciseRepository.findAllById(savedExIds).forEach(ex -> exerciseNameById.put(ex.getId(), ex.getName()));
+    /**
+     * Copies the current exercise name onto each record that has none yet, from the in-process catalog
+     * (ids it does not know yet cost one $in read).
+     */
+    private void snapshotExerciseNames(List<ExerciseRecord> records) {
+        Set<String> exIds = records.stream()
+                .filter(r -> r.getExerciseName() == null)
+                .map(ExerciseRecord::getExerciseId)
+                .collect(Collectors.toSet());
+        if (exIds.isEmpty()) {
+            return;
+        }
+        Map<String, String> exerciseNameById = exerciseCatalog.findNamesById(exIds);
+        for (ExerciseRecord record : records) {
+            if (record.getExerciseName() == null) {
+                record.setExerciseName(exerciseNameById.get(record.getExerciseId()));
+            }
+        }
+    }
 
-        var exerciseResponses = savedRecords.stream()
-                .map(exRecord -> UserWorkoutRecordsResponse.ExerciseRecordResponse.builder()
-                        .exerciseName(exerciseNameById.getOrDefault(exRecord.getExerciseId(), "Unknown"))
+    private List<WorkoutRecord.EmbeddedExercise> embed(List<ExerciseRecord> records) {
+        return records.stream()
+                .map(exRecord -> WorkoutRecord.EmbeddedExercise.builder()
+                        .recordId(exRecord.getId())
+                        .exerciseId(exRecord.getExerciseId())
+                        .exerciseName(exRecord.getExerciseName() != null ? exRecord.getExerciseName() : "Unknown")
                         .reps(exRecord.getReps())
                         .weight(exRecord.getWeight())
                         .durationSeconds(exRecord.getDurationSeconds())
                         .notes(exRecord.getNotes())
-                        .achievedOneRmValue(exRecord.getAchievedOneRm() != null ? exRecord.getAchievedOneRm().getValue() : null)
-                        .achievedOneRmSetIndex(exRecord.getAchievedOneRm() != null ? exRecord.getAchievedOneRm().getSetIndex() : null)
-                        .achievedTotalVolumeValue(exRecord.getAchievedTotalVolume() != null ? exRecord.getAchievedTotalVolume().getValue() : null)
+                        .achievedOneRm(exRecord.getAchievedOneRm())
+                        .achievedTotalVolume(exRecord.getAchievedTotalVolume())
                         .build())
                 .collect(Collectors.toList());
+    }
 
-        var recordResponse = UserWorkoutRecordsResponse.builder()
-                .id(saved.getId())
-                .workoutId(saved.getWorkoutId())
-                .workoutTitle(saved.getWorkoutTitle())
-                .notes(saved.getNotes())
-                .startTime(saved.getStartTime())
-                .createdAt(saved.getCreatedAt())
+    private UserWorkoutRecordsResponse toResponse(WorkoutRecord workoutRecord) {
+        return toResponse(workoutRecord, workoutRecord.getExercises());
+    }
+
+    private UserWorkoutRecordsResponse toResponse(WorkoutRecord workoutRecord, List<WorkoutRecord.EmbeddedExercise> exercises) {
+        var exerciseResponses = exercises.stream()
+                .map(exercise -> UserWorkoutRecordsResponse.ExerciseRecordResponse.builder()
+                        .exerciseName(exercise.getExerciseName())
+                        .reps(exercise.getReps())
+                        .weight(exercise.getWeight())
+                        .durationSeconds(exercise.getDurationSeconds())
+                        .notes(exercise.getNotes())
+                        .achievedOneRmValue(exercise.getAchievedOneRm() != null ? exercise.getAchievedOneRm().getValue() : null)
+                        .achievedOneRmSetIndex(exercise.getAchievedOneRm() != null ? exercise.getAchievedOneRm().getSetIndex() : null)
+                        .achievedTotalVolumeValue(exercise.getAchievedTotalVolume() != null ? exercise.getAchievedTotalVolume().getValue() : null)
+                        .build())
+                .collect(Collectors.toList());
+
+        return UserWorkoutRecordsResponse.builder()
+                .id(workoutRecord.getId())
+                .workoutId(workoutRecord.getWorkoutId())
+                .workoutTitle(workoutRecord.getWorkoutTitle())
+                .notes(workoutRecord.getNotes())
+                .startTime(workoutRecord.getStartTime())
+                .createdAt(workoutRecord.getCreatedAt())
                 .exerciseRecords(exerciseResponses)
                 .build();
+    }
 
-        return com.services.active.dto.WorkoutRecordCreateResponse.builder()
-                .workoutRecord(recordResponse)
-                .streakUpdate(streakUpdate)
-                .build();
+    /**
+     * One page of the user's history, most recent first. {@code before} is the nextCursor of the previous
+     * page (null for the first one) and {@code limit} defaults to {@value #DEFAULT_PAGE_SIZE}. Without either,
+     * the whole history comes back with no cursor, as it did before pagination, so existing clients keep working.
+     * A page costs the same number of round trips whatever its size: user, workout records, one $in over the
+     * exercise records of every non-embedded record on the page, and exercise names only for legacy records
+     * the catalog snapshot does not cover.
+     */
+    public WorkoutRecordPage getWorkoutRecords(String workosId, String before, Integer limit) {
+        if (before == null && limit == null) {
+            return roundTripCounter.measure("workout_record.history", () -> doGetWorkoutRecords(workosId, null, UNPAGED));
+        }
+        int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        HistoryCursor cursor = before != null ? HistoryCursor.decode(before) : null;
+        return roundTripCounter.measure("workout_record.history", () -> doGetWorkoutRecords(workosId, cursor, pageSize));
     }
 
-    public List<UserWorkoutRecordsResponse> getWorkoutRecords(String workosId) {
+    private WorkoutRecordPage doGetWorkoutRecords(String workosId, HistoryCursor cursor, int pageSize) {
         User user = userRepository.findByWorkosId(workosId)
                 .orElseThrow(() -> new NotFoundException("User not found"));
         String userId = user.getId();
 
-        return workoutRecordRepository.findAllByUserId(userId)
+        // One extra row tells whether an older page exists without a count
+        List<WorkoutRecord> page = workoutRecordRepository.findHistoryPage(userId, cursor,
+                pageSize == UNPAGED ? UNPAGED : pageSize + 1);
+        boolean hasMore = pageSize != UNPAGED && page.size() > pageSize;
+        if (hasMore) {
+            page = page.subList(0, pageSize);
+        }
+        String nextCursor = null;
+        if (hasMore) {
+            WorkoutRecord last = page.get(page.size() - 1);
+            nextCursor = new HistoryCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return WorkoutRecordPage.builder()
+                .workoutRecords(toResponses(page))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Streams the user's whole history as NDJSON (one UserWorkoutRecordsResponse per line, most recent first).
+     * Workout records come from a server-side cursor and are joined in chunks of {@value #EXPORT_CHUNK_SIZE},
+     * so memory stays flat however long the history is. Writes block on {@code out}, which is how a slow
+     * client throttles the cursor.
+     */
+    public void exportWorkoutRecords(String workosId, OutputStream out) throws IOException {
+        User user = userRepository.findByWorkosId(workosId)
+                .orElseThrow(() -> new NotFoundException("User not found"));
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+             Stream<WorkoutRecord> records = workoutRecordRepository.streamHistory(user.getId(), EXPORT_CHUNK_SIZE)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Lines are terminated explicitly instead of Jackson's default space between root values
+            generator.setRootValueSeparator(null);
+            List<WorkoutRecord> chunk = new ArrayList<>(EXPORT_CHUNK_SIZE);
+            Iterator<WorkoutRecord> it = records.iterator();
+            while (it.hasNext()) {
+                chunk.add(it.next());
+                if (chunk.size() == EXPORT_CHUNK_SIZE || !it.hasNext()) {
+                    for (UserWorkoutRecordsResponse response : toResponses(chunk)) {
+                        generator.writeObject(response);
+                        generator.writeRaw('\n');
+                    }
+                    generator.flush();
+                    chunk.clear();
+                }
+            }
+        }
+    }
+
+    /**
+     * Maps workout records to responses. Embedded mode serves records from the documents alone; everything else
+     * (and records not migrated yet) is joined with one $in over all the given records.
+     */
+    private List<UserWorkoutRecordsResponse> toResponses(List<WorkoutRecord> page) {
+        List<WorkoutRecord> joined = page.stream()
+                .filter(workoutRecord -> !readEmbedded || workoutRecord.getExercises() == null)
+                .toList();
+        Set<String> exerciseRecordIds = joined.stream()
+                .map(WorkoutRecord::getExerciseRecordIds)
+                .filter(Objects::nonNull)
+                .flatMap(List::stream)
+                .collect(Collectors.toSet());
+        Map<String, ExerciseRecord> exerciseRecordById = new HashMap<>();
+        if (!exerciseRecordIds.isEmpty()) {
+            exerciseRecordRepository.findAllById(exerciseRecordIds).forEach(r -> exerciseRecordById.put(r.getId(), r));
+        }
+        // Names are snapshotted on write; only records predating the snapshot need a lookup
+        snapshotExerciseNames(new ArrayList<>(exerciseRecordById.values()));
+
+        return page
                 .stream()
                 .map(workoutRecord -> {
-                    var exRecords = exerciseRecordRepository.findAllById(workoutRecord.getExerciseRecordIds());
-
-                    // Batch-load all exercises used in this workout record to avoid N+1
-                    Set<String> exIds = exRecords.stream().map(ExerciseRecord::getExerciseId).collect(Collectors.toSet());
-                    Map<String, String> exerciseNameById = new HashMap<>();
-                    exerciseRepository.findAllById(exIds).forEach(ex -> exerciseNameById.put(ex.getId(), ex.getName()));
-
-                    var exerciseResponses = exRecords.stream()
-                            .map(exRecord -> {
-                                String exerciseName = exerciseNameById.getOrDefault(exRecord.getExerciseId(), "Unknown");
-                                return UserWorkoutRecordsResponse.ExerciseRecordResponse.builder()
-                                        .exerciseName(exerciseName)
-                                        .reps(exRecord.getReps())
-                                        .weight(exRecord.getWeight())
-                                        .durationSeconds(exRecord.getDurationSeconds())
-                                        .notes(exRecord.getNotes())
-                                        .achievedOneRmValue(exRecord.getAchievedOneRm() != null ? exRecord.getAchievedOneRm().getValue() : null)
-                                        .achievedOneRmSetIndex(exRecord.getAchievedOneRm() != null ? exRecord.getAchievedOneRm().getSetIndex() : null)
-                                        .achievedTotalVolumeValue(exRecord.getAchievedTotalVolume() != null ? exRecord.getAchievedTotalVolume().getValue() : null)
-                                        .build();
-                            })
-                            .collect(Collectors.toList());
-
-                    return UserWorkoutRecordsResponse.builder()
-                            .id(workoutRecord.getId())
-                            .workoutTitle(workoutRecord.getWorkoutTitle())
-                            .startTime(workoutRecord.getStartTime())
-                            .workoutId(workoutRecord.getWorkoutId())
-                            .notes(workoutRecord.getNotes())
-                            .exerciseRecords(exerciseResponses)
-                            .startTime(workoutRecord.getStartTime())
-                            .createdAt(workoutRecord.getCreatedAt())
-                            .build();
+                    if (readEmbedded && workoutRecord.getExercises() != null) {
+                        return toResponse(workoutRecord);
+                    }
+                    List<ExerciseRecord> exRecords = Optional.ofNullable(workoutRecord.getExerciseRecordIds()).orElse(List.of())
+                            .stream()
+                            .map(exerciseRecordById::get)
+                            .filter(Objects::nonNull)
+                            .toList();
+                    return toResponse(workoutRecord, embed(exRecords));
                 })
                 .collect(Collectors.toList());
     }
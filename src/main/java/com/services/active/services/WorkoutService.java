@@ -1,9 +1,11 @@
 package com.services.active.services;
 
+import com.services.active.config.MongoRoundTripCounter;
 import com.services.active.dto.CreateWorkoutRequest;
 import com.services.active.dto.WorkoutTemplateResponse;
 import com.services.active.dto.TemplateExerciseResponse;
 import com.services.active.dto.UserWorkoutResponse;
+import com.services.active.dto.WorkoutWithTemplate;
 import com.services.active.exceptions.BadRequestException;
 import com.services.active.exceptions.NotFoundException;
 import com.services.active.models.Workout;
@@ -14,12 +16,16 @@ import com.services.active.models.user.User;
 import com.services.active.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -30,7 +36,14 @@ public class WorkoutService {
     private final UserRepository userRepository;
     private final WorkoutRepository workoutRepository;
     private final WorkoutTemplateRepository workoutTemplateRepository;
-    private final ExerciseRepository exerciseRepository;
+    private final ExerciseCatalog exerciseCatalog;
+    private final UserDataVersionService userDataVersionService;
+    private final MongoRoundTripCounter roundTripCounter;
+    private final UserReadCache userReadCache;
+
+    // Join workouts to templates with a server-side $lookup instead of a second $in query
+    @Value("${active.workouts.read-lookup:false}")
+    private boolean readWithLookup;
 
     public Workout createWorkout(String workosId, CreateWorkoutRequest request) {
         User user = userRepository.findByWorkosId(workosId)
@@ -53,28 +66,68 @@ public class WorkoutService {
                 .userId(userId)
                 .title(request.getTitle())
                 .notes(request.getNotes())
-                .workoutRecordIds(new ArrayList<>())
                 .templateId(savedTemplate.getId())
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
                 .build();
 
-        return workoutRepository.save(workout);
+        Workout saved = workoutRepository.save(workout);
+        userReadCache.invalidateWorkouts(workosId);
+        userDataVersionService.bump(workosId);
+        return saved;
     }
 
     public List<UserWorkoutResponse> getUserWorkouts(String workosId) {
-        User user = userRepository.findByWorkosId(workosId)
-                .orElseThrow(() -> new NotFoundException("User not found"));
-        String userId = user.getId();
+        return roundTripCounter.measure("workout.list", () -> doGetUserWorkouts(workosId));
+    }
+
+    private List<UserWorkoutResponse> doGetUserWorkouts(String workosId) {
+        // A cache hit costs only the version lookup; the user is read when the list has to be loaded
+        return userReadCache.workouts(workosId, userDataVersionService.current(workosId), () -> {
+            User user = userRepository.findByWorkosId(workosId)
+                    .orElseThrow(() -> new NotFoundException("User not found"));
+            return loadUserWorkouts(user.getId());
+        });
+    }
+
+    private List<UserWorkoutResponse> loadUserWorkouts(String userId) {
+        List<WorkoutWithTemplate> workouts = readWithLookup
+                ? workoutRepository.findAllWithTemplateByUserId(userId)
+                : findAllWithTemplate(userId);
+
+        // One catalog lookup for every exercise referenced by any of the templates
+        Set<String> exerciseIds = new HashSet<>();
+        for (WorkoutWithTemplate workout : workouts) {
+            if (workout.getWorkoutTemplate() != null) {
+                exerciseIds.addAll(exerciseIdsOf(workout.getWorkoutTemplate()));
+            }
+        }
+        Map<String, Exercise> exercisesById = exerciseIds.isEmpty() ? Map.of() : exerciseCatalog.findAllById(exerciseIds);
+
+        List<UserWorkoutResponse> result = new ArrayList<>(workouts.size());
+        for (WorkoutWithTemplate workout : workouts) {
+            if (workout.getWorkoutTemplate() == null) {
+                throw new NotFoundException("Template not found for workout: " + workout.getId());
+            }
+            result.add(UserWorkoutResponse.from(workout, buildTemplateResponse(workout.getWorkoutTemplate(), exercisesById)));
+        }
+        return result;
+    }
 
+    // Application-side join: one query for the workouts and one $in for all of their templates
+    private List<WorkoutWithTemplate> findAllWithTemplate(String userId) {
         List<Workout> workouts = workoutRepository.findAllByUserId(userId);
-        List<UserWorkoutResponse> result = new ArrayList<>();
+        Set<String> templateIds = workouts.stream()
+                .map(Workout::getTemplateId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, WorkoutTemplate> templatesById = new HashMap<>();
+        if (!templateIds.isEmpty()) {
+            workoutTemplateRepository.findAllById(templateIds).forEach(t -> templatesById.put(t.getId(), t));
+        }
+        List<WorkoutWithTemplate> result = new ArrayList<>(workouts.size());
         for (Workout workout : workouts) {
-            WorkoutTemplate template = workoutTemplateRepository.findById(workout.getTemplateId())
-                    .orElseThrow(() -> new NotFoundException("Template not found for workout: " + workout.getId()));
-
-            WorkoutTemplateResponse templateResponse = buildTemplateResponse(template);
-            result.add(UserWorkoutResponse.from(workout, templateResponse));
+            result.add(WorkoutWithTemplate.createFromWorkoutAndTemplate(workout, templatesById.get(workout.getTemplateId())));
         }
         return result;
     }
@@ -91,19 +144,9 @@ public class WorkoutService {
             throw new com.services.active.exceptions.UnauthorizedException("Not authorized to update this workout");
         }
 
-        boolean workoutChanged = false;
-        if (request.getTitle() != null) {
-            workout.setTitle(request.getTitle());
-            workoutChanged = true;
-        }
-        if (request.getNotes() != null) {
-            workout.setNotes(request.getNotes());
-            workoutChanged = true;
-        }
-        if (workoutChanged) {
-            workout.setUpdatedAt(LocalDateTime.now());
-        }
+        boolean workoutChanged = request.getTitle() != null || request.getNotes() != null;
 
+        boolean templateChanged = false;
         if (request.getTemplate() != null && request.getTemplate().getExercises() != null
                 && !request.getTemplate().getExercises().isEmpty()) {
             WorkoutTemplate template = workoutTemplateRepository.findById(workout.getTemplateId())
@@ -111,9 +154,22 @@ public class WorkoutService {
             template.setExercises(request.getTemplate().getExercises());
             template.setUpdatedAt(LocalDateTime.now());
             workoutTemplateRepository.save(template);
+            templateChanged = true;
         }
 
-        return workoutChanged ? workoutRepository.save(workout) : workout;
+        // Only the edited fields are written so a record uploaded meanwhile keeps its recordCount/lastPerformedAt bump
+        Workout result = workout;
+        if (workoutChanged) {
+            result = workoutRepository.updateDetails(workoutId, request.getTitle(), request.getNotes(), LocalDateTime.now());
+            if (result == null) {
+                throw new NotFoundException("Workout not found");
+            }
+        }
+        if (workoutChanged || templateChanged) {
+            userReadCache.invalidateWorkouts(workosId);
+            userDataVersionService.bump(workosId);
+        }
+        return result;
     }
 
     public void deleteWorkout(String workosId, String workoutId) {
@@ -131,20 +187,22 @@ public class WorkoutService {
         if (templateId != null) {
             workoutTemplateRepository.deleteById(templateId);
         }
+        userReadCache.invalidateWorkouts(workosId);
+        userDataVersionService.bump(workosId);
+    }
+
+    private static Set<String> exerciseIdsOf(WorkoutTemplate template) {
+        if (template.getExercises() == null) return Set.of();
+        return template.getExercises().stream()
+                .map(TemplateExercise::getExerciseId)
+                .filter(id -> id != null && !id.isBlank())
+                .collect(Collectors.toSet());
     }
 
-    // TODO: Optimize to avoid N+1 queries
-    private WorkoutTemplateResponse buildTemplateResponse(WorkoutTemplate template) {
-        if (template == null) return null;
+    private WorkoutTemplateResponse buildTemplateResponse(WorkoutTemplate template, Map<String, Exercise> byId) {
         List<TemplateExercise> templateExercises = template.getExercises();
         List<TemplateExerciseResponse> exerciseResponses = new ArrayList<>();
         if (templateExercises != null && !templateExercises.isEmpty()) {
-            Set<String> ids = templateExercises.stream()
-                    .map(TemplateExercise::getExerciseId)
-                    .filter(id -> id != null && !id.isBlank())
-                    .collect(Collectors.toSet());
-            Map<String, Exercise> byId = exerciseRepository.findAllById(ids).stream()
-                    .collect(Collectors.toMap(Exercise::getId, e -> e));
             for (TemplateExercise te : templateExercises) {
                 Exercise ex = te.getExerciseId() == null ? null : byId.get(te.getExerciseId());
                 exerciseResponses.add(TemplateExerciseResponse.builder()
@@ -0,0 +1,222 @@
+package com.services.active.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.services.active.config.IntegrationTestBase;
+import com.services.active.config.user.TestUserContext;
+import com.services.active.config.user.WithTestUser;
+import com.services.active.dto.CreateWorkoutRequest;
+import com.services.active.dto.CreateWorkoutTemplateRequest;
+import com.services.active.dto.WorkoutRecordBatchRequest;
+import com.services.active.dto.WorkoutRecordRequest;
+import com.services.active.models.Exercise;
+import com.services.active.models.TemplateExercise;
+import com.services.active.models.Workout;
+import com.services.active.models.types.Category;
+import com.services.active.models.types.Equipment;
+import com.services.active.models.types.Level;
+import com.services.active.models.types.MuscleGroup;
+import com.services.active.models.user.User;
+import com.services.active.repository.ExerciseRepository;
+import com.services.active.services.ExerciseCatalog;
+import com.services.active.services.WorkoutRecordService;
+import com.services.active.services.WorkoutService;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WithTestUser
+@SpringBootTest
+@AutoConfigureMockMvc
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BinaryContentNegotiationIT extends IntegrationTestBase {
+
+    private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+    private static final int RECORDS = 100;
+    private static final int EXERCISES = 200;
+    private static final int ITERATIONS = 50;
+
+    private final MockMvc mockMvc;
+    private final ObjectMapper objectMapper;
+    private final MappingJackson2SmileHttpMessageConverter smileConverter;
+    private final MappingJackson2CborHttpMessageConverter cborConverter;
+    private final ExerciseRepository exerciseRepository;
+    private final ExerciseCatalog exerciseCatalog;
+    private final WorkoutService workoutService;
+    private final WorkoutRecordService workoutRecordService;
+
+    private void seed(User user) {
+        List<Exercise> exercises = new ArrayList<>();
+        for (int i = 0; i < EXERCISES; i++) {
+            exercises.add(Exercise.builder()
+                    .id("exercise-" + i)
+                    .name("Exercise " + i)
+                    .category(Category.STRENGTH)
+                    .level(Level.INTERMEDIATE)
+                    .primaryMuscles(List.of(MuscleGroup.CHEST))
+                    .secondaryMuscles(List.of(MuscleGroup.SHOULDERS, MuscleGroup.TRICEPS))
+                    .equipment(Equipment.BARBELL)
+                    .instructions(List.of("Set up", "Lift the weight", "Lower it under control"))
+                    .build());
+        }
+        exerciseRepository.saveAll(exercises);
+        exerciseCatalog.reload();
+
+        Workout workout = workoutService.createWorkout(user.getWorkosId(), CreateWorkoutRequest.builder()
+                .title("Upper body")
+                .template(CreateWorkoutTemplateRequest.builder()
+                        .exercises(List.of(TemplateExercise.builder().exerciseId("exercise-0").reps(new int[]{5}).weight(new double[]{80.0}).build()))
+                        .build())
+                .build());
+        List<WorkoutRecordRequest> records = new ArrayList<>();
+        for (int i = 0; i < RECORDS; i++) {
+            List<WorkoutRecordRequest.ExerciseRecord> exerciseRecords = new ArrayList<>();
+            for (int e = 0; e < 5; e++) {
+                exerciseRecords.add(new WorkoutRecordRequest.ExerciseRecord("exercise-" + e,
+                        List.of(8, 8, 6), List.of(60.0 + i, 60.0 + i, 65.0 + i), null, null));
+            }
+            records.add(new WorkoutRecordRequest("Session " + i, workout.getId(), LocalDateTime.now().minusDays(RECORDS - i), exerciseRecords));
+        }
+        workoutRecordService.createWorkoutRecords(user.getWorkosId(), WorkoutRecordBatchRequest.builder().records(records).build());
+    }
+
+    private byte[] fetch(String url, String token, MediaType accept) throws Exception {
+        return mockMvc.perform(get(url)
+                        .header("Authorization", "Bearer " + token)
+                        .accept(accept))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(accept))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    // Re-rendered through the JSON mapper so int/long and similar node differences between formats do not matter
+    private String canonical(ObjectMapper mapper, byte[] body) throws IOException {
+        return objectMapper.writeValueAsString(mapper.readTree(body));
+    }
+
+    @Test
+    @DisplayName("Smile and CBOR responses decode to the same document as JSON; JSON stays the default")
+    void binaryFormats_matchJson(@TestUserContext String token, @TestUserContext User user) throws Exception {
+        seed(user);
+
+        for (String url : List.of("/api/workouts/record?limit=100", "/api/workouts", "/api/exercises/exercise-0/logs", "/api/exercises/search")) {
+            String json = canonical(objectMapper, fetch(url, token, MediaType.APPLICATION_JSON));
+            assertThat(canonical(smileConverter.getObjectMapper(), fetch(url, token, SMILE))).as(url).isEqualTo(json);
+            assertThat(canonical(cborConverter.getObjectMapper(), fetch(url, token, MediaType.APPLICATION_CBOR))).as(url).isEqualTo(json);
+        }
+
+        MockHttpServletResponse defaultResponse = mockMvc.perform(get("/api/workouts")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        assertThat(MediaType.valueOf(defaultResponse.getContentType()).isCompatibleWith(MediaType.APPLICATION_JSON)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Negotiated responses, including 304s, vary on Accept since the ETag does not name the encoding")
+    void negotiatedResponses_varyOnAccept(@TestUserContext String token) throws Exception {
+        String etag = mockMvc.perform(get("/api/workouts")
+                        .header("Authorization", "Bearer " + token)
+                        .accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues("Vary", hasItem("Accept")))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/workouts")
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", etag)
+                        .accept(SMILE))
+                .andExpect(status().isNotModified())
+                .andExpect(header().stringValues("Vary", hasItem("Accept")));
+    }
+
+    private Map<String, Object> payloads(User user) {
+        Map<String, Object> payloads = new LinkedHashMap<>();
+        payloads.put("history", workoutRecordService.getWorkoutRecords(user.getWorkosId(), null, RECORDS).getWorkoutRecords());
+        payloads.put("catalog", exerciseRepository.findAll());
+        return payloads;
+    }
+
+    @Test
+    @DisplayName("Smile and CBOR encode history and catalog payloads smaller than JSON")
+    void binaryFormats_smallerThanJson(@TestUserContext String token, @TestUserContext User user) throws Exception {
+        seed(user);
+        Map<String, ObjectMapper> formats = new LinkedHashMap<>();
+        formats.put("smile", smileConverter.getObjectMapper());
+        formats.put("cbor", cborConverter.getObjectMapper());
+
+        for (Map.Entry<String, Object> payload : payloads(user).entrySet()) {
+            int jsonSize = objectMapper.writeValueAsBytes(payload.getValue()).length;
+            for (Map.Entry<String, ObjectMapper> format : formats.entrySet()) {
+                byte[] bytes = format.getValue().writeValueAsBytes(payload.getValue());
+                assertThat(bytes.length).as(payload.getKey() + " as " + format.getKey()).isLessThan(jsonSize);
+            }
+        }
+    }
+
+    private static int gzipped(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.size();
+    }
+
+    private static long p50Micros(ObjectMapper mapper, Object value) throws IOException {
+        mapper.writeValueAsBytes(value); // warm-up
+        long[] samples = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            mapper.writeValueAsBytes(value);
+            samples[i] = (System.nanoTime() - start) / 1_000;
+        }
+        Arrays.sort(samples);
+        return samples[ITERATIONS / 2];
+    }
+
+    // Timing only; excluded from the regular build, see the failsafe configuration
+    @Test
+    @Tag("benchmark")
+    void benchmark_binaryFormats_sizeAndTime(@TestUserContext User user, TestReporter reporter) throws Exception {
+        seed(user);
+        Map<String, ObjectMapper> formats = new LinkedHashMap<>();
+        formats.put("json", objectMapper);
+        formats.put("smile", smileConverter.getObjectMapper());
+        formats.put("cbor", cborConverter.getObjectMapper());
+
+        for (Map.Entry<String, Object> payload : payloads(user).entrySet()) {
+            for (Map.Entry<String, ObjectMapper> format : formats.entrySet()) {
+                byte[] bytes = format.getValue().writeValueAsBytes(payload.getValue());
+                reporter.publishEntry(payload.getKey() + " as " + format.getKey(),
+                        bytes.length + " bytes (" + gzipped(bytes) + " gzipped), p50 serialization "
+                                + p50Micros(format.getValue(), payload.getValue()) + "us");
+            }
+        }
+    }
+}
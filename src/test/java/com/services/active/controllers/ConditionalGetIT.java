@@ -0,0 +1,125 @@
+package com.services.active.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.services.active.config.IntegrationTestBase;
+import com.services.active.config.MongoRoundTripCounter;
+import com.services.active.config.user.TestUserContext;
+import com.services.active.config.user.WithTestUser;
+import com.services.active.dto.CreateRoutineRequest;
+import com.services.active.models.Exercise;
+import com.services.active.models.RoutinePattern;
+import com.services.active.models.types.DayType;
+import com.services.active.repository.ExerciseRepository;
+import com.services.active.services.ExerciseCatalog;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WithTestUser
+@SpringBootTest
+@AutoConfigureMockMvc
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ConditionalGetIT extends IntegrationTestBase {
+
+    private final MockMvc mockMvc;
+    private final ObjectMapper objectMapper;
+    private final MongoRoundTripCounter roundTripCounter;
+    private final ExerciseRepository exerciseRepository;
+    private final ExerciseCatalog exerciseCatalog;
+
+    private String etagOf(String url, String token) throws Exception {
+        String etag = mockMvc.perform(get(url).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertThat(etag).startsWith("W/\"");
+        return etag;
+    }
+
+    @Test
+    @DisplayName("If-None-Match with the current ETag returns 304 after a single query")
+    void unchangedData_returns304(@TestUserContext String token) throws Exception {
+        for (String url : List.of("/api/workouts", "/api/routines", "/api/workouts/record")) {
+            String etag = etagOf(url, token);
+
+            long before = roundTripCounter.current();
+            mockMvc.perform(get(url)
+                            .header("Authorization", "Bearer " + token)
+                            .header("If-None-Match", etag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(content().string(""));
+            assertThat(roundTripCounter.current() - before).as(url).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("A write bumps the user's data version so the old ETag no longer matches")
+    void write_invalidatesEtag(@TestUserContext String token) throws Exception {
+        String etag = etagOf("/api/routines", token);
+
+        CreateRoutineRequest routine = CreateRoutineRequest.builder()
+                .name("PPL")
+                .pattern(List.of(RoutinePattern.builder().dayIndex(0).dayType(DayType.REST).build()))
+                .build();
+        mockMvc.perform(post("/api/routines")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(routine)))
+                .andExpect(status().isCreated());
+
+        String newEtag = mockMvc.perform(get("/api/routines")
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertThat(newEtag).isNotEqualTo(etag);
+    }
+
+    @Test
+    @DisplayName("Each resource and query has its own ETag")
+    void etags_areScopedPerRepresentation(@TestUserContext String token) throws Exception {
+        List<String> etags = List.of(
+                etagOf("/api/workouts", token),
+                etagOf("/api/routines", token),
+                etagOf("/api/workouts/record", token),
+                etagOf("/api/workouts/record?limit=5", token));
+        assertThat(etags).doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("A catalog change invalidates the workouts ETag, since workouts embed exercise details")
+    void catalogChange_invalidatesWorkoutsEtag(@TestUserContext String token) throws Exception {
+        String etag = etagOf("/api/workouts", token);
+
+        exerciseRepository.save(Exercise.builder().id("conditional-get-exercise").name("Hack Squat").build());
+        exerciseCatalog.reload();
+
+        mockMvc.perform(get("/api/workouts")
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("/api/user/me is always served in full: its WorkOS profile can change without a local write")
+    void currentUser_isNotConditional(@TestUserContext String token) throws Exception {
+        mockMvc.perform(get("/api/user/me")
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", "*"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"));
+    }
+}
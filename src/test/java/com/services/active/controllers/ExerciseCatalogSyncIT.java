@@ -0,0 +1,93 @@
+package com.services.active.controllers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.services.active.config.IntegrationTestBase;
+import com.services.active.config.user.TestUserContext;
+import com.services.active.config.user.WithTestUser;
+import com.services.active.models.Exercise;
+import com.services.active.repository.ExerciseRepository;
+import com.services.active.services.ExerciseCatalog;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WithTestUser
+@SpringBootTest
+@AutoConfigureMockMvc
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ExerciseCatalogSyncIT extends IntegrationTestBase {
+
+    private final MockMvc mockMvc;
+    private final ObjectMapper objectMapper;
+    private final ExerciseRepository exerciseRepository;
+    private final ExerciseCatalog exerciseCatalog;
+
+    private MockHttpServletResponse catalog(String token, String query, int expectedStatus) throws Exception {
+        return mockMvc.perform(get("/api/exercises/catalog" + query)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().is(expectedStatus))
+                .andReturn().getResponse();
+    }
+
+    private static List<String> ids(JsonNode exercises) {
+        List<String> ids = new ArrayList<>();
+        exercises.forEach(exercise -> ids.add(exercise.isTextual() ? exercise.asText() : exercise.get("id").asText()));
+        return ids;
+    }
+
+    @Test
+    @DisplayName("Clients get the full catalog once, then only deltas, and 304 when up to date")
+    void catalog_fullThenDeltaThenNotModified(@TestUserContext String token) throws Exception {
+        exerciseRepository.saveAll(List.of(
+                Exercise.builder().id("squat").name("Squat").build(),
+                Exercise.builder().id("bench").name("Bench Press").build(),
+                Exercise.builder().id("row").name("Barbell Row").build()));
+        exerciseCatalog.reload();
+
+        JsonNode full = objectMapper.readTree(catalog(token, "", 200).getContentAsByteArray());
+        assertThat(full.get("full").asBoolean()).isTrue();
+        assertThat(ids(full.get("added"))).containsExactlyInAnyOrder("squat", "bench", "row");
+        String v1 = full.get("version").asText();
+
+        catalog(token, "?since=" + v1, 304);
+
+        exerciseRepository.save(Exercise.builder().id("squat").name("Back Squat").build());
+        exerciseRepository.save(Exercise.builder().id("deadlift").name("Deadlift").build());
+        exerciseRepository.deleteById("row");
+        exerciseCatalog.reload();
+
+        MockHttpServletResponse response = catalog(token, "?since=" + v1, 200);
+        JsonNode delta = objectMapper.readTree(response.getContentAsByteArray());
+        String v2 = delta.get("version").asText();
+        assertThat(v2).isNotEqualTo(v1);
+        assertThat(response.getHeader("ETag")).isEqualTo("\"" + v2 + "\"");
+        assertThat(delta.get("full").asBoolean()).isFalse();
+        assertThat(ids(delta.get("added"))).containsExactly("deadlift");
+        assertThat(ids(delta.get("changed"))).containsExactly("squat");
+        assertThat(delta.get("changed").get(0).get("name").asText()).isEqualTo("Back Squat");
+        assertThat(ids(delta.get("removed"))).containsExactly("row");
+
+        catalog(token, "?since=" + v2, 304);
+        mockMvc.perform(get("/api/exercises/catalog")
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", "\"" + v2 + "\""))
+                .andExpect(status().isNotModified());
+
+        JsonNode unknown = objectMapper.readTree(catalog(token, "?since=stale", 200).getContentAsByteArray());
+        assertThat(unknown.get("full").asBoolean()).isTrue();
+        assertThat(ids(unknown.get("added"))).containsExactlyInAnyOrder("squat", "bench", "deadlift");
+    }
+}
@@ -22,7 +22,9 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.hamcrest.Matchers.*;
@@ -79,8 +81,8 @@ class ExerciseLogControllerIT extends IntegrationTestBase {
                 .userId(user.getId())
                 .exerciseId(testExercise.getId())
                 .createdAt(baseTime)
-                .reps(List.of(10, 8, 6))
-                .weight(List.of(100.0, 105.0, 110.0))
+                .reps(new int[]{10, 8, 6})
+                .weight(new double[]{100.0, 105.0, 110.0})
                 .notes("First session")
                 .build();
 
@@ -88,8 +90,8 @@ class ExerciseLogControllerIT extends IntegrationTestBase {
                 .userId(user.getId())
                 .exerciseId(testExercise.getId())
                 .createdAt(baseTime.plusDays(1))
-                .reps(List.of(12, 10, 8))
-                .weight(List.of(95.0, 100.0, 105.0))
+                .reps(new int[]{12, 10, 8})
+                .weight(new double[]{95.0, 100.0, 105.0})
                 .notes("Second session")
                 .build();
 
@@ -107,6 +109,27 @@ class ExerciseLogControllerIT extends IntegrationTestBase {
                 .andDo(print());
     }
 
+    @Test
+    @DisplayName("GET /api/exercises/{exerciseId}/logs returns the name snapshotted on the record, not the current catalog name")
+    void getExerciseLogs_snapshottedName_isReturned(@TestUserContext String token, @TestUserContext User user) throws Exception {
+        ExerciseRecord record = ExerciseRecord.builder()
+                .userId(user.getId())
+                .exerciseId(testExercise.getId())
+                .exerciseName("Flat Bench Press")
+                .createdAt(LocalDateTime.now())
+                .reps(new int[]{5})
+                .weight(new double[]{120.0})
+                .build();
+        exerciseRecordRepository.save(record);
+
+        mockMvc.perform(get("/api/exercises/{exerciseId}/logs", testExercise.getId())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].exerciseName", is("Flat Bench Press")))
+                .andDo(print());
+    }
+
     @Test
     @DisplayName("GET /api/exercises/{exerciseId}/logs returns 404 for non-existent exercise")
     void getExerciseLogs_nonExistentExercise_returns404(@TestUserContext String token) throws Exception {
@@ -132,8 +155,8 @@ class ExerciseLogControllerIT extends IntegrationTestBase {
                 .userId(user.getId())
                 .exerciseId(testExercise.getId())
                 .createdAt(LocalDateTime.now())
-                .reps(List.of(10))
-                .weight(List.of(100.0))
+                .reps(new int[]{10})
+                .weight(new double[]{100.0})
                 .notes("User record")
                 .build();
 
@@ -142,8 +165,8 @@ class ExerciseLogControllerIT extends IntegrationTestBase {
                 .userId("other-user-id")
                 .exerciseId(testExercise.getId())
                 .createdAt(LocalDateTime.now())
-                .reps(List.of(15))
-                .weight(List.of(80.0))
+                .reps(new int[]{15})
+                .weight(new double[]{80.0})
                 .notes("Other user record")
                 .build();
 
@@ -156,4 +179,56 @@ class ExerciseLogControllerIT extends IntegrationTestBase {
                 .andExpect(jsonPath("$[0].notes", is("User record")))
                 .andDo(print());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("GET /api/exercises/{exerciseId}/series downsamples a long history to the requested number of points")
+    void getExerciseSeries_longHistory_isDownsampled(@TestUserContext String token, @TestUserContext User user) throws Exception {
+        LocalDateTime start = LocalDate.of(2015, 1, 1).atTime(18, 0);
+        List<ExerciseRecord> records = new ArrayList<>();
+        for (int i = 0; i < 1500; i++) {
+            records.add(ExerciseRecord.builder()
+                    .userId(user.getId())
+                    .exerciseId(testExercise.getId())
+                    .createdAt(start.plusDays(2L * i))
+                    .reps(new int[]{5, 5})
+                    .weight(new double[]{60.0 + i * 0.05, 60.0 + i * 0.05})
+                    .build());
+        }
+        exerciseRecordRepository.saveAll(records);
+
+        mockMvc.perform(get("/api/exercises/{exerciseId}/series", testExercise.getId())
+                        .header("Authorization", "Bearer " + token)
+                        .param("points", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.exerciseName", is("Bench Press")))
+                .andExpect(jsonPath("$.totalRecords", is(1500)))
+                .andExpect(jsonPath("$.estimatedOneRm", hasSize(50)))
+                .andExpect(jsonPath("$.volume", hasSize(50)))
+                // First and last records are always kept
+                .andExpect(jsonPath("$.volume[0].value", closeTo(600.0, 1e-6)))
+                .andExpect(jsonPath("$.volume[49].value", closeTo(10 * (60.0 + 1499 * 0.05), 1e-6)));
+
+        // 2015-01-01 .. 2015-01-09 (inclusive) holds the records of days 0, 2, 4, 6 and 8
+        mockMvc.perform(get("/api/exercises/{exerciseId}/series", testExercise.getId())
+                        .header("Authorization", "Bearer " + token)
+                        .param("from", "2015-01-01")
+                        .param("to", "2015-01-09"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalRecords", is(5)))
+                .andExpect(jsonPath("$.estimatedOneRm", hasSize(5)));
+    }
+
+    @Test
+    @DisplayName("GET /api/exercises/{exerciseId}/series rejects out-of-range point counts and inverted windows")
+    void getExerciseSeries_invalidParams_return400(@TestUserContext String token) throws Exception {
+        mockMvc.perform(get("/api/exercises/{exerciseId}/series", testExercise.getId())
+                        .header("Authorization", "Bearer " + token)
+                        .param("points", "2"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/exercises/{exerciseId}/series", testExercise.getId())
+                        .header("Authorization", "Bearer " + token)
+                        .param("from", "2024-02-01")
+                        .param("to", "2024-01-01"))
+                .andExpect(status().isBadRequest());
+    }
+}
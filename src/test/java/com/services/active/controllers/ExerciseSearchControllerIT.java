@@ -0,0 +1,179 @@
+package com.services.active.controllers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.services.active.config.IntegrationTestBase;
+import com.services.active.config.user.TestUserContext;
+import com.services.active.config.user.WithTestUser;
+import com.services.active.models.Exercise;
+import com.services.active.models.types.Category;
+import com.services.active.models.types.Equipment;
+import com.services.active.models.types.Level;
+import com.services.active.models.types.MuscleGroup;
+import com.services.active.repository.ExerciseRepository;
+import com.services.active.services.ExerciseCatalog;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WithTestUser
+@SpringBootTest
+@AutoConfigureMockMvc
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ExerciseSearchControllerIT extends IntegrationTestBase {
+
+    private static final int EXERCISES = 1_000;
+    private static final int ITERATIONS = 30;
+
+    private final MockMvc mockMvc;
+    private final ObjectMapper objectMapper;
+    private final ExerciseRepository exerciseRepository;
+    private final ExerciseCatalog exerciseCatalog;
+
+    @BeforeEach
+    void seedCatalog() {
+        List<Exercise> exercises = new ArrayList<>();
+        for (int i = 0; i < EXERCISES; i++) {
+            exercises.add(Exercise.builder()
+                    .id(String.format("exercise-%04d", i))
+                    .name("Exercise " + (i % 100))
+                    .category(Category.values()[i % Category.values().length])
+                    .level(Level.values()[i % Level.values().length])
+                    .equipment(Equipment.values()[i % Equipment.values().length])
+                    .primaryMuscles(List.of(MuscleGroup.values()[i % MuscleGroup.values().length]))
+                    .secondaryMuscles(List.of(MuscleGroup.SHOULDERS, MuscleGroup.TRICEPS))
+                    .instructions(List.of(
+                            "Set up with a stable base and brace your core before the first repetition.",
+                            "Move the weight through the full range of motion under control.",
+                            "Pause briefly, then return to the starting position and repeat."))
+                    .build());
+        }
+        exerciseRepository.saveAll(exercises);
+        exerciseCatalog.reload();
+    }
+
+    private MockHttpServletResponse search(String token, String query) throws Exception {
+        return mockMvc.perform(get("/api/exercises/search" + query)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+    }
+
+    private JsonNode json(MockHttpServletResponse response) throws Exception {
+        return objectMapper.readTree(response.getContentAsByteArray());
+    }
+
+    @Test
+    @DisplayName("Pages through sorted results without gaps or overlaps and reports the total")
+    void search_pagesSortedResults(@TestUserContext String token) throws Exception {
+        MockHttpServletResponse first = search(token, "?sort=name&limit=30");
+        assertThat(first.getHeader("X-Total-Count")).isEqualTo(String.valueOf(EXERCISES));
+
+        List<String> ids = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        for (int offset = 0; offset < 90; offset += 30) {
+            for (JsonNode exercise : json(search(token, "?sort=name&limit=30&offset=" + offset))) {
+                ids.add(exercise.get("id").asText());
+                names.add(exercise.get("name").asText());
+            }
+        }
+        assertThat(ids).hasSize(90).doesNotHaveDuplicates();
+        assertThat(names).isSorted();
+        // Equal names are ordered by id, so the order is the same on every call
+        assertThat(ids.subList(0, 10)).isSorted();
+        assertThat(json(search(token, "?sort=name&limit=30&offset=30")).get(0).get("id").asText()).isEqualTo(ids.get(30));
+
+        JsonNode descending = json(search(token, "?sort=-level&limit=5&category=STRENGTH"));
+        assertThat(descending).hasSize(5);
+        descending.forEach(exercise -> assertThat(exercise.get("level").asText()).isEqualTo(Level.EXPERT.name()));
+
+        MockHttpServletResponse beyond = search(token, "?offset=" + EXERCISES);
+        assertThat(json(beyond)).isEmpty();
+        assertThat(beyond.getHeader("X-Total-Count")).isEqualTo(String.valueOf(EXERCISES));
+    }
+
+    @Test
+    @DisplayName("fields= returns only the requested fields plus id")
+    void search_projectsFields(@TestUserContext String token) throws Exception {
+        JsonNode exercises = json(search(token, "?fields=name,equipment,primaryMuscles&limit=20"));
+
+        assertThat(exercises).hasSize(20);
+        for (JsonNode exercise : exercises) {
+            Set<String> keys = new HashSet<>();
+            exercise.fieldNames().forEachRemaining(keys::add);
+            assertThat(keys).containsExactlyInAnyOrder("id", "name", "equipment", "primaryMuscles");
+        }
+        JsonNode full = json(search(token, "?limit=1")).get(0);
+        assertThat(exercises.get(0).get("equipment")).isEqualTo(full.get("equipment"));
+        assertThat(exercises.get(0).get("primaryMuscles")).isEqualTo(full.get("primaryMuscles"));
+    }
+
+    @Test
+    @DisplayName("Invalid paging, sort and fields parameters are rejected with 400")
+    void search_rejectsInvalidParameters(@TestUserContext String token) throws Exception {
+        for (String query : List.of("?limit=0", "?limit=501", "?offset=-1", "?sort=instructions", "?sort=-", "?fields=name,password")) {
+            mockMvc.perform(get("/api/exercises/search" + query)
+                            .header("Authorization", "Bearer " + token))
+                    .andExpect(status().isBadRequest());
+        }
+        mockMvc.perform(get("/api/exercises/search")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", String.valueOf(EXERCISES)));
+    }
+
+    @Test
+    @DisplayName("A list-view projection and a first page shrink the no-filter response")
+    void search_noFilterPayloadBeforeAndAfter(@TestUserContext String token) throws Exception {
+        String listView = "?fields=name,equipment,primaryMuscles";
+        int fullBytes = search(token, "").getContentAsByteArray().length;
+        int projectedBytes = search(token, listView).getContentAsByteArray().length;
+        int pageBytes = search(token, listView + "&limit=50").getContentAsByteArray().length;
+
+        assertThat(projectedBytes).isLessThan(fullBytes / 2);
+        assertThat(pageBytes).isLessThan(projectedBytes / 10);
+    }
+
+    private long p50Micros(String token, String query) throws Exception {
+        search(token, query); // warm-up
+        long[] samples = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            search(token, query);
+            samples[i] = (System.nanoTime() - start) / 1_000;
+        }
+        Arrays.sort(samples);
+        return samples[ITERATIONS / 2];
+    }
+
+    // Timing only; excluded from the regular build, see the failsafe configuration
+    @Test
+    @Tag("benchmark")
+    void benchmark_search_noFilterPayloadBeforeAndAfter(@TestUserContext String token, TestReporter reporter) throws Exception {
+        String listView = "?fields=name,equipment,primaryMuscles";
+        for (String query : List.of("", listView, listView + "&limit=50")) {
+            int bytes = search(token, query).getContentAsByteArray().length;
+            reporter.publishEntry("exercise search, " + EXERCISES + " exercises, no filter" + (query.isEmpty() ? "" : " " + query),
+                    bytes + " bytes, p50=" + p50Micros(token, query) + "us");
+        }
+    }
+}
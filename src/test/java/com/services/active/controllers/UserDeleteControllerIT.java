@@ -57,14 +57,14 @@ class UserDeleteControllerIT extends IntegrationTestBase {
         // 1) Create a workout for the current user
         TemplateExercise exercise1 = TemplateExercise.builder()
                 .exerciseId("ex-1")
-                .reps(List.of(10, 8, 6))
-                .weight(List.of(50.0, 55.0, 60.0))
+                .reps(new int[]{10, 8, 6})
+                .weight(new double[]{50.0, 55.0, 60.0})
                 .notes("Bench press")
                 .build();
         TemplateExercise exercise2 = TemplateExercise.builder()
                 .exerciseId("ex-2")
-                .reps(List.of(12, 10, 8))
-                .weight(List.of(20.0, 22.5, 25.0))
+                .reps(new int[]{12, 10, 8})
+                .weight(new double[]{20.0, 22.5, 25.0})
                 .notes("Rows")
                 .build();
         CreateWorkoutTemplateRequest template = CreateWorkoutTemplateRequest.builder()
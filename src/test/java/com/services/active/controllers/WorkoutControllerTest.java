@@ -56,8 +56,8 @@ class WorkoutControllerTest extends IntegrationTestBase {
     void createWorkout_missingTitle_badRequest(String title, @TestUserContext String token) throws Exception {
         TemplateExercise exercise = TemplateExercise.builder()
                 .exerciseId("exercise-1")
-                .reps(List.of(10, 8, 6))
-                .weight(List.of(50.0, 55.0, 60.0))
+                .reps(new int[]{10, 8, 6})
+                .weight(new double[]{50.0, 55.0, 60.0})
                 .notes("Warm up properly")
                 .build();
 
@@ -85,8 +85,8 @@ class WorkoutControllerTest extends IntegrationTestBase {
     void createWorkout_success_withTemplate(@TestUserContext String token) throws Exception {
         TemplateExercise exercise = TemplateExercise.builder()
                 .exerciseId("exercise-1")
-                .reps(List.of(10, 8, 6))
-                .weight(List.of(50.0, 55.0, 60.0))
+                .reps(new int[]{10, 8, 6})
+                .weight(new double[]{50.0, 55.0, 60.0})
                 .notes("Warm up properly")
                 .build();
 
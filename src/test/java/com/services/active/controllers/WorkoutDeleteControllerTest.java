@@ -46,8 +46,8 @@ class WorkoutDeleteControllerTest extends IntegrationTestBase {
     private Workout createWorkout(User user) {
         TemplateExercise exercise = TemplateExercise.builder()
                 .exerciseId("exercise-1")
-                .reps(List.of(10, 8, 6))
-                .weight(List.of(50.0, 55.0, 60.0))
+                .reps(new int[]{10, 8, 6})
+                .weight(new double[]{50.0, 55.0, 60.0})
                 .notes("Warm up properly")
                 .build();
 
@@ -60,8 +60,8 @@ class WorkoutRecordAchievementsIT extends IntegrationTestBase {
     private Workout createSimpleWorkout(User user) {
         TemplateExercise ex = TemplateExercise.builder()
                 .exerciseId("exercise-1")
-                .reps(List.of(5, 3, 1))
-                .weight(List.of(100.0, 110.0, 120.0))
+                .reps(new int[]{5, 3, 1})
+                .weight(new double[]{100.0, 110.0, 120.0})
                 .notes("Bench press")
                 .build();
         CreateWorkoutTemplateRequest template = CreateWorkoutTemplateRequest.builder()
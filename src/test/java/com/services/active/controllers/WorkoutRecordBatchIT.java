@@ -0,0 +1,164 @@
+package com.services.active.controllers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.services.active.config.IntegrationTestBase;
+import com.services.active.config.user.TestUserContext;
+import com.services.active.config.user.WithTestUser;
+import com.services.active.dto.CreateWorkoutRequest;
+import com.services.active.dto.CreateWorkoutTemplateRequest;
+import com.services.active.models.ExercisePersonalBest;
+import com.services.active.models.TemplateExercise;
+import com.services.active.models.Workout;
+import com.services.active.models.user.StreakInfo;
+import com.services.active.models.user.User;
+import com.services.active.repository.ExercisePersonalBestRepository;
+import com.services.active.repository.UserRepository;
+import com.services.active.repository.WorkoutRecordRepository;
+import com.services.active.repository.WorkoutRepository;
+import com.services.active.services.WorkoutService;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WithTestUser
+@SpringBootTest
+@AutoConfigureMockMvc
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class WorkoutRecordBatchIT extends IntegrationTestBase {
+
+    private final MockMvc mockMvc;
+    private final ObjectMapper objectMapper;
+    private final WorkoutService workoutService;
+    private final WorkoutRepository workoutRepository;
+    private final WorkoutRecordRepository workoutRecordRepository;
+    private final ExercisePersonalBestRepository personalBestRepository;
+    private final UserRepository userRepository;
+
+    private Workout createWorkout(User user) {
+        return workoutService.createWorkout(user.getWorkosId(), CreateWorkoutRequest.builder()
+                .title("Squat day")
+                .template(CreateWorkoutTemplateRequest.builder()
+                        .exercises(List.of(TemplateExercise.builder().exerciseId("squat").reps(new int[]{5}).weight(new double[]{100.0}).build()))
+                        .build())
+                .build());
+    }
+
+    private static String record(String workoutId, LocalDateTime startTime, double weight) {
+        return """
+                {
+                  "workoutId": "%s",
+                  "startTime": "%s",
+                  "exerciseRecords": [{"exerciseId": "squat", "reps": [5, 5], "weight": [%s, %s]}]
+                }
+                """.formatted(workoutId, startTime.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME), weight, weight);
+    }
+
+    @Test
+    @DisplayName("Batch upload applies PBs and streak in startTime order and keeps the response in request order")
+    void batchUpload_replaysChronologically(@TestUserContext String token, @TestUserContext User user) throws Exception {
+        Workout workout = createWorkout(user);
+        LocalDateTime twoDaysAgo = LocalDateTime.now().minusDays(2);
+        LocalDateTime yesterday = LocalDateTime.now().minusDays(1);
+
+        // Newest first on purpose: the older, lighter session must still count as a PR when replayed first
+        String payload = "{\"records\": [" + record(workout.getId(), yesterday, 110.0) + "," + record(workout.getId(), twoDaysAgo, 100.0) + "]}";
+
+        String body = mockMvc.perform(post("/api/workouts/record/batch")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode records = objectMapper.readTree(body).get("workoutRecords");
+        assertThat(records).hasSize(2);
+        JsonNode newer = records.get(0);
+        JsonNode older = records.get(1);
+        assertThat(older.at("/workoutRecord/exerciseRecords/0/achievedTotalVolumeValue").asDouble()).isEqualTo(1000.0);
+        assertThat(newer.at("/workoutRecord/exerciseRecords/0/achievedTotalVolumeValue").asDouble()).isEqualTo(1100.0);
+        assertThat(older.at("/streakUpdate/status").asText()).isEqualTo("STARTED");
+        assertThat(newer.at("/streakUpdate/status").asText()).isEqualTo("CONTINUED");
+        assertThat(newer.at("/streakUpdate/currentStreak").asInt()).isEqualTo(2);
+
+        ExercisePersonalBest pb = personalBestRepository.findByUserIdAndExerciseId(user.getId(), "squat").orElseThrow();
+        assertThat(pb.getTotalVolume()).isEqualTo(1100.0);
+        assertThat(pb.getTotalVolumeRecordId()).isNotNull();
+
+        assertThat(workoutRecordRepository.findAllByUserId(user.getId())).hasSize(2);
+        Workout summary = workoutRepository.findById(workout.getId()).orElseThrow();
+        assertThat(summary.getRecordCount()).isEqualTo(2);
+        assertThat(summary.getLastPerformedAt()).isCloseTo(yesterday, within(1, ChronoUnit.SECONDS));
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getStreak().getCurrentStreak()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Batch upload referencing an unknown workout writes nothing")
+    void batchUpload_unknownWorkout_returns404(@TestUserContext String token, @TestUserContext User user) throws Exception {
+        Workout workout = createWorkout(user);
+        String payload = "{\"records\": [" + record(workout.getId(), LocalDateTime.now().minusDays(1), 100.0) + ","
+                + record("missing", LocalDateTime.now(), 100.0) + "]}";
+
+        mockMvc.perform(post("/api/workouts/record/batch")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload))
+                .andExpect(status().isNotFound());
+
+        assertThat(workoutRecordRepository.findAllByUserId(user.getId())).isEmpty();
+    }
+
+    private String upload(String token, String payload, int expectedStatus) throws Exception {
+        return mockMvc.perform(post("/api/workouts/record/batch")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload))
+                .andExpect(status().is(expectedStatus))
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    @Test
+    @DisplayName("A later batch with records older than the last counted day stores them but leaves the streak alone")
+    void batchUpload_olderThanStreak_doesNotMoveStreak(@TestUserContext String token, @TestUserContext User user) throws Exception {
+        Workout workout = createWorkout(user);
+        upload(token, "{\"records\": [" + record(workout.getId(), LocalDateTime.now().minusDays(1), 100.0) + "]}", 201);
+        StreakInfo before = userRepository.findById(user.getId()).orElseThrow().getStreak();
+
+        String body = upload(token, "{\"records\": [" + record(workout.getId(), LocalDateTime.now().minusDays(4), 90.0) + "]}", 201);
+
+        assertThat(objectMapper.readTree(body).at("/workoutRecords/0/streakUpdate/status").asText()).isEqualTo("WRONG_WORKOUT");
+        StreakInfo after = userRepository.findById(user.getId()).orElseThrow().getStreak();
+        assertThat(after.getCurrentStreak()).isEqualTo(1);
+        assertThat(after.getNextWorkoutDeadline()).isEqualTo(before.getNextWorkoutDeadline());
+        assertThat(after.getLastWorkoutCountedDate()).isEqualTo(before.getLastWorkoutCountedDate());
+        assertThat(workoutRecordRepository.findAllByUserId(user.getId())).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Batch upload with a future startTime is rejected and writes nothing")
+    void batchUpload_futureStartTime_returns400(@TestUserContext String token, @TestUserContext User user) throws Exception {
+        Workout workout = createWorkout(user);
+        String payload = "{\"records\": [" + record(workout.getId(), LocalDateTime.now().minusDays(1), 100.0) + ","
+                + record(workout.getId(), LocalDateTime.now().plusDays(2), 100.0) + "]}";
+
+        upload(token, payload, 400);
+
+        assertThat(workoutRecordRepository.findAllByUserId(user.getId())).isEmpty();
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getStreak().getCurrentStreak()).isZero();
+    }
+}
@@ -0,0 +1,98 @@
+package com.services.active.controllers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.services.active.config.IntegrationTestBase;
+import com.services.active.config.user.TestUserContext;
+import com.services.active.config.user.WithTestUser;
+import com.services.active.dto.CreateWorkoutRequest;
+import com.services.active.dto.CreateWorkoutTemplateRequest;
+import com.services.active.dto.WorkoutRecordBatchRequest;
+import com.services.active.dto.WorkoutRecordRequest;
+import com.services.active.models.TemplateExercise;
+import com.services.active.models.Workout;
+import com.services.active.models.user.User;
+import com.services.active.services.WorkoutRecordService;
+import com.services.active.services.WorkoutService;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WithTestUser
+@SpringBootTest
+@AutoConfigureMockMvc
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class WorkoutRecordExportIT extends IntegrationTestBase {
+
+    // More than one export chunk so the chunk boundary is exercised
+    private static final int RECORDS = 130;
+
+    private final MockMvc mockMvc;
+    private final ObjectMapper objectMapper;
+    private final WorkoutService workoutService;
+    private final WorkoutRecordService workoutRecordService;
+
+    private void seedHistory(User user) {
+        Workout workout = workoutService.createWorkout(user.getWorkosId(), CreateWorkoutRequest.builder()
+                .title("Squat day")
+                .template(CreateWorkoutTemplateRequest.builder()
+                        .exercises(List.of(TemplateExercise.builder().exerciseId("squat").reps(new int[]{5}).weight(new double[]{100.0}).build()))
+                        .build())
+                .build());
+        List<WorkoutRecordRequest> records = new ArrayList<>();
+        for (int i = 0; i < RECORDS; i++) {
+            records.add(new WorkoutRecordRequest("Session " + i, workout.getId(), LocalDateTime.now().minusDays(RECORDS - i),
+                    List.of(new WorkoutRecordRequest.ExerciseRecord("squat", List.of(5, 5), List.of(100.0, 100.0), null, null))));
+            if (records.size() == 100 || i == RECORDS - 1) {
+                workoutRecordService.createWorkoutRecords(user.getWorkosId(), WorkoutRecordBatchRequest.builder().records(records).build());
+                records = new ArrayList<>();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("GET /api/workouts/record/export streams one JSON record per line with its exercise records")
+    void export_streamsNdjson(@TestUserContext String token, @TestUserContext User user) throws Exception {
+        seedHistory(user);
+
+        String body = mockMvc.perform(get("/api/workouts/record/export")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(RECORDS);
+        List<String> ids = new ArrayList<>();
+        for (String line : lines) {
+            JsonNode record = objectMapper.readTree(line);
+            ids.add(record.get("id").asText());
+            assertThat(record.at("/exerciseRecords/0/reps").size()).isEqualTo(2);
+        }
+        assertThat(ids).doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("GET /api/workouts/record/export returns an empty body for a user without history")
+    void export_emptyHistory(@TestUserContext String token) throws Exception {
+        String body = mockMvc.perform(get("/api/workouts/record/export")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body).isEmpty();
+    }
+}
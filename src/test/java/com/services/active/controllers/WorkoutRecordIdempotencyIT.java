@@ -0,0 +1,188 @@
+package com.services.active.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.services.active.config.IntegrationTestBase;
+import com.services.active.config.user.TestUserContext;
+import com.services.active.config.user.WithTestUser;
+import com.services.active.dto.CreateWorkoutRequest;
+import com.services.active.dto.CreateWorkoutTemplateRequest;
+import com.services.active.models.IdempotencyRecord;
+import com.services.active.models.TemplateExercise;
+import com.services.active.models.Workout;
+import com.services.active.models.types.IdempotencyStatus;
+import com.services.active.models.user.User;
+import com.services.active.repository.ExercisePersonalBestRepository;
+import com.services.active.repository.ExerciseRecordRepository;
+import com.services.active.repository.IdempotencyRecordRepository;
+import com.services.active.repository.UserRepository;
+import com.services.active.repository.WorkoutRecordRepository;
+import com.services.active.services.IdempotencyService;
+import com.services.active.services.WorkoutService;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WithTestUser
+@SpringBootTest
+@AutoConfigureMockMvc
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class WorkoutRecordIdempotencyIT extends IntegrationTestBase {
+
+    private final MockMvc mockMvc;
+    private final ObjectMapper objectMapper;
+    private final WorkoutService workoutService;
+    private final WorkoutRecordRepository workoutRecordRepository;
+    private final ExerciseRecordRepository exerciseRecordRepository;
+    private final ExercisePersonalBestRepository personalBestRepository;
+    private final UserRepository userRepository;
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final IdempotencyService idempotencyService;
+
+    private Workout createWorkout(User user) {
+        return workoutService.createWorkout(user.getWorkosId(), CreateWorkoutRequest.builder()
+                .title("Legs")
+                .template(CreateWorkoutTemplateRequest.builder()
+                        .exercises(List.of(TemplateExercise.builder().exerciseId("exercise-1").reps(new int[]{5}).weight(new double[]{100.0}).build()))
+                        .build())
+                .build());
+    }
+
+    // Fixed per test run, so retries send byte-for-byte the same body
+    private final LocalDateTime startTime = LocalDateTime.now().minusMinutes(30).truncatedTo(ChronoUnit.SECONDS);
+
+    private ResultActions submit(String token, String key, String workoutId) throws Exception {
+        return submit(token, key, workoutId, 110.0);
+    }
+
+    private ResultActions submit(String token, String key, String workoutId, double weight) throws Exception {
+        String payload = """
+                {
+                  "workoutId": "%s",
+                  "startTime": "%s",
+                  "exerciseRecords": [{"exerciseId": "exercise-1", "reps": [5, 5], "weight": [100.0, %s]}]
+                }
+                """.formatted(workoutId, startTime.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME), weight);
+        return mockMvc.perform(post("/api/workouts/record")
+                .header("Authorization", "Bearer " + token)
+                .header("Idempotency-Key", key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(payload));
+    }
+
+    @Test
+    @DisplayName("Retry with the same Idempotency-Key replays the stored response without recording the workout again")
+    void retryWithSameKey_replaysStoredResponse(@TestUserContext String token, @TestUserContext User user) throws Exception {
+        Workout workout = createWorkout(user);
+
+        String first = submit(token, "retry-1", workout.getId())
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "false"))
+                .andReturn().getResponse().getContentAsString();
+        var streakAfterFirst = userRepository.findById(user.getId()).orElseThrow().getStreak();
+
+        String second = submit(token, "retry-1", workout.getId())
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(objectMapper.readTree(second).at("/workoutRecord/id").asText())
+                .isEqualTo(objectMapper.readTree(first).at("/workoutRecord/id").asText());
+        assertThat(workoutRecordRepository.findAllByUserId(user.getId())).hasSize(1);
+        assertThat(exerciseRecordRepository.findByUserIdOrderByCreatedAtAsc(user.getId())).hasSize(1);
+        assertThat(personalBestRepository.findAllByUserId(user.getId())).hasSize(1);
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getStreak()).isEqualTo(streakAfterFirst);
+    }
+
+    @Test
+    @DisplayName("Different Idempotency-Keys are recorded as separate submissions")
+    void differentKeys_recordSeparately(@TestUserContext String token, @TestUserContext User user) throws Exception {
+        Workout workout = createWorkout(user);
+
+        submit(token, "a", workout.getId()).andExpect(status().isCreated());
+        submit(token, "b", workout.getId()).andExpect(status().isCreated());
+
+        assertThat(workoutRecordRepository.findAllByUserId(user.getId())).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("A failed submission releases its Idempotency-Key")
+    void failedSubmission_releasesKey(@TestUserContext String token, @TestUserContext User user) throws Exception {
+        submit(token, "missing-workout", "does-not-exist").andExpect(status().isNotFound());
+
+        Workout workout = createWorkout(user);
+        submit(token, "missing-workout", workout.getId())
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "false"));
+    }
+
+    @Test
+    @DisplayName("A failed request whose claim was taken over by a retry leaves the retry's claim in place")
+    void failedRequest_keepsClaimTakenOverByRetry(@TestUserContext User user) {
+        String id = user.getWorkosId() + ":slow";
+
+        assertThatThrownBy(() -> idempotencyService.execute(user.getWorkosId(), "slow", "body", String.class, () -> {
+            // The lease ran out while this request was still running and a retry took the key over
+            IdempotencyRecord claim = idempotencyRecordRepository.findById(id).orElseThrow();
+            claim.setLeaseExpiresAt(claim.getLeaseExpiresAt().plusMinutes(5));
+            idempotencyRecordRepository.save(claim);
+            throw new IllegalStateException("failed after the lease ran out");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(idempotencyRecordRepository.findById(id)).isPresent();
+    }
+
+    @Test
+    @DisplayName("Reusing an Idempotency-Key with a different body is rejected with 422")
+    void sameKeyDifferentBody_returns422(@TestUserContext String token, @TestUserContext User user) throws Exception {
+        Workout workout = createWorkout(user);
+
+        submit(token, "reused", workout.getId(), 110.0).andExpect(status().isCreated());
+        submit(token, "reused", workout.getId(), 120.0).andExpect(status().isUnprocessableEntity());
+
+        assertThat(workoutRecordRepository.findAllByUserId(user.getId())).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("A claim left behind by a crashed request blocks retries only until its lease runs out")
+    void abandonedClaim_isTakenOverAfterLease(@TestUserContext String token, @TestUserContext User user) throws Exception {
+        Workout workout = createWorkout(user);
+        idempotencyRecordRepository.insert(IdempotencyRecord.builder()
+                .id(user.getWorkosId() + ":crashed")
+                .status(IdempotencyStatus.IN_PROGRESS)
+                .leaseExpiresAt(LocalDateTime.now().plusMinutes(1))
+                .createdAt(LocalDateTime.now())
+                .build());
+        submit(token, "crashed", workout.getId()).andExpect(status().isConflict());
+
+        IdempotencyRecord claim = idempotencyRecordRepository.findById(user.getWorkosId() + ":crashed").orElseThrow();
+        claim.setLeaseExpiresAt(LocalDateTime.now().minusSeconds(1));
+        idempotencyRecordRepository.save(claim);
+
+        submit(token, "crashed", workout.getId())
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "false"));
+        submit(token, "crashed", workout.getId())
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"));
+        assertThat(workoutRecordRepository.findAllByUserId(user.getId())).hasSize(1);
+        assertThat(idempotencyRecordRepository.findById(user.getWorkosId() + ":crashed").orElseThrow().getStatus())
+                .isEqualTo(IdempotencyStatus.COMPLETED);
+    }
+}
@@ -0,0 +1,160 @@
+package com.services.active.controllers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.services.active.config.IntegrationTestBase;
+import com.services.active.config.user.TestUserContext;
+import com.services.active.config.user.WithTestUser;
+import com.services.active.models.WorkoutRecord;
+import com.services.active.models.user.User;
+import com.services.active.repository.WorkoutRecordRepository;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WithTestUser
+@SpringBootTest
+@AutoConfigureMockMvc
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class WorkoutRecordPaginationIT extends IntegrationTestBase {
+
+    private final MockMvc mockMvc;
+    private final ObjectMapper objectMapper;
+    private final WorkoutRecordRepository workoutRecordRepository;
+
+    private List<String> seedHistory(User user) {
+        LocalDateTime base = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS).minusDays(10);
+        List<WorkoutRecord> records = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            // Records 2 and 3 share a timestamp so the page boundary has to fall back to _id
+            LocalDateTime createdAt = base.plusDays(i == 3 ? 2 : i);
+            records.add(WorkoutRecord.builder()
+                    .userId(user.getId())
+                    .workoutId("workout-1")
+                    .workoutTitle("Session " + i)
+                    .exerciseRecordIds(List.of())
+                    .createdAt(createdAt)
+                    .build());
+        }
+        records.add(WorkoutRecord.builder()
+                .userId("other-user")
+                .workoutId("workout-2")
+                .exerciseRecordIds(List.of())
+                .createdAt(base)
+                .build());
+        workoutRecordRepository.saveAll(records);
+
+        // Expected order: createdAt desc, then _id desc
+        return workoutRecordRepository.findAllByUserId(user.getId()).stream()
+                .sorted((a, b) -> {
+                    int byTime = b.getCreatedAt().compareTo(a.getCreatedAt());
+                    return byTime != 0 ? byTime : b.getId().compareTo(a.getId());
+                })
+                .map(WorkoutRecord::getId)
+                .toList();
+    }
+
+    @Test
+    @DisplayName("GET /api/workouts/record pages through history most recent first without gaps or duplicates")
+    void getWorkoutRecords_pagesWithCursor(@TestUserContext String token, @TestUserContext User user) throws Exception {
+        List<String> expected = seedHistory(user);
+
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            MockHttpServletRequestBuilder request = get("/api/workouts/record")
+                    .header("Authorization", "Bearer " + token)
+                    .param("limit", "2");
+            if (cursor != null) {
+                request.param("before", cursor);
+            }
+            MockHttpServletResponse response = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse();
+            JsonNode page = objectMapper.readTree(response.getContentAsString());
+            assertThat(page.size()).isLessThanOrEqualTo(2);
+            page.forEach(record -> seen.add(record.get("id").asText()));
+            cursor = response.getHeader("X-Next-Cursor");
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    @DisplayName("GET /api/workouts/record omits X-Next-Cursor when everything fits on one page")
+    void getWorkoutRecords_singlePage_hasNoCursor(@TestUserContext String token, @TestUserContext User user) throws Exception {
+        seedHistory(user);
+
+        MockHttpServletResponse response = mockMvc.perform(get("/api/workouts/record")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        assertThat(objectMapper.readTree(response.getContentAsString()).size()).isEqualTo(5);
+        assertThat(response.getHeader("X-Next-Cursor")).isNull();
+    }
+
+    @Test
+    @DisplayName("GET /api/workouts/record without limit or before returns the whole history, as before pagination")
+    void getWorkoutRecords_noParams_returnsWholeHistory(@TestUserContext String token, @TestUserContext User user) throws Exception {
+        LocalDateTime base = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS).minusDays(200);
+        List<WorkoutRecord> records = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            records.add(WorkoutRecord.builder()
+                    .userId(user.getId())
+                    .workoutId("workout-1")
+                    .exerciseRecordIds(List.of())
+                    .createdAt(base.plusDays(i))
+                    .build());
+        }
+        workoutRecordRepository.saveAll(records);
+
+        MockHttpServletResponse response = mockMvc.perform(get("/api/workouts/record")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        assertThat(objectMapper.readTree(response.getContentAsString()).size()).isEqualTo(120);
+        assertThat(response.getHeader("X-Next-Cursor")).isNull();
+
+        // Asking for a page still pages
+        MockHttpServletResponse page = mockMvc.perform(get("/api/workouts/record")
+                        .header("Authorization", "Bearer " + token)
+                        .param("limit", "100"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        assertThat(objectMapper.readTree(page.getContentAsString()).size()).isEqualTo(100);
+        assertThat(page.getHeader("X-Next-Cursor")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("GET /api/workouts/record rejects malformed cursors and out-of-range limits")
+    void getWorkoutRecords_invalidParams_return400(@TestUserContext String token) throws Exception {
+        mockMvc.perform(get("/api/workouts/record")
+                        .header("Authorization", "Bearer " + token)
+                        .param("before", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/workouts/record")
+                        .header("Authorization", "Bearer " + token)
+                        .param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,100 @@
+package com.services.active.controllers;
+
+import com.services.active.config.IntegrationTestBase;
+import com.services.active.config.user.TestUserContext;
+import com.services.active.config.user.WithTestUser;
+import com.services.active.dto.CreateWorkoutRequest;
+import com.services.active.dto.CreateWorkoutTemplateRequest;
+import com.services.active.models.Routine;
+import com.services.active.models.RoutinePattern;
+import com.services.active.models.TemplateExercise;
+import com.services.active.models.Workout;
+import com.services.active.models.types.DayType;
+import com.services.active.models.user.User;
+import com.services.active.repository.RoutineRepository;
+import com.services.active.repository.UserRepository;
+import com.services.active.services.WorkoutService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WithTestUser
+@SpringBootTest
+@AutoConfigureMockMvc
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class WorkoutRecordRoundTripsIT extends IntegrationTestBase {
+
+    // Documented upper bound of WorkoutRecordService#createWorkoutRecord
+    private static final double MAX_ROUND_TRIPS = 11;
+
+    private final MockMvc mockMvc;
+    private final MeterRegistry meterRegistry;
+    private final WorkoutService workoutService;
+    private final RoutineRepository routineRepository;
+    private final UserRepository userRepository;
+
+    private double recordedRoundTrips() {
+        DistributionSummary summary = meterRegistry.find("mongo.round_trips")
+                .tag("operation", "workout_record.create")
+                .summary();
+        return summary != null ? summary.totalAmount() : 0;
+    }
+
+    @Test
+    @DisplayName("Submitting a workout with PRs, an active routine and a streak update stays within the round-trip bound")
+    void submit_staysWithinRoundTripBound(@TestUserContext String token, @TestUserContext User user) throws Exception {
+        Workout workout = workoutService.createWorkout(user.getWorkosId(), CreateWorkoutRequest.builder()
+                .title("Push")
+                .template(CreateWorkoutTemplateRequest.builder()
+                        .exercises(List.of(TemplateExercise.builder().exerciseId("exercise-1").reps(new int[]{5}).weight(new double[]{100.0}).build()))
+                        .build())
+                .build());
+        Routine routine = routineRepository.save(Routine.builder()
+                .userId(user.getId())
+                .name("Every day")
+                .createdAt(LocalDateTime.now())
+                .pattern(List.of(RoutinePattern.builder().dayIndex(0).dayType(DayType.WORKOUT).workoutId(workout.getId()).build()))
+                .build());
+        User stored = userRepository.findById(user.getId()).orElseThrow();
+        stored.setActiveRoutineId(routine.getId());
+        userRepository.save(stored);
+
+        String payload = """
+                {
+                  "workoutId": "%s",
+                  "startTime": "%s",
+                  "exerciseRecords": [
+                    {"exerciseId": "exercise-1", "reps": [5, 5], "weight": [100.0, 105.0]},
+                    {"exerciseId": "exercise-2", "reps": [8], "weight": [60.0]},
+                    {"exerciseId": "exercise-3", "reps": [10], "weight": [20.0]}
+                  ]
+                }
+                """.formatted(workout.getId(), LocalDateTime.now().minusMinutes(45).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+
+        double before = recordedRoundTrips();
+        mockMvc.perform(post("/api/workouts/record")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload))
+                .andExpect(status().isCreated());
+        double roundTrips = recordedRoundTrips() - before;
+
+        assertThat(roundTrips).isPositive().isLessThanOrEqualTo(MAX_ROUND_TRIPS);
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getStreak().getCurrentStreak()).isEqualTo(1);
+    }
+}
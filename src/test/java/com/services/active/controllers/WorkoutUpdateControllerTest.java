@@ -24,6 +24,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -47,8 +48,8 @@ class WorkoutUpdateControllerTest extends IntegrationTestBase {
     private Workout createWorkout(User user) {
         TemplateExercise exercise = TemplateExercise.builder()
                 .exerciseId("exercise-1")
-                .reps(List.of(10, 8, 6))
-                .weight(List.of(50.0, 55.0, 60.0))
+                .reps(new int[]{10, 8, 6})
+                .weight(new double[]{50.0, 55.0, 60.0})
                 .notes("Warm up properly")
                 .build();
 
@@ -102,8 +103,8 @@ class WorkoutUpdateControllerTest extends IntegrationTestBase {
 
         TemplateExercise updatedExercise = TemplateExercise.builder()
                 .exerciseId("exercise-2")
-                .reps(List.of(12, 10))
-                .weight(List.of(40.0, 45.0))
+                .reps(new int[]{12, 10})
+                .weight(new double[]{40.0, 45.0})
                 .notes("New notes")
                 .build();
 
@@ -135,7 +136,7 @@ class WorkoutUpdateControllerTest extends IntegrationTestBase {
         assertThat(afterTemplate.getExercises()).hasSize(1);
         assertThat(afterTemplate.getExercises().get(0).getExerciseId()).isEqualTo("exercise-2");
         assertThat(afterTemplate.getExercises().get(0).getReps()).isNotEmpty();
-        assertThat(afterTemplate.getExercises().get(0).getReps().get(0)).isEqualTo(12);
+        assertThat(afterTemplate.getExercises().get(0).getReps()[0]).isEqualTo(12);
     }
 
     @Test
@@ -165,4 +166,29 @@ class WorkoutUpdateControllerTest extends IntegrationTestBase {
         WorkoutTemplate afterTemplate = workoutTemplateRepository.getWorkoutTemplateById(afterWorkout.getTemplateId());
         assertThat(afterTemplate.getUpdatedAt()).isEqualTo(beforeTemplate.getUpdatedAt());
     }
+
+    @Test
+    @DisplayName("PUT /api/workouts/{id} -> 200 OK keeps the record summary written by record uploads")
+    void updateWorkout_keepsRecordSummary(@TestUserContext String token, @TestUserContext User user) throws Exception {
+        Workout workout = createWorkout(user);
+        LocalDateTime performedAt = LocalDateTime.of(2025, 3, 1, 10, 0);
+        workoutRepository.recordPerformed(workout.getId(), performedAt);
+
+        UpdateWorkoutRequest request = UpdateWorkoutRequest.builder()
+                .title("Renamed")
+                .build();
+
+        mockMvc.perform(put("/api/workouts/" + workout.getId())
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Renamed"))
+                .andExpect(jsonPath("$.notes").value("Original notes"));
+
+        Workout afterWorkout = workoutRepository.getWorkoutById(workout.getId());
+        assertThat(afterWorkout.getTitle()).isEqualTo("Renamed");
+        assertThat(afterWorkout.getRecordCount()).isEqualTo(1);
+        assertThat(afterWorkout.getLastPerformedAt()).isEqualTo(performedAt);
+    }
 }
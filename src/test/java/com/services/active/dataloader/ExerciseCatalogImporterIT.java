@@ -0,0 +1,103 @@
+package com.services.active.dataloader;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.services.active.config.IntegrationTestBase;
+import com.services.active.models.Exercise;
+import com.services.active.models.types.Category;
+import com.services.active.models.types.Equipment;
+import com.services.active.models.types.Level;
+import com.services.active.models.types.MuscleGroup;
+import com.services.active.repository.ExerciseRepository;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ExerciseCatalogImporterIT extends IntegrationTestBase {
+
+    private static final int EXERCISES = 1_200;
+
+    private final ExerciseCatalogImporter importer;
+    private final ExerciseRepository exerciseRepository;
+    private final ObjectMapper objectMapper;
+
+    private static List<Exercise> catalog() {
+        List<Exercise> exercises = new ArrayList<>();
+        for (int i = 0; i < EXERCISES; i++) {
+            exercises.add(Exercise.builder()
+                    .id("exercise-" + i)
+                    .name("Exercise " + i)
+                    .category(Category.STRENGTH)
+                    .level(Level.BEGINNER)
+                    .equipment(Equipment.DUMBBELL)
+                    .primaryMuscles(List.of(MuscleGroup.CHEST))
+                    .secondaryMuscles(List.of())
+                    .instructions(List.of("Step " + i))
+                    .build());
+        }
+        return exercises;
+    }
+
+    // Same shape as the bundled snapshot: a gzipped JSON array, with fields the model does not know about
+    private InputStream snapshot(List<Exercise> exercises) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            List<Object> documents = new ArrayList<>();
+            for (Exercise exercise : exercises) {
+                Map<String, Object> document = objectMapper.convertValue(exercise, new TypeReference<>() {});
+                document.put("images", List.of(exercise.getId() + "/0.jpg"));
+                documents.add(document);
+            }
+            objectMapper.writeValue(gzip, documents);
+        }
+        return new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    @Test
+    @DisplayName("Import streams the snapshot in chunks and re-import only rewrites exercises whose content changed")
+    void importFrom_writesOnlyNewOrChangedExercises() throws IOException {
+        // An exercise from an earlier, hash-less import
+        exerciseRepository.save(Exercise.builder().id("exercise-0").name("Old name").build());
+        List<Exercise> exercises = catalog();
+
+        ExerciseCatalogImporter.Result first = importer.importFrom(snapshot(exercises));
+        assertThat(first.read()).isEqualTo(EXERCISES);
+        assertThat(first.written()).isEqualTo(EXERCISES);
+        assertThat(exerciseRepository.count()).isEqualTo(EXERCISES);
+        assertThat(exerciseRepository.findById("exercise-0")).get()
+                .satisfies(exercise -> {
+                    assertThat(exercise.getName()).isEqualTo("Exercise 0");
+                    assertThat(exercise.getContentHash()).hasSize(64);
+                });
+
+        ExerciseCatalogImporter.Result unchanged = importer.importFrom(snapshot(exercises));
+        assertThat(unchanged.read()).isEqualTo(EXERCISES);
+        assertThat(unchanged.written()).isZero();
+
+        List<Exercise> updated = new ArrayList<>(catalog());
+        updated.get(700).setInstructions(List.of("Revised step"));
+        updated.add(Exercise.builder().id("exercise-new").name("New exercise").build());
+        ExerciseCatalogImporter.Result update = importer.importFrom(snapshot(updated));
+        assertThat(update.written()).isEqualTo(2);
+        assertThat(exerciseRepository.count()).isEqualTo(EXERCISES + 1);
+        assertThat(exerciseRepository.findById("exercise-700")).get()
+                .extracting(Exercise::getInstructions)
+                .isEqualTo(List.of("Revised step"));
+    }
+}
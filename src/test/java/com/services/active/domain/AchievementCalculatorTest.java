@@ -4,14 +4,16 @@ import org.junit.jupiter.api.Test;
 
 import java.util.List;
 
+import static com.services.active.models.converters.PackedArrays.NULL_DOUBLE;
+import static com.services.active.models.converters.PackedArrays.NULL_INT;
 import static org.junit.jupiter.api.Assertions.*;
 
 class AchievementCalculatorTest {
 
     @Test
     void computesBestEstimatedOneRmAndSetIndex() {
-        var reps = List.of(5, 3, 1);
-        var weights = List.of(100.0, 110.0, 120.0);
+        var reps = new int[]{5, 3, 1};
+        var weights = new double[]{100.0, 110.0, 120.0};
         var result = AchievementCalculator.computeBestEstimatedOneRm(reps, weights);
         assertNotNull(result);
         assertEquals(2, result.bestSetIndex());
@@ -21,10 +23,33 @@ class AchievementCalculatorTest {
 
     @Test
     void computesTotalVolumeAcrossSets() {
-        var reps = List.of(5, 3);
-        var weights = List.of(100.0, 110.0);
+        var reps = new int[]{5, 3};
+        var weights = new double[]{100.0, 110.0};
         double volume = AchievementCalculator.computeTotalVolume(reps, weights);
         assertEquals(830.0, volume, 1e-6);
     }
-}
 
+    @Test
+    void primitiveOverloadsMatchListVersions() {
+        var result = AchievementCalculator.computeBestEstimatedOneRm(new int[]{5, 3, 1}, new double[]{100.0, 110.0, 120.0});
+        assertEquals(AchievementCalculator.computeBestEstimatedOneRm(List.of(5, 3, 1), List.of(100.0, 110.0, 120.0)), result);
+        assertEquals(830.0, AchievementCalculator.computeTotalVolume(new int[]{5, 3}, new double[]{100.0, 110.0}), 1e-6);
+    }
+
+    @Test
+    void skipsSetsLeftEmpty() {
+        int[] reps = {5, NULL_INT, 3};
+        double[] weight = {NULL_DOUBLE, 100.0, 110.0};
+        var result = AchievementCalculator.computeBestEstimatedOneRm(reps, weight);
+        assertEquals(2, result.bestSetIndex());
+        assertEquals(330.0, AchievementCalculator.computeTotalVolume(reps, weight), 1e-6);
+    }
+
+    @Test
+    void skipsEmptySets() {
+        var result = AchievementCalculator.computeBestEstimatedOneRm(new int[]{0, 0}, new double[]{100.0, 0.0});
+        assertNull(result.bestOneRm());
+        assertNull(result.bestSetIndex());
+        assertNull(AchievementCalculator.computeTotalVolume(new int[]{0}, new double[]{50.0}));
+    }
+}
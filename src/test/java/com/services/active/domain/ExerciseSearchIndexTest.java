@@ -0,0 +1,188 @@
+package com.services.active.domain;
+
+import com.services.active.models.Exercise;
+import com.services.active.models.types.Category;
+import com.services.active.models.types.Equipment;
+import com.services.active.models.types.Level;
+import com.services.active.models.types.MuscleGroup;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExerciseSearchIndexTest {
+
+    private static final int CATALOG_SIZE = 3_000;
+    private static final int ITERATIONS = 2_000;
+    private static final String[] WORDS = {"Barbell", "Dumbbell", "Bench", "Press", "Incline", "Squat", "Front",
+            "Deadlift", "Romanian", "Curl", "Hammer", "Row", "Pendlay", "Lunge", "Walking", "Pull-Up", "Wide-Grip"};
+
+    private static List<Exercise> catalog(int size, Random random) {
+        List<Exercise> exercises = new ArrayList<>();
+        MuscleGroup[] muscles = MuscleGroup.values();
+        for (int i = 0; i < size; i++) {
+            String name = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + i;
+            exercises.add(Exercise.builder()
+                    .id("exercise-" + i)
+                    .name(name)
+                    .category(pick(Category.values(), random))
+                    .level(pick(Level.values(), random))
+                    .equipment(random.nextInt(10) == 0 ? null : pick(Equipment.values(), random))
+                    .primaryMuscles(List.of(muscles[random.nextInt(muscles.length)]))
+                    .secondaryMuscles(List.of(muscles[random.nextInt(muscles.length)], muscles[random.nextInt(muscles.length)]))
+                    .build());
+        }
+        return exercises;
+    }
+
+    private static <T> T pick(T[] values, Random random) {
+        return random.nextInt(5) == 0 ? null : values[random.nextInt(values.length)];
+    }
+
+    // What the Mongo query used to return: every given filter must hold, name is a case-insensitive substring
+    private static List<Exercise> naive(List<Exercise> exercises, String name, Category category, Level level,
+                                        List<MuscleGroup> primary, List<MuscleGroup> secondary, Equipment equipment) {
+        return exercises.stream()
+                .filter(e -> name == null || e.getName().toLowerCase(Locale.ROOT).contains(name.toLowerCase(Locale.ROOT)))
+                .filter(e -> category == null || category == e.getCategory())
+                .filter(e -> level == null || level == e.getLevel())
+                .filter(e -> equipment == null || equipment == e.getEquipment())
+                .filter(e -> primary == null || e.getPrimaryMuscles().containsAll(primary))
+                .filter(e -> secondary == null || e.getSecondaryMuscles().containsAll(secondary))
+                .toList();
+    }
+
+    @Test
+    void noFilters_returnsWholeCatalogInOrder() {
+        List<Exercise> exercises = catalog(200, new Random(1));
+        assertEquals(exercises, new ExerciseSearchIndex(exercises).search(null, null, null, null, null, null));
+        assertEquals(exercises, new ExerciseSearchIndex(exercises).search("  ", null, null, List.of(), List.of(), null));
+    }
+
+    @Test
+    void nameMatch_isCaseInsensitiveSubstringAcrossWords() {
+        List<Exercise> exercises = List.of(
+                Exercise.builder().id("1").name("Barbell Bench Press").build(),
+                Exercise.builder().id("2").name("Incline Dumbbell Press").build(),
+                Exercise.builder().id("3").name("Pull-Up").build(),
+                Exercise.builder().id("4").build());
+        ExerciseSearchIndex index = new ExerciseSearchIndex(exercises);
+
+        assertEquals(List.of(exercises.get(0)), index.search("BELL BENCH", null, null, null, null, null));
+        assertEquals(List.of(exercises.get(0), exercises.get(1)), index.search("ress", null, null, null, null, null));
+        assertEquals(List.of(exercises.get(2)), index.search("l-u", null, null, null, null, null));
+        // Taken literally, not as a regex
+        assertEquals(List.of(), index.search("b.*press", null, null, null, null, null));
+        assertEquals(List.of(), index.search("bench barbell", null, null, null, null, null));
+        // Surrounding blanks are part of the needle
+        assertEquals(List.of(exercises.get(0)), index.search(" bench", null, null, null, null, null));
+        assertEquals(List.of(), index.search("press ", null, null, null, null, null));
+    }
+
+    @Test
+    void randomQueries_matchNaiveFilter() {
+        Random random = new Random(42);
+        List<Exercise> exercises = catalog(CATALOG_SIZE, random);
+        ExerciseSearchIndex index = new ExerciseSearchIndex(exercises);
+        String[] names = {null, "press", "BENCH PR", "curl 1", "-up", "ll", "nope", "7"};
+
+        for (int i = 0; i < 500; i++) {
+            String name = names[random.nextInt(names.length)];
+            Category category = pick(Category.values(), random);
+            Level level = pick(Level.values(), random);
+            Equipment equipment = pick(Equipment.values(), random);
+            List<MuscleGroup> primary = random.nextBoolean()
+                    ? List.of(MuscleGroup.values()[random.nextInt(MuscleGroup.values().length)])
+                    : null;
+            List<MuscleGroup> secondary = random.nextInt(3) == 0
+                    ? List.of(MuscleGroup.values()[random.nextInt(MuscleGroup.values().length)])
+                    : null;
+
+            assertEquals(naive(exercises, name, category, level, primary, secondary, equipment),
+                    index.search(name, category, level, primary, secondary, equipment));
+        }
+    }
+
+    @Test
+    void sortedPages_areStableAndCoverEveryMatch() {
+        List<Exercise> exercises = catalog(CATALOG_SIZE, new Random(11));
+        ExerciseSearchIndex index = new ExerciseSearchIndex(exercises);
+        ExerciseSearchIndex.Query query = new ExerciseSearchIndex.Query("press", null, null, null, null, null);
+        List<Exercise> matches = naive(exercises, "press", null, null, null, null, null);
+        List<Exercise> byLevel = matches.stream()
+                .sorted(Comparator.comparing((Exercise e) -> e.getLevel() == null ? Integer.MAX_VALUE : e.getLevel().ordinal())
+                        .thenComparing(e -> e.getName().toLowerCase(Locale.ROOT))
+                        .thenComparing(Exercise::getId))
+                .toList();
+
+        List<Exercise> paged = new ArrayList<>();
+        for (int offset = 0; ; offset += 100) {
+            ExerciseSearchIndex.Page page = index.search(query, ExerciseSearchIndex.SortField.LEVEL, false, offset, 100);
+            assertEquals(matches.size(), page.total());
+            if (page.exercises().isEmpty()) {
+                break;
+            }
+            paged.addAll(page.exercises());
+        }
+        assertEquals(byLevel, paged);
+        // Descending reverses only the level; ties stay in ascending name, then id order
+        List<Exercise> byLevelDescending = matches.stream()
+                .sorted(Comparator.comparing((Exercise e) -> e.getLevel().ordinal(), Comparator.reverseOrder())
+                        .thenComparing(e -> e.getName().toLowerCase(Locale.ROOT))
+                        .thenComparing(Exercise::getId))
+                .toList();
+        assertEquals(byLevelDescending,
+                index.search(query, ExerciseSearchIndex.SortField.LEVEL, true, 0, matches.size()).exercises());
+        // Unsorted pages keep catalog order
+        assertEquals(matches.subList(10, 20), index.search(query, null, false, 10, 10).exercises());
+    }
+
+    @Test
+    void descendingSort_keepsMissingValuesLast() {
+        List<Exercise> exercises = List.of(
+                Exercise.builder().id("1").name("Row").build(),
+                Exercise.builder().id("2").name("Curl").equipment(Equipment.BARBELL).build(),
+                Exercise.builder().id("3").name("Squat").equipment(Equipment.DUMBBELL).build(),
+                Exercise.builder().id("4").name("Press").equipment(Equipment.DUMBBELL).build());
+        ExerciseSearchIndex index = new ExerciseSearchIndex(exercises);
+        ExerciseSearchIndex.Query all = new ExerciseSearchIndex.Query(null, null, null, null, null, null);
+
+        // DUMBBELL comes before BARBELL in the enum
+        assertEquals(List.of(exercises.get(3), exercises.get(2), exercises.get(1), exercises.get(0)),
+                index.search(all, ExerciseSearchIndex.SortField.EQUIPMENT, false, 0, 10).exercises());
+        assertEquals(List.of(exercises.get(1), exercises.get(3), exercises.get(2), exercises.get(0)),
+                index.search(all, ExerciseSearchIndex.SortField.EQUIPMENT, true, 0, 10).exercises());
+    }
+
+    // Timing only; excluded from the regular build, see the surefire configuration
+    @Test
+    @Tag("benchmark")
+    void benchmark_searchAgainstCatalogSize(TestReporter reporter) {
+        Random random = new Random(7);
+        List<Exercise> exercises = catalog(CATALOG_SIZE, random);
+        ExerciseSearchIndex index = new ExerciseSearchIndex(exercises);
+
+        long[] samples = new long[ITERATIONS];
+        for (int warmup = 0; warmup < 2; warmup++) {
+            for (int i = 0; i < ITERATIONS; i++) {
+                String name = i % 2 == 0 ? "press" : null;
+                long start = System.nanoTime();
+                index.search(name, Category.values()[i % Category.values().length], null,
+                        List.of(MuscleGroup.values()[i % MuscleGroup.values().length]), null, null);
+                samples[i] = System.nanoTime() - start;
+            }
+        }
+        Arrays.sort(samples);
+        long p50 = samples[ITERATIONS / 2] / 1_000;
+        long p99 = samples[(int) Math.ceil(ITERATIONS * 0.99) - 1] / 1_000;
+        reporter.publishEntry("exercise search over " + CATALOG_SIZE + " exercises", "p50=" + p50 + "us, p99=" + p99 + "us");
+    }
+}
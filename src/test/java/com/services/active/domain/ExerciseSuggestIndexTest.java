@@ -0,0 +1,102 @@
+package com.services.active.domain;
+
+import com.services.active.models.Exercise;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExerciseSuggestIndexTest {
+
+    private static final int ITERATIONS = 2_000;
+    private static final List<String> NAMES = List.of(
+            "Barbell Bench Press - Medium Grip", "Dumbbell Bench Press", "Incline Dumbbell Press", "Dumbbell Bicep Curl",
+            "Hammer Curls", "Barbell Curl", "Bench Dips", "Leg Press", "Pushups", "Barbell Squat", "Romanian Deadlift");
+    private static final String[] FILLER = {"Cable", "Seated", "Standing", "Reverse", "Alternate", "One-Arm",
+            "Close-Grip", "Smith", "Machine", "Lateral", "Raise", "Row", "Fly", "Extension", "Crunch", "Lunge"};
+
+    private static List<Exercise> catalog(int filler) {
+        List<Exercise> exercises = new ArrayList<>();
+        for (int i = 0; i < NAMES.size(); i++) {
+            exercises.add(Exercise.builder().id("exercise-" + i).name(NAMES.get(i)).build());
+        }
+        Random random = new Random(3);
+        for (int i = 0; i < filler; i++) {
+            String name = FILLER[random.nextInt(FILLER.length)] + " " + FILLER[random.nextInt(FILLER.length)] + " " + i;
+            exercises.add(Exercise.builder().id("filler-" + i).name(name).build());
+        }
+        return exercises;
+    }
+
+    private static List<String> names(List<Exercise> exercises) {
+        return exercises.stream().map(Exercise::getName).toList();
+    }
+
+    @Test
+    void prefixesAndTyposFindTheExercise() {
+        ExerciseSuggestIndex index = new ExerciseSuggestIndex(catalog(500));
+
+        assertEquals(List.of("Dumbbell Bench Press", "Barbell Bench Press - Medium Grip"), names(index.suggest("bench pres", 5)));
+        assertEquals("Dumbbell Bicep Curl", names(index.suggest("dumbell curl", 5)).getFirst());
+        assertEquals("Dumbbell Bench Press", names(index.suggest("benhc press", 5)).getFirst());
+        assertEquals(List.of("Romanian Deadlift"), names(index.suggest("deadlft romanian", 5)));
+        assertEquals(List.of("Hammer Curls"), names(index.suggest("hamer", 5)));
+        assertEquals(List.of("Barbell Squat"), names(index.suggest("SQUA", 5)));
+    }
+
+    @Test
+    void rankingPrefersExactThenPrefixThenFuzzy() {
+        ExerciseSuggestIndex index = new ExerciseSuggestIndex(List.of(
+                Exercise.builder().id("1").name("Presses Machine").build(),
+                Exercise.builder().id("2").name("Leg Press").build(),
+                Exercise.builder().id("3").name("Prss Variation").build()));
+
+        assertEquals(List.of("Leg Press", "Presses Machine", "Prss Variation"), names(index.suggest("press", 5)));
+        assertEquals(List.of("Prss Variation", "Leg Press", "Presses Machine"), names(index.suggest("prss", 5)));
+    }
+
+    @Test
+    void respectsLimitAndIgnoresEmptyQueries() {
+        ExerciseSuggestIndex index = new ExerciseSuggestIndex(catalog(500));
+
+        assertEquals(3, index.suggest("b", 3).size());
+        assertEquals(List.of(), index.suggest("  - ", 10));
+        assertEquals(List.of(), index.suggest(null, 10));
+        assertEquals(List.of(), index.suggest("zzzzzz", 10));
+        assertEquals(List.of(), ExerciseSuggestIndex.EMPTY.suggest("bench", 10));
+    }
+
+    @Test
+    void fuzzyCost_scoresWholeTokenAndPrefixMatches() {
+        assertEquals(2, ExerciseSuggestIndex.fuzzyCost("dumbell", "dumbbell", 2));
+        assertEquals(3, ExerciseSuggestIndex.fuzzyCost("dumbel", "dumbbell", 1));
+        assertEquals(Integer.MAX_VALUE, ExerciseSuggestIndex.fuzzyCost("squat", "press", 1));
+    }
+
+    // Timing only; excluded from the regular build, see the surefire configuration
+    @Test
+    @Tag("benchmark")
+    void benchmark_keystrokeLatency(TestReporter reporter) {
+        ExerciseSuggestIndex index = new ExerciseSuggestIndex(catalog(3_000));
+        String[] keystrokes = {"b", "be", "ben", "benc", "bench", "bench ", "bench p", "bench pr", "bench pre", "bench pres"};
+
+        long[] samples = new long[ITERATIONS];
+        for (int warmup = 0; warmup < 2; warmup++) {
+            for (int i = 0; i < ITERATIONS; i++) {
+                long start = System.nanoTime();
+                index.suggest(keystrokes[i % keystrokes.length], 10);
+                samples[i] = System.nanoTime() - start;
+            }
+        }
+        Arrays.sort(samples);
+        long p50 = samples[ITERATIONS / 2] / 1_000;
+        long p99 = samples[(int) Math.ceil(ITERATIONS * 0.99) - 1] / 1_000;
+        reporter.publishEntry("exercise suggest over " + (3_000 + NAMES.size()) + " exercises", "p50=" + p50 + "us, p99=" + p99 + "us");
+    }
+}
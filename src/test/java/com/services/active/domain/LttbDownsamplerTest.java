@@ -0,0 +1,70 @@
+package com.services.active.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LttbDownsamplerTest {
+
+    private static List<LttbDownsampler.Point> downsample(double[] ys, long expectedTotal, int threshold) {
+        LttbDownsampler downsampler = new LttbDownsampler(expectedTotal, threshold);
+        for (int i = 0; i < ys.length; i++) {
+            downsampler.add(i, ys[i]);
+        }
+        return downsampler.finish();
+    }
+
+    @Test
+    void keepsEveryPointWhenInputFitsThreshold() {
+        List<LttbDownsampler.Point> points = downsample(new double[]{1, 5, 2, 4}, 4, 10);
+        assertEquals(4, points.size());
+        assertEquals(new LttbDownsampler.Point(1, 5), points.get(1));
+    }
+
+    @Test
+    void reducesToThresholdKeepingEndpointsInOrder() {
+        double[] ys = new double[10_000];
+        for (int i = 0; i < ys.length; i++) {
+            ys[i] = Math.sin(i / 100.0) * 100;
+        }
+        List<LttbDownsampler.Point> points = downsample(ys, ys.length, 100);
+
+        assertEquals(100, points.size());
+        assertEquals(0, points.getFirst().x());
+        assertEquals(ys.length - 1, points.getLast().x());
+        for (int i = 1; i < points.size(); i++) {
+            assertTrue(points.get(i).x() > points.get(i - 1).x());
+        }
+    }
+
+    @Test
+    void keepsSpikesThatAveragingWouldFlatten() {
+        double[] ys = new double[1_000];
+        ys[500] = 1_000;
+        List<LttbDownsampler.Point> points = downsample(ys, ys.length, 20);
+
+        assertTrue(points.stream().anyMatch(p -> p.x() == 500 && p.y() == 1_000));
+    }
+
+    @Test
+    void toleratesInaccurateExpectedTotal() {
+        double[] ys = new double[500];
+        for (int i = 0; i < ys.length; i++) {
+            ys[i] = i % 7;
+        }
+        List<LttbDownsampler.Point> surplus = downsample(ys, 400, 50);
+        assertEquals(50, surplus.size());
+        assertEquals(ys.length - 1, surplus.getLast().x());
+
+        List<LttbDownsampler.Point> shortfall = downsample(ys, 600, 50);
+        assertTrue(shortfall.size() <= 50);
+        assertEquals(ys.length - 1, shortfall.getLast().x());
+    }
+
+    @Test
+    void rejectsThresholdBelowThree() {
+        assertThrows(IllegalArgumentException.class, () -> new LttbDownsampler(10, 2));
+    }
+}
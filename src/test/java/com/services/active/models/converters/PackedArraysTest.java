@@ -0,0 +1,132 @@
+package com.services.active.models.converters;
+
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedArraysTest {
+
+    @Test
+    void roundTripsIntsAndDoubles() {
+        int[] reps = {10, 8, 6, 0, Integer.MAX_VALUE};
+        double[] weight = {50.0, 52.5, 55.0, 0.0, 1e-3};
+        assertArrayEquals(reps, PackedArrays.unpackInts(PackedArrays.packInts(reps)));
+        assertArrayEquals(weight, PackedArrays.unpackDoubles(PackedArrays.packDoubles(weight)));
+        assertEquals(PackedArrays.SUBTYPE, PackedArrays.packInts(reps).getType());
+    }
+
+    @Test
+    void keepsNullSetValuesAsMarkers() {
+        int[] reps = PackedArrays.toInts(Arrays.asList(5, null, 0));
+        double[] weight = PackedArrays.toDoubles(Arrays.asList(100.0, null, 0.0));
+        assertArrayEquals(new int[]{5, PackedArrays.NULL_INT, 0}, PackedArrays.unpackInts(PackedArrays.packInts(reps)));
+        double[] unpacked = PackedArrays.unpackDoubles(PackedArrays.packDoubles(weight));
+        assertTrue(PackedArrays.isNull(unpacked[1]));
+        assertEquals(0.0, unpacked[2]);
+    }
+
+    @Test
+    void readsLegacyArraysWithNullsAsMarkers() {
+        assertArrayEquals(new int[]{5, PackedArrays.NULL_INT, 3}, PackedArrays.unpackInts(Arrays.asList(5, null, 3)));
+        assertTrue(PackedArrays.isNull(PackedArrays.unpackDoubles(Arrays.asList(100.0, null))[1]));
+        // Older documents may carry whole-number weights as int32
+        assertArrayEquals(new double[]{100.0}, PackedArrays.unpackDoubles(List.of(100)));
+    }
+
+    @Test
+    void packedDocumentsAreSmallerOnRealisticHistory() {
+        // ~2 years of training: 300 sessions x 6 exercises x 3-5 sets
+        Random random = new Random(42);
+        List<Document> legacy = new ArrayList<>();
+        List<Document> packed = new ArrayList<>();
+        for (int i = 0; i < 1800; i++) {
+            int sets = 3 + random.nextInt(3);
+            int[] reps = new int[sets];
+            double[] weight = new double[sets];
+            for (int s = 0; s < sets; s++) {
+                reps[s] = 5 + random.nextInt(8);
+                weight[s] = 20 + random.nextInt(80) * 2.5;
+            }
+            legacy.add(new Document("reps", Arrays.stream(reps).boxed().toList())
+                    .append("weight", Arrays.stream(weight).boxed().toList()));
+            packed.add(new Document("reps", PackedArrays.packInts(reps))
+                    .append("weight", PackedArrays.packDoubles(weight)));
+        }
+
+        List<RawBsonDocument> legacyRaw = legacy.stream().map(PackedArraysTest::encode).toList();
+        List<RawBsonDocument> packedRaw = packed.stream().map(PackedArraysTest::encode).toList();
+        long legacyBytes = legacyRaw.stream().mapToLong(d -> d.getByteBuffer().remaining()).sum();
+        long packedBytes = packedRaw.stream().mapToLong(d -> d.getByteBuffer().remaining()).sum();
+
+        assertTrue(packedBytes < legacyBytes);
+
+        DocumentCodec codec = new DocumentCodec();
+        for (int i = 0; i < legacy.size(); i++) {
+            Document decoded = packedRaw.get(i).decode(codec);
+            assertArrayEquals(PackedArrays.unpackInts(legacy.get(i).get("reps")), PackedArrays.unpackInts(decoded.get("reps")));
+            assertArrayEquals(PackedArrays.unpackDoubles(legacy.get(i).get("weight")), PackedArrays.unpackDoubles(decoded.get("weight")));
+        }
+    }
+
+    // Timing only; excluded from the regular build, see the surefire configuration
+    @Test
+    @Tag("benchmark")
+    void benchmark_decodeLegacyVsPacked(TestReporter reporter) {
+        Random random = new Random(42);
+        List<RawBsonDocument> legacyRaw = new ArrayList<>();
+        List<RawBsonDocument> packedRaw = new ArrayList<>();
+        for (int i = 0; i < 1800; i++) {
+            int sets = 3 + random.nextInt(3);
+            int[] reps = new int[sets];
+            double[] weight = new double[sets];
+            for (int s = 0; s < sets; s++) {
+                reps[s] = 5 + random.nextInt(8);
+                weight[s] = 20 + random.nextInt(80) * 2.5;
+            }
+            legacyRaw.add(encode(new Document("reps", Arrays.stream(reps).boxed().toList())
+                    .append("weight", Arrays.stream(weight).boxed().toList())));
+            packedRaw.add(encode(new Document("reps", PackedArrays.packInts(reps))
+                    .append("weight", PackedArrays.packDoubles(weight))));
+        }
+
+        DocumentCodec codec = new DocumentCodec();
+        long legacyNanos = time(() -> legacyRaw.forEach(raw -> {
+            Document d = raw.decode(codec);
+            PackedArrays.unpackInts(d.get("reps"));
+            PackedArrays.unpackDoubles(d.get("weight"));
+        }));
+        long packedNanos = time(() -> packedRaw.forEach(raw -> {
+            Document d = raw.decode(codec);
+            PackedArrays.unpackInts(d.get("reps"));
+            PackedArrays.unpackDoubles(d.get("weight"));
+        }));
+
+        reporter.publishEntry("sets decoding, " + legacyRaw.size() + " exercise records",
+                "array=" + legacyNanos / 1_000 + "us, packed=" + packedNanos / 1_000 + "us");
+    }
+
+    private static RawBsonDocument encode(Document document) {
+        return new RawBsonDocument(document, new DocumentCodec());
+    }
+
+    private static long time(Runnable decode) {
+        for (int i = 0; i < 20; i++) decode.run();
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 20; i++) {
+            long start = System.nanoTime();
+            decode.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+}
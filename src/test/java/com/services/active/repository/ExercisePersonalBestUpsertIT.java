@@ -0,0 +1,61 @@
+package com.services.active.repository;
+
+import com.services.active.config.IntegrationTestBase;
+import com.services.active.models.ExercisePersonalBest;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ExercisePersonalBestUpsertIT extends IntegrationTestBase {
+
+    private final ExercisePersonalBestRepository personalBestRepository;
+
+    private static ExercisePersonalBest candidate(String exerciseId, Double oneRm, Double totalVolume, String recordId) {
+        return ExercisePersonalBest.builder()
+                .userId("pb-user")
+                .exerciseId(exerciseId)
+                .oneRm(oneRm)
+                .oneRmRecordId(oneRm != null ? recordId : null)
+                .oneRmRecordSetIndex(oneRm != null ? 0 : null)
+                .totalVolume(totalVolume)
+                .totalVolumeRecordId(totalVolume != null ? recordId : null)
+                .build();
+    }
+
+    @Test
+    @DisplayName("upsertBests inserts missing PBs and only raises existing ones")
+    void upsertBests_neverLowersExistingPb() {
+        personalBestRepository.upsertBests(List.of(
+                candidate("squat", 100.0, 2000.0, "r1"),
+                candidate("bench", 80.0, null, "r1")));
+
+        personalBestRepository.upsertBests(List.of(
+                candidate("squat", 90.0, 2500.0, "r2"),
+                candidate("bench", 85.0, 1200.0, "r2")));
+
+        ExercisePersonalBest squat = personalBestRepository.findByUserIdAndExerciseId("pb-user", "squat").orElseThrow();
+        assertThat(squat.getOneRm()).isEqualTo(100.0);
+        assertThat(squat.getOneRmRecordId()).isEqualTo("r1");
+        assertThat(squat.getTotalVolume()).isEqualTo(2500.0);
+        assertThat(squat.getTotalVolumeRecordId()).isEqualTo("r2");
+        assertThat(squat.getCreatedAt()).isNotNull();
+        assertThat(squat.getUpdatedAt()).isNotNull();
+
+        ExercisePersonalBest bench = personalBestRepository.findByUserIdAndExerciseId("pb-user", "bench").orElseThrow();
+        assertThat(bench.getOneRm()).isEqualTo(85.0);
+        assertThat(bench.getOneRmRecordId()).isEqualTo("r2");
+        assertThat(bench.getTotalVolume()).isEqualTo(1200.0);
+
+        assertThat(personalBestRepository.findAllByUserIdAndExerciseIdIn("pb-user", Set.of("squat", "bench", "deadlift")))
+                .hasSize(2);
+    }
+}
@@ -0,0 +1,103 @@
+package com.services.active.repository;
+
+import com.services.active.config.IntegrationTestBase;
+import com.services.active.config.MongoRoundTripCounter;
+import com.services.active.models.ExerciseRecord;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ExerciseRecordBulkInsertIT extends IntegrationTestBase {
+
+    private static final int WARMUP = 5;
+    private static final int ITERATIONS = 40;
+
+    private final ExerciseRecordRepository exerciseRecordRepository;
+    private final MongoRoundTripCounter roundTripCounter;
+    private final MongoTemplate mongoTemplate;
+
+    private List<ExerciseRecord> session(int exercises) {
+        List<ExerciseRecord> records = new ArrayList<>();
+        for (int i = 0; i < exercises; i++) {
+            records.add(ExerciseRecord.builder()
+                    .userId("bench-user")
+                    .exerciseId("exercise-" + i)
+                    .reps(new int[]{10, 8, 6})
+                    .weight(new double[]{50.0, 55.0, 60.0})
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        }
+        return records;
+    }
+
+    private long p99Micros(int exercises, Consumer<List<ExerciseRecord>> insert) {
+        for (int i = 0; i < WARMUP; i++) {
+            insert.accept(session(exercises));
+        }
+        long[] samples = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            List<ExerciseRecord> records = session(exercises);
+            long start = System.nanoTime();
+            insert.accept(records);
+            samples[i] = (System.nanoTime() - start) / 1_000;
+        }
+        Arrays.sort(samples);
+        return samples[(int) Math.ceil(ITERATIONS * 0.99) - 1];
+    }
+
+    @Test
+    @DisplayName("saveAllAndReturn keeps input order and assigns ids client-side")
+    void saveAllAndReturn_preservesOrderAndIds() {
+        List<ExerciseRecord> input = session(12);
+
+        List<ExerciseRecord> saved = exerciseRecordRepository.saveAllAndReturn(input);
+
+        assertThat(saved).hasSize(12);
+        for (int i = 0; i < saved.size(); i++) {
+            assertThat(saved.get(i).getId()).isNotBlank();
+            assertThat(saved.get(i).getExerciseId()).isEqualTo("exercise-" + i);
+        }
+        List<String> ids = saved.stream().map(ExerciseRecord::getId).toList();
+        assertThat(exerciseRecordRepository.findAllById(ids)).hasSize(12);
+    }
+
+    @Test
+    @DisplayName("saveAllAndReturn writes a whole session in one round trip whatever its size")
+    void saveAllAndReturn_usesOneRoundTrip() {
+        for (int exercises : new int[]{5, 20, 50}) {
+            List<ExerciseRecord> records = session(exercises);
+
+            long before = roundTripCounter.current();
+            exerciseRecordRepository.saveAllAndReturn(records);
+
+            assertThat(roundTripCounter.current() - before).as("%d exercises", exercises).isEqualTo(1);
+        }
+    }
+
+    // Timing only; excluded from the regular build, see the failsafe configuration
+    @Test
+    @Tag("benchmark")
+    void benchmark_bulkInsertVsSequentialSave(TestReporter reporter) {
+        for (int exercises : new int[]{5, 20, 50}) {
+            long sequential = p99Micros(exercises, records -> records.forEach(mongoTemplate::save));
+            long bulk = p99Micros(exercises, exerciseRecordRepository::saveAllAndReturn);
+            reporter.publishEntry("exercise_records insert, " + exercises + " exercises",
+                    "sequential p99=" + sequential + "us, bulk p99=" + bulk + "us");
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.services.active.repository;
+
+import com.services.active.config.IndexRegistry;
+import com.services.active.config.IntegrationTestBase;
+import com.services.active.models.ExercisePersonalBest;
+import com.services.active.models.ExerciseRecord;
+import com.services.active.models.Routine;
+import com.services.active.models.Workout;
+import com.services.active.models.WorkoutRecord;
+import com.services.active.models.user.NotificationPreferences;
+import com.services.active.models.user.User;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every user-facing repository query against a seeded database with the registry's indexes, captures the
+ * commands the driver sent through the database profiler, and explains each one. A winning plan with a COLLSCAN
+ * or an in-memory SORT fails the test; add or fix the index declaration on the entity instead of loosening this.
+ * Full scans that are intended (catalog loads, one-off migrations) are not exercised here.
+ */
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class QueryPlanIT extends IntegrationTestBase {
+
+    private static final String USER_ID = new ObjectId().toHexString();
+    private static final Set<String> EXPLAINABLE_COMMANDS = Set.of("find", "aggregate", "count", "distinct", "findAndModify");
+    private static final Set<String> FORBIDDEN_STAGES = Set.of("COLLSCAN", "SORT");
+
+    private final MongoTemplate mongoTemplate;
+    private final IndexRegistry indexRegistry;
+    private final UserRepository userRepository;
+    private final WorkoutRepository workoutRepository;
+    private final WorkoutRecordRepository workoutRecordRepository;
+    private final ExerciseRecordRepository exerciseRecordRepository;
+    private final ExercisePersonalBestRepository personalBestRepository;
+    private final RoutineRepository routineRepository;
+
+    @BeforeEach
+    void seed() {
+        indexRegistry.ensureAll();
+        LocalDateTime now = LocalDateTime.now();
+        List<User> users = new ArrayList<>();
+        List<WorkoutRecord> workoutRecords = new ArrayList<>();
+        List<ExerciseRecord> exerciseRecords = new ArrayList<>();
+        List<Routine> routines = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            String userId = i == 0 ? USER_ID : new ObjectId().toHexString();
+            users.add(User.builder()
+                    .id(userId)
+                    .workosId("workos-" + i)
+                    .timezone(i % 2 == 0 ? "Europe/Sofia" : "America/New_York")
+                    .notificationPreferences(new NotificationPreferences(i % 3 == 0, new ArrayList<>(List.of("20:00"))))
+                    .build());
+            routines.add(Routine.builder().userId(userId).name("Routine " + i).createdAt(now.minusDays(i)).build());
+            for (int r = 0; r < 5; r++) {
+                workoutRecords.add(WorkoutRecord.builder()
+                        .userId(userId)
+                        .workoutId("workout-" + i)
+                        .exerciseRecordIds(List.of())
+                        .createdAt(now.minusDays(r))
+                        .build());
+                exerciseRecords.add(ExerciseRecord.builder()
+                        .userId(userId)
+                        .exerciseId("exercise-" + (r % 3))
+                        .createdAt(now.minusDays(r))
+                        .reps(new int[]{5})
+                        .weight(new double[]{100.0})
+                        .build());
+            }
+        }
+        userRepository.saveAll(users);
+        routineRepository.saveAll(routines);
+        workoutRecordRepository.saveAll(workoutRecords);
+        exerciseRecordRepository.saveAll(exerciseRecords);
+        workoutRepository.save(Workout.builder().userId(USER_ID).title("Workout").templateId(new ObjectId().toHexString()).build());
+
+        mongoTemplate.getDb().runCommand(new Document("profile", 2));
+    }
+
+    @AfterEach
+    void stopProfiling() {
+        mongoTemplate.getDb().runCommand(new Document("profile", 0));
+    }
+
+    private void runRepositoryQueries() {
+        LocalDateTime now = LocalDateTime.now();
+
+        userRepository.findByWorkosId("workos-0");
+        userRepository.findByTimezoneIn(List.of("Europe/Sofia"));
+        userRepository.findUsersToNotify("Europe/Sofia", "20:00");
+
+        workoutRepository.findAllByUserId(USER_ID);
+        workoutRepository.findAllWithTemplateByUserId(USER_ID);
+        workoutRepository.recordPerformed(new ObjectId().toHexString(), now);
+
+        workoutRecordRepository.findAllByUserId(USER_ID);
+        workoutRecordRepository.findHistoryPage(USER_ID, null, 2);
+        workoutRecordRepository.findHistoryPage(USER_ID, new HistoryCursor(now.minusDays(2), new ObjectId().toHexString()), 2);
+        try (Stream<WorkoutRecord> history = workoutRecordRepository.streamHistory(USER_ID, 2)) {
+            history.forEach(record -> { });
+        }
+
+        exerciseRecordRepository.findByUserIdAndExerciseIdOrderByCreatedAtAsc(USER_ID, "exercise-0");
+        exerciseRecordRepository.findByUserIdOrderByCreatedAtAsc(USER_ID);
+        exerciseRecordRepository.countInWindow(USER_ID, "exercise-0", now.minusDays(30), now);
+        try (Stream<ExerciseRecord> series = exerciseRecordRepository.streamSeries(USER_ID, "exercise-0", now.minusDays(30), null, 2)) {
+            series.forEach(record -> { });
+        }
+
+        personalBestRepository.upsertBests(List.of(ExercisePersonalBest.builder()
+                .userId(USER_ID).exerciseId("exercise-0").oneRm(110.0).oneRmRecordId("r").oneRmRecordSetIndex(0).build()));
+        personalBestRepository.findByUserIdAndExerciseId(USER_ID, "exercise-0");
+        personalBestRepository.findAllByUserId(USER_ID);
+        personalBestRepository.findAllByUserIdAndExerciseIdIn(USER_ID, Set.of("exercise-0", "exercise-1"));
+
+        routineRepository.findAllByUserIdOrderByCreatedAtDesc(USER_ID);
+        routineRepository.findByIdAndUserId(new ObjectId().toHexString(), USER_ID);
+        routineRepository.existsByUserIdAndNameIgnoreCase(USER_ID, "routine 0");
+
+        // Account deletion
+        workoutRecordRepository.deleteByUserId(USER_ID);
+        exerciseRecordRepository.deleteByUserId(USER_ID);
+        personalBestRepository.deleteByUserId(USER_ID);
+        routineRepository.deleteByUserId(USER_ID);
+        workoutRepository.deleteByUserId(USER_ID);
+    }
+
+    // Turns a system.profile entry back into a command that can be explained; null for anything else
+    private static Document explainable(Document entry) {
+        String op = entry.getString("op");
+        String ns = entry.getString("ns");
+        String collection = ns.substring(ns.indexOf('.') + 1);
+        Document command = entry.get("command", Document.class);
+        if (command == null || collection.startsWith("system.")) {
+            return null;
+        }
+        return switch (op) {
+            case "query", "command" -> EXPLAINABLE_COMMANDS.contains(command.keySet().iterator().next())
+                    ? withoutSessionFields(command)
+                    : null;
+            case "update" -> new Document("update", collection).append("updates", List.of(command));
+            case "remove" -> new Document("delete", collection).append("deletes", List.of(command));
+            default -> null;
+        };
+    }
+
+    private static Document withoutSessionFields(Document command) {
+        Document copy = new Document();
+        command.forEach((key, value) -> {
+            if (!key.startsWith("$") && !key.equals("lsid") && !key.equals("txnNumber")) {
+                copy.append(key, value);
+            }
+        });
+        return copy;
+    }
+
+    private static void collectStages(Object node, List<String> stages) {
+        if (node instanceof Document doc) {
+            doc.forEach((key, value) -> {
+                if (key.equals("rejectedPlans")) {
+                    return;
+                }
+                if (key.equals("stage") && value instanceof String stage) {
+                    stages.add(stage);
+                }
+                collectStages(value, stages);
+            });
+        } else if (node instanceof List<?> list) {
+            list.forEach(item -> collectStages(item, stages));
+        }
+    }
+
+    @Test
+    @DisplayName("Every repository query is served by an index: no COLLSCAN and no in-memory SORT")
+    void repositoryQueries_useIndexes() {
+        runRepositoryQueries();
+        mongoTemplate.getDb().runCommand(new Document("profile", 0));
+
+        List<Document> profiled = mongoTemplate.getCollection("system.profile").find().into(new ArrayList<>());
+        List<String> violations = new ArrayList<>();
+        int explained = 0;
+        for (Document entry : profiled) {
+            Document command = explainable(entry);
+            if (command == null) {
+                continue;
+            }
+            Document explain = mongoTemplate.getDb().runCommand(new Document("explain", command).append("verbosity", "queryPlanner"));
+            List<String> stages = new ArrayList<>();
+            collectStages(explain, stages);
+            explained++;
+            if (stages.stream().anyMatch(FORBIDDEN_STAGES::contains)) {
+                violations.add(entry.getString("ns") + " " + command.toJson() + " -> " + stages);
+            }
+        }
+
+        assertThat(explained).isGreaterThanOrEqualTo(20);
+        assertThat(violations).isEmpty();
+    }
+
+    @Test
+    @DisplayName("After ensureAll every declared index exists and nothing is reported missing")
+    void registry_ensuresAllDeclaredIndexes() {
+        assertThat(indexRegistry.ensureAll()).isEmpty();
+        assertThat(indexRegistry.report())
+                .allSatisfy(report -> assertThat(report.missing()).as(report.collection()).isEmpty());
+        assertThat(indexRegistry.declared())
+                .extracting(IndexRegistry.DeclaredIndex::name)
+                .contains(ExerciseRecord.USER_EXERCISE_HISTORY_INDEX, WorkoutRecord.USER_HISTORY_INDEX,
+                        Routine.USER_CREATED_INDEX, User.REMINDER_INDEX);
+    }
+}
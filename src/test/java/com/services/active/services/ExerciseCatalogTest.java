@@ -0,0 +1,164 @@
+package com.services.active.services;
+
+import com.services.active.dto.ExerciseCatalogDelta;
+import com.services.active.models.Exercise;
+import com.services.active.repository.ExerciseRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ExerciseCatalogTest {
+
+    @Mock
+    private ExerciseRepository exerciseRepository;
+    @Mock
+    private MongoTemplate mongoTemplate;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ExerciseCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        catalog = new ExerciseCatalog(exerciseRepository, mongoTemplate, eventPublisher, meterRegistry);
+    }
+
+    private double lookups(String result) {
+        return meterRegistry.get("exercise_catalog.lookups").tag("result", result).counter().count();
+    }
+
+    @Test
+    void lookups_areServedFromSnapshotAfterReload() {
+        when(exerciseRepository.findAll()).thenReturn(List.of(
+                Exercise.builder().id("squat").name("Squat").build(),
+                Exercise.builder().id("bench").name("Bench Press").build()));
+        catalog.reload();
+
+        assertEquals(Optional.of("Squat"), catalog.findName("squat"));
+        assertEquals(Map.of("squat", "Squat", "bench", "Bench Press"), catalog.findNamesById(Set.of("squat", "bench")));
+
+        verify(exerciseRepository, never()).findById(any());
+        verify(exerciseRepository, never()).findAllById(any());
+        assertEquals(3.0, lookups("hit"));
+        assertEquals(0.0, lookups("miss"));
+        assertEquals(2.0, meterRegistry.get("exercise_catalog.size").gauge().value());
+    }
+
+    @Test
+    void unknownIds_fallBackToRepositoryInOneQuery() {
+        when(exerciseRepository.findAll()).thenReturn(List.of(Exercise.builder().id("squat").name("Squat").build()));
+        catalog.reload();
+        when(exerciseRepository.findAllById(Set.of("deadlift", "missing")))
+                .thenReturn(List.of(Exercise.builder().id("deadlift").name("Deadlift").build()));
+
+        Map<String, Exercise> found = catalog.findAllById(List.of("squat", "deadlift", "missing"));
+
+        assertEquals(Set.of("squat", "deadlift"), found.keySet());
+        verify(exerciseRepository, times(1)).findAllById(any());
+        assertEquals(1.0, lookups("hit"));
+        assertEquals(2.0, lookups("miss"));
+    }
+
+    @Test
+    void reload_swapsInNewSnapshot() {
+        when(exerciseRepository.findAll())
+                .thenReturn(List.of(Exercise.builder().id("squat").name("Squat").build()))
+                .thenReturn(List.of(Exercise.builder().id("squat").name("Back Squat").build()));
+        ExerciseCatalog.Snapshot first = catalog.reload();
+        ExerciseCatalog.Snapshot second = catalog.reload();
+
+        assertNotSame(first, second);
+        assertSame(second, catalog.snapshot());
+        assertEquals(Optional.of("Back Squat"), catalog.findName("squat"));
+        assertThrows(UnsupportedOperationException.class, () -> second.byId().put("x", new Exercise()));
+    }
+
+    @Test
+    void changesSince_diffsAgainstRememberedVersions() {
+        Exercise squat = Exercise.builder().id("squat").name("Squat").build();
+        Exercise bench = Exercise.builder().id("bench").name("Bench Press").build();
+        Exercise backSquat = Exercise.builder().id("squat").name("Back Squat").build();
+        Exercise deadlift = Exercise.builder().id("deadlift").name("Deadlift").build();
+        when(exerciseRepository.findAll())
+                .thenReturn(List.of(squat, bench))
+                .thenReturn(List.of(backSquat, deadlift));
+        String v1 = catalog.reload().version();
+        String v2 = catalog.reload().version();
+        assertNotEquals(v1, v2);
+
+        ExerciseCatalogDelta delta = catalog.changesSince(v1);
+        assertEquals(v2, delta.getVersion());
+        assertFalse(delta.isFull());
+        assertEquals(List.of(deadlift), delta.getAdded());
+        assertEquals(List.of(backSquat), delta.getChanged());
+        assertEquals(List.of("bench"), delta.getRemoved());
+
+        ExerciseCatalogDelta upToDate = catalog.changesSince(v2);
+        assertTrue(upToDate.getAdded().isEmpty() && upToDate.getChanged().isEmpty() && upToDate.getRemoved().isEmpty());
+
+        ExerciseCatalogDelta unknown = catalog.changesSince("not-a-version");
+        assertTrue(unknown.isFull());
+        assertEquals(2, unknown.getAdded().size());
+    }
+
+    @Test
+    void changesSince_withoutVersion_returnsWholeCatalog() {
+        // Before the first reload the catalog is the empty snapshot
+        assertTrue(catalog.changesSince(null).isFull());
+
+        when(exerciseRepository.findAll()).thenReturn(List.of(Exercise.builder().id("squat").name("Squat").build()));
+        catalog.reload();
+
+        ExerciseCatalogDelta delta = catalog.changesSince(null);
+        assertTrue(delta.isFull());
+        assertEquals(1, delta.getAdded().size());
+    }
+
+    @Test
+    void version_dependsOnlyOnContent() {
+        when(exerciseRepository.findAll())
+                .thenReturn(List.of(Exercise.builder().id("a").name("A").build(), Exercise.builder().id("b").name("B").build()))
+                .thenReturn(List.of(Exercise.builder().id("b").name("B").build(), Exercise.builder().id("a").name("A").build()));
+        ExerciseCatalog.Snapshot first = catalog.reload();
+        ExerciseCatalog.Snapshot second = catalog.reload();
+
+        assertEquals(first.version(), second.version());
+        // Reloading the same content does not push a history entry or announce a new version
+        assertTrue(second.history().isEmpty());
+        verify(eventPublisher, times(1)).publishEvent(new ExerciseCatalog.VersionChanged(first.version()));
+    }
+
+    @Test
+    void changeEvents_areCoalescedIntoOneReload() {
+        ReflectionTestUtils.setField(catalog, "quietPeriod", Duration.ofMillis(100));
+        when(exerciseRepository.findAll()).thenReturn(List.of(Exercise.builder().id("squat").name("Squat").build()));
+
+        // An import writing a chunk of documents fires one event per document
+        for (int i = 0; i < 500; i++) {
+            catalog.onCatalogChanged();
+        }
+
+        verify(exerciseRepository, timeout(2_000).times(1)).findAll();
+        verify(exerciseRepository, after(300).times(1)).findAll();
+        assertEquals(1, catalog.snapshot().byId().size());
+        assertTrue(catalog.snapshot().history().isEmpty());
+    }
+}
@@ -0,0 +1,113 @@
+package com.services.active.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.services.active.config.IntegrationTestBase;
+import com.services.active.dto.ExerciseSearchPage;
+import com.services.active.models.Exercise;
+import com.services.active.models.types.Category;
+import com.services.active.models.types.Equipment;
+import com.services.active.models.types.Level;
+import com.services.active.models.types.MuscleGroup;
+import com.services.active.repository.ExerciseRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ExerciseSearchCacheIT extends IntegrationTestBase {
+
+    private static final int EXERCISES = 200;
+
+    private final ExerciseService exerciseService;
+    private final ExerciseRepository exerciseRepository;
+    private final ExerciseCatalog exerciseCatalog;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void seedCatalog() {
+        List<Exercise> exercises = new ArrayList<>();
+        for (int i = 0; i < EXERCISES; i++) {
+            exercises.add(Exercise.builder()
+                    .id(String.format("exercise-%03d", i))
+                    .name((i % 2 == 0 ? "Bench Press " : "Barbell Row ") + i)
+                    .category(Category.STRENGTH)
+                    .level(Level.values()[i % Level.values().length])
+                    .equipment(Equipment.BARBELL)
+                    .primaryMuscles(List.of(MuscleGroup.CHEST, MuscleGroup.TRICEPS))
+                    .secondaryMuscles(List.of(MuscleGroup.SHOULDERS))
+                    .build());
+        }
+        exerciseRepository.saveAll(exercises);
+        exerciseCatalog.reload();
+    }
+
+    private ExerciseSearchCache.Entry search(String name, List<MuscleGroup> primaryMuscles, String fields) {
+        return exerciseService.searchExercisesJson(name, Category.STRENGTH, null, primaryMuscles, null,
+                Equipment.BARBELL, "name", null, 20, fields);
+    }
+
+    @Test
+    @DisplayName("Equivalent queries share one cached response, identical to serializing the search result")
+    void equivalentQueries_shareOneEntry() throws Exception {
+        ExerciseSearchCache.Entry first = search("bench", List.of(MuscleGroup.CHEST, MuscleGroup.TRICEPS), "name,level");
+
+        assertThat(search("BENCH", List.of(MuscleGroup.TRICEPS, MuscleGroup.CHEST, MuscleGroup.CHEST), "level, name"))
+                .isSameAs(first);
+        // Blanks are part of the substring, so they make a different query
+        assertThat(search("bench ", List.of(MuscleGroup.CHEST, MuscleGroup.TRICEPS), "name,level")).isNotSameAs(first);
+        assertThat(search("bench", List.of(MuscleGroup.CHEST), "name,level")).isNotSameAs(first);
+
+        ExerciseSearchPage page = exerciseService.searchExercises("bench", Category.STRENGTH, null,
+                List.of(MuscleGroup.CHEST, MuscleGroup.TRICEPS), null, Equipment.BARBELL, "name", null, 20, "name,level");
+        assertThat(first.total()).isEqualTo(EXERCISES / 2).isEqualTo(page.getTotal());
+        assertThat(first.json()).isEqualTo(objectMapper.writeValueAsBytes(page.getExercises()));
+    }
+
+    @Test
+    @DisplayName("A catalog reload with changed content invalidates cached responses")
+    void catalogReload_invalidatesCache() throws Exception {
+        ExerciseSearchCache.Entry before = search("bench", null, "name");
+        assertThat(search("bench", null, "name")).isSameAs(before);
+
+        exerciseRepository.save(Exercise.builder()
+                .id("exercise-000")
+                .name("Bench Press Renamed")
+                .category(Category.STRENGTH)
+                .equipment(Equipment.BARBELL)
+                .build());
+        exerciseCatalog.reload();
+        // Dropped by the reload itself, not by the next lookup
+        assertThat(meterRegistry.get("exercise_search_cache.bytes").gauge().value()).isZero();
+
+        ExerciseSearchCache.Entry after = search("bench", null, "name");
+        assertThat(after).isNotSameAs(before);
+        List<String> names = new ArrayList<>();
+        objectMapper.readTree(after.json()).forEach(exercise -> names.add(exercise.get("name").asText()));
+        // The renamed exercise now sorts last, past the first page
+        assertThat(names).startsWith("Bench Press 10").doesNotContain("Bench Press 0");
+    }
+
+    @Test
+    @DisplayName("Hit ratio and cached bytes are published as gauges")
+    void metrics_arePublished() {
+        search("row", null, null);
+        search("ROW", null, null);
+
+        assertThat(meterRegistry.get("exercise_search_cache.hit_ratio").gauge().value()).isGreaterThan(0);
+        assertThat(meterRegistry.get("exercise_search_cache.bytes").gauge().value())
+                .isGreaterThanOrEqualTo(search("row", null, null).json().length);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "exercise_search").tag("result", "hit")
+                .functionCounter().count()).isGreaterThan(0);
+    }
+}
@@ -11,12 +11,14 @@ import com.services.active.models.types.RoutineType;
 import com.services.active.models.user.User;
 import com.services.active.repository.RoutineRepository;
 import com.services.active.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,13 +32,16 @@ class RoutineServiceTest {
     private RoutineRepository routineRepository;
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private UserDataVersionService userDataVersionService;
     @InjectMocks
     private RoutineService routineService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        routineService = new RoutineService(routineRepository, userRepository);
+        UserReadCache userReadCache = new UserReadCache(new SimpleMeterRegistry(), 10_000, Duration.ofMinutes(10));
+        routineService = new RoutineService(routineRepository, userRepository, userDataVersionService, userReadCache);
     }
 
     @Test
@@ -79,6 +84,74 @@ class RoutineServiceTest {
         verify(userRepository, times(1)).save(argThat(u -> "r-1".equals(u.getActiveRoutineId())));
     }
 
+    @Test
+    void listRoutines_servedFromCacheUntilAMutation() {
+        String workosId = "workos-user-1";
+        String dbUserId = "db-user-1";
+
+        when(userRepository.findByWorkosId(workosId))
+                .thenReturn(Optional.of(User.builder().id(dbUserId).workosId(workosId).build()));
+        when(routineRepository.findAllByUserIdOrderByCreatedAtDesc(dbUserId))
+                .thenReturn(List.of(Routine.builder().id("r-1").name("PPL").userId(dbUserId).build()));
+
+        routineService.listRoutines(workosId);
+        List<Routine> cached = routineService.listRoutines(workosId);
+        assertEquals(1, cached.size());
+        verify(routineRepository, times(1)).findAllByUserIdOrderByCreatedAtDesc(dbUserId);
+
+        when(routineRepository.findById("r-1")).thenReturn(Optional.of(cached.getFirst()));
+        routineService.deleteRoutine(workosId, "r-1");
+        when(routineRepository.findAllByUserIdOrderByCreatedAtDesc(dbUserId)).thenReturn(List.of());
+
+        assertTrue(routineService.listRoutines(workosId).isEmpty());
+        verify(routineRepository, times(2)).findAllByUserIdOrderByCreatedAtDesc(dbUserId);
+    }
+
+    @Test
+    void listRoutines_reloadsWhenTheDataVersionMoved() {
+        String workosId = "workos-user-1";
+        String dbUserId = "db-user-1";
+
+        when(userRepository.findByWorkosId(workosId))
+                .thenReturn(Optional.of(User.builder().id(dbUserId).workosId(workosId).build()));
+        when(routineRepository.findAllByUserIdOrderByCreatedAtDesc(dbUserId))
+                .thenReturn(List.of(Routine.builder().id("r-1").name("PPL").userId(dbUserId).build()));
+        when(userDataVersionService.current(workosId)).thenReturn(1L);
+
+        routineService.listRoutines(workosId);
+        routineService.listRoutines(workosId);
+        verify(routineRepository, times(1)).findAllByUserIdOrderByCreatedAtDesc(dbUserId);
+
+        // Another instance changed the routines; this one only sees the version move
+        when(userDataVersionService.current(workosId)).thenReturn(2L);
+        when(routineRepository.findAllByUserIdOrderByCreatedAtDesc(dbUserId)).thenReturn(List.of());
+
+        assertTrue(routineService.listRoutines(workosId).isEmpty());
+        verify(routineRepository, times(2)).findAllByUserIdOrderByCreatedAtDesc(dbUserId);
+    }
+
+    @Test
+    void listRoutines_callersCannotChangeTheCachedEntry() {
+        String workosId = "workos-user-1";
+        String dbUserId = "db-user-1";
+
+        when(userRepository.findByWorkosId(workosId))
+                .thenReturn(Optional.of(User.builder().id(dbUserId).workosId(workosId).build()));
+        when(routineRepository.findAllByUserIdOrderByCreatedAtDesc(dbUserId))
+                .thenReturn(List.of(Routine.builder().id("r-1").name("PPL").userId(dbUserId)
+                        .pattern(List.of(RoutinePattern.builder().dayIndex(0).dayType(DayType.WORKOUT).workoutId("w-1").build()))
+                        .build()));
+
+        Routine first = routineService.listRoutines(workosId).getFirst();
+        first.setName("Renamed");
+        first.getPattern().getFirst().setWorkoutId("w-2");
+
+        Routine second = routineService.listRoutines(workosId).getFirst();
+        assertEquals("PPL", second.getName());
+        assertEquals("w-1", second.getPattern().getFirst().getWorkoutId());
+        verify(routineRepository, times(1)).findAllByUserIdOrderByCreatedAtDesc(dbUserId);
+    }
+
     @Test
     void getRoutine_notFoundWhenWrongOwner() {
         String workosId = "workos-user-1";
@@ -144,6 +144,35 @@ class StreakServiceTest {
         verify(userRepository, times(1)).save(eq(user));
     }
 
+    @Test
+    void onWorkoutCompleted_withUnitOfWork_readsRoutineOnceAndDefersSave() {
+        User user = User.builder().id("u1").workosId("workos-u1").activeRoutineId("r1").build();
+        user.setStreak(StreakInfo.builder()
+                .nextWorkoutId("W0")
+                .nextWorkoutDeadline(LocalDate.now())
+                .build());
+        Routine routine = Routine.builder()
+                .id("r1").userId("u1")
+                .createdAt(LocalDateTime.now().minusDays(7))
+                .pattern(List.of(
+                        RoutinePattern.builder().dayIndex(0).dayType(DayType.WORKOUT).workoutId("W0").build(),
+                        RoutinePattern.builder().dayIndex(1).dayType(DayType.WORKOUT).workoutId("W1").build()))
+                .build();
+        when(routineRepository.findByIdAndUserId("r1", "u1")).thenReturn(Optional.of(routine));
+        SubmissionUnitOfWork unitOfWork = new SubmissionUnitOfWork(user, routineRepository, userRepository);
+
+        var result = streakService.onWorkoutCompleted(unitOfWork, "W0");
+
+        assertEquals(StreakUpdateStatus.STARTED, result.getStatus());
+        verify(routineRepository, times(1)).findByIdAndUserId("r1", "u1");
+        verify(userRepository, never()).findByWorkosId(any());
+        verify(userRepository, never()).save(any(User.class));
+
+        unitOfWork.flush();
+        unitOfWork.flush();
+        verify(userRepository, times(1)).save(eq(user));
+    }
+
     @Test
     void doubleCompletionSameDay_doesNotIncrement() {
         String workosId = "workos-u1";
@@ -166,6 +195,58 @@ class StreakServiceTest {
         verify(userRepository, times(1)).save(eq(user));
     }
 
+    @Test
+    void replayedWorkoutBeforeLastCountedDay_leavesStreakUnchanged() {
+        LocalDate today = LocalDate.now();
+        User user = User.builder().id("u1").workosId("workos-u1").build();
+        user.setStreak(StreakInfo.builder()
+                .currentStreak(4)
+                .longestStreak(4)
+                .lastWorkoutCountedDate(today.minusDays(1))
+                .nextWorkoutDeadline(today)
+                .build());
+        SubmissionUnitOfWork unitOfWork = new SubmissionUnitOfWork(user, routineRepository, userRepository);
+
+        var result = streakService.onWorkoutCompleted(unitOfWork, "anyWorkout", today.minusDays(3));
+
+        assertEquals(StreakUpdateStatus.WRONG_WORKOUT, result.getStatus());
+        assertEquals(4, user.getStreak().getCurrentStreak());
+        assertEquals(today, user.getStreak().getNextWorkoutDeadline());
+        assertEquals(today.minusDays(1), user.getStreak().getLastWorkoutCountedDate());
+        unitOfWork.flush();
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void weeklyCompletion_replayedWorkoutFromEarlierWeek_keepsCurrentWeek() {
+        LocalDate currentMonday = LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        User user = User.builder().id("u1").workosId("workos-u1").activeRoutineId("r1").build();
+        user.setStreak(StreakInfo.builder()
+                .currentStreak(2)
+                .currentWeekStart(currentMonday)
+                .weeklyCompletedWorkoutIds(new HashSet<>(Set.of("A")))
+                .lastWorkoutCountedDate(currentMonday)
+                .nextWorkoutDeadline(currentMonday.plusDays(6))
+                .build());
+        Routine routine = Routine.builder()
+                .id("r1").userId("u1")
+                .routineType(RoutineType.WEEKLY_COMPLETION)
+                .pattern(List.of(
+                        RoutinePattern.builder().dayIndex(0).dayType(DayType.WORKOUT).workoutId("A").build(),
+                        RoutinePattern.builder().dayIndex(1).dayType(DayType.WORKOUT).workoutId("B").build()))
+                .build();
+        when(routineRepository.findByIdAndUserId("r1", "u1")).thenReturn(Optional.of(routine));
+        SubmissionUnitOfWork unitOfWork = new SubmissionUnitOfWork(user, routineRepository, userRepository);
+
+        var result = streakService.onWorkoutCompleted(unitOfWork, "B", currentMonday.minusDays(3));
+
+        assertEquals(StreakUpdateStatus.WRONG_WORKOUT, result.getStatus());
+        assertEquals(2, user.getStreak().getCurrentStreak());
+        assertEquals(currentMonday, user.getStreak().getCurrentWeekStart());
+        assertEquals(Set.of("A"), user.getStreak().getWeeklyCompletedWorkoutIds());
+        assertEquals(currentMonday, user.getStreak().getLastWorkoutCountedDate());
+    }
+
     @Test
     void weeklyCompletion_firstWorkout_returnsWeeklyProgress() {
         String workosId = "workos-u1";
@@ -0,0 +1,205 @@
+package com.services.active.services;
+
+import com.services.active.config.IntegrationTestBase;
+import com.services.active.config.user.TestUserContext;
+import com.services.active.config.user.WithTestUser;
+import com.services.active.dto.CreateWorkoutRequest;
+import com.services.active.dto.CreateWorkoutTemplateRequest;
+import com.services.active.dto.UserWorkoutResponse;
+import com.services.active.models.Exercise;
+import com.services.active.models.TemplateExercise;
+import com.services.active.models.types.Category;
+import com.services.active.models.user.User;
+import com.services.active.repository.ExerciseRepository;
+import com.services.active.repository.WorkoutRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@WithTestUser
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class WorkoutListReadIT extends IntegrationTestBase {
+
+    private static final int WORKOUTS = 50;
+    private static final int EXERCISES_PER_TEMPLATE = 5;
+    private static final int WARMUP = 5;
+    private static final int ITERATIONS = 30;
+    // data version, user, workouts, templates ($in), exercises missing from the catalog ($in)
+    private static final double MAX_ROUND_TRIPS = 5;
+    // data version, user, workouts joined with templates ($lookup), exercises missing from the catalog ($in)
+    private static final double MAX_ROUND_TRIPS_WITH_LOOKUP = 4;
+
+    private final WorkoutService workoutService;
+    private final UserReadCache userReadCache;
+    private final ExerciseRepository exerciseRepository;
+    private final ExerciseCatalog exerciseCatalog;
+    private final WorkoutRepository workoutRepository;
+    private final UserDataVersionService userDataVersionService;
+    private final MeterRegistry meterRegistry;
+
+    @AfterEach
+    void resetReadMode() {
+        ReflectionTestUtils.setField(workoutService, "readWithLookup", false);
+    }
+
+    private void seedWorkouts(User user, int count) {
+        for (int i = 0; i < count; i++) {
+            List<TemplateExercise> exercises = new ArrayList<>();
+            for (int e = 0; e < EXERCISES_PER_TEMPLATE; e++) {
+                exercises.add(TemplateExercise.builder()
+                        .exerciseId("exercise-" + ((i + e) % 12))
+                        .reps(new int[]{8, 8, 8})
+                        .weight(new double[]{40.0 + e, 40.0 + e, 40.0 + e})
+                        .build());
+            }
+            workoutService.createWorkout(user.getWorkosId(), CreateWorkoutRequest.builder()
+                    .title("Workout " + i)
+                    .template(CreateWorkoutTemplateRequest.builder().exercises(exercises).build())
+                    .build());
+        }
+    }
+
+    // Bypasses the read-through cache so every call reads from the database
+    private List<UserWorkoutResponse> uncached(User user) {
+        userReadCache.invalidateWorkouts(user.getWorkosId());
+        return workoutService.getUserWorkouts(user.getWorkosId());
+    }
+
+    private long p99Micros(User user) {
+        for (int i = 0; i < WARMUP; i++) {
+            uncached(user);
+        }
+        long[] samples = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            userReadCache.invalidateWorkouts(user.getWorkosId());
+            long start = System.nanoTime();
+            workoutService.getUserWorkouts(user.getWorkosId());
+            samples[i] = (System.nanoTime() - start) / 1_000;
+        }
+        Arrays.sort(samples);
+        return samples[(int) Math.ceil(ITERATIONS * 0.99) - 1];
+    }
+
+    private double roundTripsFor(User user, boolean cached) {
+        if (!cached) {
+            userReadCache.invalidateWorkouts(user.getWorkosId());
+        }
+        DistributionSummary summary = meterRegistry.find("mongo.round_trips")
+                .tag("operation", "workout.list")
+                .summary();
+        double before = summary != null ? summary.totalAmount() : 0;
+        workoutService.getUserWorkouts(user.getWorkosId());
+        return meterRegistry.get("mongo.round_trips")
+                .tag("operation", "workout.list")
+                .summary().totalAmount() - before;
+    }
+
+    private List<UserWorkoutResponse> sorted(List<UserWorkoutResponse> workouts) {
+        List<UserWorkoutResponse> copy = new ArrayList<>(workouts);
+        copy.sort(Comparator.comparing(UserWorkoutResponse::getId));
+        return copy;
+    }
+
+    @Test
+    @DisplayName("$in and $lookup read paths return the same workouts")
+    void workoutList_inVsLookup(@TestUserContext User user) {
+        seedWorkouts(user, WORKOUTS);
+
+        List<UserWorkoutResponse> batched = sorted(uncached(user));
+
+        ReflectionTestUtils.setField(workoutService, "readWithLookup", true);
+        List<UserWorkoutResponse> lookup = sorted(uncached(user));
+
+        assertThat(batched).hasSize(WORKOUTS);
+        assertThat(batched.getFirst().getWorkoutTemplate().getExercises()).hasSize(EXERCISES_PER_TEMPLATE);
+        assertThat(lookup).isEqualTo(batched);
+    }
+
+    // Timing only; excluded from the regular build, see the failsafe configuration
+    @Test
+    @Tag("benchmark")
+    void benchmark_workoutList_inVsLookup(@TestUserContext User user, TestReporter reporter) {
+        seedWorkouts(user, WORKOUTS);
+
+        long batchedP99 = p99Micros(user);
+        ReflectionTestUtils.setField(workoutService, "readWithLookup", true);
+        long lookupP99 = p99Micros(user);
+
+        reporter.publishEntry("workout list, " + WORKOUTS + " workouts x " + EXERCISES_PER_TEMPLATE + " exercises",
+                "$in p99=" + batchedP99 + "us, $lookup p99=" + lookupP99 + "us");
+    }
+
+    @Test
+    @DisplayName("Listing workouts costs a fixed number of queries, independent of how many workouts there are")
+    void workoutList_queryCountIndependentOfWorkoutCount(@TestUserContext User user) {
+        seedWorkouts(user, 2);
+        double few = roundTripsFor(user, false);
+        seedWorkouts(user, WORKOUTS - 2);
+        double many = roundTripsFor(user, false);
+        assertThat(many).isEqualTo(few).isLessThanOrEqualTo(MAX_ROUND_TRIPS);
+
+        ReflectionTestUtils.setField(workoutService, "readWithLookup", true);
+        assertThat(roundTripsFor(user, false)).isLessThanOrEqualTo(MAX_ROUND_TRIPS_WITH_LOOKUP);
+    }
+
+    @Test
+    @DisplayName("Repeated reads are served from the cache until a workout write invalidates it")
+    void workoutList_cachedUntilWrite(@TestUserContext User user) {
+        seedWorkouts(user, 3);
+        List<UserWorkoutResponse> first = workoutService.getUserWorkouts(user.getWorkosId());
+
+        // Only the data version lookup remains
+        assertThat(roundTripsFor(user, true)).isEqualTo(1);
+        assertThat(workoutService.getUserWorkouts(user.getWorkosId())).isSameAs(first);
+
+        seedWorkouts(user, 1);
+        assertThat(workoutService.getUserWorkouts(user.getWorkosId())).hasSize(4);
+        workoutService.deleteWorkout(user.getWorkosId(), first.getFirst().getId());
+        assertThat(workoutService.getUserWorkouts(user.getWorkosId())).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("A write that only bumped the data version, as one made through another instance, is seen on the next read")
+    void workoutList_reloadedWhenDataVersionMoves(@TestUserContext User user) {
+        seedWorkouts(user, 3);
+        List<UserWorkoutResponse> first = workoutService.getUserWorkouts(user.getWorkosId());
+
+        // No local invalidation: the write happened somewhere else
+        workoutRepository.deleteById(first.getFirst().getId());
+        userDataVersionService.bump(user.getWorkosId());
+
+        assertThat(workoutService.getUserWorkouts(user.getWorkosId())).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("A catalog reload with changed content drops cached workout lists, which embed exercise details")
+    void workoutList_invalidatedByCatalogChange(@TestUserContext User user) {
+        seedWorkouts(user, 1);
+        List<UserWorkoutResponse> first = workoutService.getUserWorkouts(user.getWorkosId());
+        assertThat(workoutService.getUserWorkouts(user.getWorkosId())).isSameAs(first);
+
+        exerciseRepository.save(Exercise.builder().id("exercise-0").name("Squat").category(Category.STRENGTH).build());
+        exerciseCatalog.reload();
+
+        List<UserWorkoutResponse> afterReload = workoutService.getUserWorkouts(user.getWorkosId());
+        assertThat(afterReload).isNotSameAs(first);
+        assertThat(afterReload.getFirst().getWorkoutTemplate().getExercises().getFirst().getCategory())
+                .isEqualTo(Category.STRENGTH);
+    }
+}
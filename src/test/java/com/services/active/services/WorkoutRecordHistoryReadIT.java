@@ -0,0 +1,141 @@
+package com.services.active.services;
+
+import com.services.active.config.IntegrationTestBase;
+import com.services.active.config.user.TestUserContext;
+import com.services.active.config.user.WithTestUser;
+import com.services.active.dto.CreateWorkoutRequest;
+import com.services.active.dto.CreateWorkoutTemplateRequest;
+import com.services.active.dto.UserWorkoutRecordsResponse;
+import com.services.active.dto.WorkoutRecordBatchRequest;
+import com.services.active.dto.WorkoutRecordRequest;
+import com.services.active.models.TemplateExercise;
+import com.services.active.models.Workout;
+import com.services.active.models.user.User;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@WithTestUser
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class WorkoutRecordHistoryReadIT extends IntegrationTestBase {
+
+    private static final int RECORDS = 60;
+    private static final int EXERCISES_PER_RECORD = 6;
+    private static final int WARMUP = 5;
+    private static final int ITERATIONS = 30;
+    // user, page of workout records, exercise records ($in), exercise names for unknown exercises ($in)
+    private static final double MAX_ROUND_TRIPS_PER_PAGE = 4;
+
+    private final WorkoutRecordService workoutRecordService;
+    private final WorkoutService workoutService;
+    private final MeterRegistry meterRegistry;
+
+    @AfterEach
+    void resetReadMode() {
+        ReflectionTestUtils.setField(workoutRecordService, "readEmbedded", false);
+    }
+
+    private void seedHistory(User user) {
+        Workout workout = workoutService.createWorkout(user.getWorkosId(), CreateWorkoutRequest.builder()
+                .title("Full body")
+                .template(CreateWorkoutTemplateRequest.builder()
+                        .exercises(List.of(TemplateExercise.builder().exerciseId("exercise-0").reps(new int[]{5}).weight(new double[]{60.0}).build()))
+                        .build())
+                .build());
+        List<WorkoutRecordRequest> records = new ArrayList<>();
+        for (int i = 0; i < RECORDS; i++) {
+            List<WorkoutRecordRequest.ExerciseRecord> exercises = new ArrayList<>();
+            for (int e = 0; e < EXERCISES_PER_RECORD; e++) {
+                exercises.add(new WorkoutRecordRequest.ExerciseRecord("exercise-" + e,
+                        List.of(8, 8, 6), List.of(50.0 + i, 50.0 + i, 55.0 + i), null, null));
+            }
+            records.add(new WorkoutRecordRequest(null, workout.getId(), LocalDateTime.now().minusDays(RECORDS - i), exercises));
+        }
+        workoutRecordService.createWorkoutRecords(user.getWorkosId(), WorkoutRecordBatchRequest.builder().records(records).build());
+    }
+
+    private long p99Micros(String workosId) {
+        for (int i = 0; i < WARMUP; i++) {
+            workoutRecordService.getWorkoutRecords(workosId, null, RECORDS);
+        }
+        long[] samples = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            workoutRecordService.getWorkoutRecords(workosId, null, RECORDS);
+            samples[i] = (System.nanoTime() - start) / 1_000;
+        }
+        Arrays.sort(samples);
+        return samples[(int) Math.ceil(ITERATIONS * 0.99) - 1];
+    }
+
+    private static List<UserWorkoutRecordsResponse> normalized(List<UserWorkoutRecordsResponse> history) {
+        history.forEach(r -> r.getExerciseRecords().sort(Comparator.comparing(UserWorkoutRecordsResponse.ExerciseRecordResponse::getExerciseName)));
+        return history;
+    }
+
+    @Test
+    @DisplayName("Embedded and referenced read paths return the same history")
+    void historyRead_embeddedVsReferenced(@TestUserContext User user) {
+        seedHistory(user);
+
+        List<UserWorkoutRecordsResponse> referenced = normalized(workoutRecordService.getWorkoutRecords(user.getWorkosId(), null, RECORDS).getWorkoutRecords());
+
+        ReflectionTestUtils.setField(workoutRecordService, "readEmbedded", true);
+        List<UserWorkoutRecordsResponse> embedded = normalized(workoutRecordService.getWorkoutRecords(user.getWorkosId(), null, RECORDS).getWorkoutRecords());
+
+        assertThat(embedded).hasSize(RECORDS).isEqualTo(referenced);
+    }
+
+    // Timing only; excluded from the regular build, see the failsafe configuration
+    @Test
+    @Tag("benchmark")
+    void benchmark_historyRead_embeddedVsReferenced(@TestUserContext User user, TestReporter reporter) {
+        seedHistory(user);
+
+        long referencedP99 = p99Micros(user.getWorkosId());
+        ReflectionTestUtils.setField(workoutRecordService, "readEmbedded", true);
+        long embeddedP99 = p99Micros(user.getWorkosId());
+
+        reporter.publishEntry("history read, " + RECORDS + " records x " + EXERCISES_PER_RECORD + " exercises",
+                "referenced p99=" + referencedP99 + "us, embedded p99=" + embeddedP99 + "us");
+    }
+
+    private double roundTripsFor(String workosId, int limit) {
+        DistributionSummary summary = meterRegistry.find("mongo.round_trips")
+                .tag("operation", "workout_record.history")
+                .summary();
+        double before = summary != null ? summary.totalAmount() : 0;
+        workoutRecordService.getWorkoutRecords(workosId, null, limit);
+        return meterRegistry.get("mongo.round_trips")
+                .tag("operation", "workout_record.history")
+                .summary().totalAmount() - before;
+    }
+
+    @Test
+    @DisplayName("A history page costs a fixed number of queries, independent of how many records it holds")
+    void historyRead_queryCountIndependentOfPageSize(@TestUserContext User user) {
+        seedHistory(user);
+
+        double smallPage = roundTripsFor(user.getWorkosId(), 5);
+        double fullPage = roundTripsFor(user.getWorkosId(), RECORDS);
+
+        assertThat(fullPage).isEqualTo(smallPage).isLessThanOrEqualTo(MAX_ROUND_TRIPS_PER_PAGE);
+    }
+}